@@ -2,8 +2,10 @@ package com.yourorg.portfolio;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 @org.springframework.data.jpa.repository.config.EnableJpaRepositories(basePackages = "com.yourorg.portfolio.repository")
 public class PortfolioApplication {
 
@@ -0,0 +1,18 @@
+package com.yourorg.portfolio.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Binds a {@link com.yourorg.portfolio.model.User} controller parameter to the
+ * signed-in user, or {@code null} when the request is anonymous or the user
+ * is unknown. Resolved by {@link CurrentUserArgumentResolver}.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CurrentUser {
+}
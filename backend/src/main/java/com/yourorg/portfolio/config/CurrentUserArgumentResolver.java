@@ -0,0 +1,57 @@
+package com.yourorg.portfolio.config;
+
+import com.yourorg.portfolio.model.User;
+import com.yourorg.portfolio.service.UserCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.MethodParameter;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.core.user.OAuth2User;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * Resolves {@link CurrentUser} parameters from the OAuth principal's GitHub
+ * {@code id} through the {@link UserCache}.
+ */
+@Component
+public class CurrentUserArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private static final Logger log = LoggerFactory.getLogger(CurrentUserArgumentResolver.class);
+
+    private final UserCache userCache;
+
+    public CurrentUserArgumentResolver(UserCache userCache) {
+        this.userCache = userCache;
+    }
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(CurrentUser.class)
+                && User.class.isAssignableFrom(parameter.getParameterType());
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+            NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof OAuth2User principal)) {
+            return null;
+        }
+
+        Object idObj = principal.getAttribute("id");
+        if (idObj == null) {
+            log.warn("OAuth principal has no 'id' attribute");
+            return null;
+        }
+
+        Long githubId = idObj instanceof Number
+                ? ((Number) idObj).longValue()
+                : Long.valueOf(idObj.toString());
+        return userCache.get(githubId);
+    }
+}
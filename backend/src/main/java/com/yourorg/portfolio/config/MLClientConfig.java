@@ -0,0 +1,159 @@
+package com.yourorg.portfolio.config;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.io.ConnectionEndpoint;
+import org.apache.hc.client5.http.io.LeaseRequest;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Pooled HTTP client for the ML service.
+ *
+ * Connections are kept alive and reused up to {@code ml-service.pool.max-per-route};
+ * callers beyond that wait at most {@code connection-request-timeout} for a
+ * lease. Uvicorn closes idle keep-alive connections after 5s by default, so
+ * {@code keep-alive} should stay below the server's timeout. Pool usage is
+ * published as {@code httpcomponents.httpclient.pool.*} and lease waits as
+ * {@code ml.client.pool.lease}.
+ *
+ * Calls also pass through a bulkhead and a circuit breaker, so an ML outage
+ * costs callers at most {@code ml-service.bulkhead.max-wait} instead of a full
+ * timeout once the breaker has opened. Their state is published as
+ * {@code resilience4j.circuitbreaker.*} and {@code resilience4j.bulkhead.*}.
+ */
+@Configuration
+public class MLClientConfig {
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient mlHttpClient(MeterRegistry meterRegistry,
+            @Value("${ml-service.timeout:30000}") int readTimeoutMillis,
+            @Value("${ml-service.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${ml-service.pool.max-total:32}") int maxTotal,
+            @Value("${ml-service.pool.max-per-route:16}") int maxPerRoute,
+            @Value("${ml-service.pool.connection-request-timeout:2s}") Duration connectionRequestTimeout,
+            @Value("${ml-service.pool.keep-alive:4s}") Duration keepAlive,
+            @Value("${ml-service.pool.validate-after-inactivity:1s}") Duration validateAfterInactivity) {
+        TimedConnectionManager connectionManager = new TimedConnectionManager(
+                meterRegistry.timer("ml.client.pool.lease"));
+        connectionManager.setMaxTotal(maxTotal);
+        connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+        connectionManager.setDefaultConnectionConfig(ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.of(connectTimeout))
+                .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMillis))
+                .setValidateAfterInactivity(TimeValue.of(validateAfterInactivity))
+                .build());
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "ml-service").bindTo(meterRegistry);
+
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(connectionRequestTimeout))
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMillis))
+                        .setConnectionKeepAlive(TimeValue.of(keepAlive))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(keepAlive))
+                .build();
+    }
+
+    @Bean
+    public RestTemplate mlRestTemplate(CloseableHttpClient mlHttpClient) {
+        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(mlHttpClient));
+    }
+
+    @Bean
+    public CircuitBreaker mlCircuitBreaker(MeterRegistry meterRegistry,
+            @Value("${ml-service.circuit-breaker.failure-rate-threshold:50}") float failureRateThreshold,
+            @Value("${ml-service.circuit-breaker.slow-call-duration:10s}") Duration slowCallDuration,
+            @Value("${ml-service.circuit-breaker.slow-call-rate-threshold:80}") float slowCallRateThreshold,
+            @Value("${ml-service.circuit-breaker.sliding-window-size:20}") int slidingWindowSize,
+            @Value("${ml-service.circuit-breaker.minimum-calls:10}") int minimumCalls,
+            @Value("${ml-service.circuit-breaker.open-duration:30s}") Duration openDuration,
+            @Value("${ml-service.circuit-breaker.half-open-calls:3}") int halfOpenCalls) {
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallDurationThreshold(slowCallDuration)
+                .slowCallRateThreshold(slowCallRateThreshold)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumCalls)
+                .waitDurationInOpenState(openDuration)
+                .permittedNumberOfCallsInHalfOpenState(halfOpenCalls)
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                // A full bulkhead means we are busy, not that the ML service is failing
+                .ignoreExceptions(BulkheadFullException.class)
+                .build());
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+        return registry.circuitBreaker("ml-service");
+    }
+
+    @Bean
+    public Bulkhead mlBulkhead(MeterRegistry meterRegistry,
+            @Value("${ml-service.bulkhead.max-concurrent:16}") int maxConcurrent,
+            @Value("${ml-service.bulkhead.max-wait:500ms}") Duration maxWait) {
+        BulkheadRegistry registry = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrent)
+                .maxWaitDuration(maxWait)
+                .build());
+        TaggedBulkheadMetrics.ofBulkheadRegistry(registry).bindTo(meterRegistry);
+        return registry.bulkhead("ml-service");
+    }
+
+    /**
+     * Records how long callers wait for a pooled connection.
+     */
+    static final class TimedConnectionManager extends PoolingHttpClientConnectionManager {
+        private final Timer leaseTimer;
+
+        TimedConnectionManager(Timer leaseTimer) {
+            this.leaseTimer = leaseTimer;
+        }
+
+        @Override
+        public LeaseRequest lease(String id, HttpRoute route, Timeout requestTimeout, Object state) {
+            LeaseRequest lease = super.lease(id, route, requestTimeout, state);
+            return new LeaseRequest() {
+                @Override
+                public ConnectionEndpoint get(Timeout timeout)
+                        throws InterruptedException, ExecutionException, TimeoutException {
+                    long start = System.nanoTime();
+                    try {
+                        return lease.get(timeout);
+                    } finally {
+                        leaseTimer.record(Duration.ofNanos(System.nanoTime() - start));
+                    }
+                }
+
+                @Override
+                public boolean cancel() {
+                    return lease.cancel();
+                }
+            };
+        }
+    }
+}
@@ -2,6 +2,8 @@ package com.yourorg.portfolio.config;
 
 import com.yourorg.portfolio.model.User;
 import com.yourorg.portfolio.repository.UserRepository;
+import com.yourorg.portfolio.service.PortfolioSnapshotService;
+import com.yourorg.portfolio.service.UserCache;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -13,6 +15,7 @@ import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.security.web.authentication.AuthenticationSuccessHandler;
 import org.springframework.stereotype.Component;
 import java.io.IOException;
+import java.util.Objects;
 import java.util.Optional;
 
 @Component
@@ -20,11 +23,16 @@ public class OAuth2LoginSuccessHandler implements AuthenticationSuccessHandler {
 
     private final UserRepository userRepository;
     private final OAuth2AuthorizedClientService authorizedClientService;
+    private final PortfolioSnapshotService portfolioSnapshots;
+    private final UserCache userCache;
 
     public OAuth2LoginSuccessHandler(UserRepository userRepository,
-            OAuth2AuthorizedClientService authorizedClientService) {
+            OAuth2AuthorizedClientService authorizedClientService, PortfolioSnapshotService portfolioSnapshots,
+            UserCache userCache) {
         this.userRepository = userRepository;
         this.authorizedClientService = authorizedClientService;
+        this.portfolioSnapshots = portfolioSnapshots;
+        this.userCache = userCache;
     }
 
     @Override
@@ -61,9 +69,14 @@ public class OAuth2LoginSuccessHandler implements AuthenticationSuccessHandler {
         try {
             Optional<User> existing = userRepository.findByGithubId(githubId);
             User user;
+            String staleSnapshot = null;
             if (existing.isPresent()) {
                 System.out.println("DEBUG: Updating existing user");
                 user = existing.get();
+                // The public portfolio shows both, so its snapshot is stale
+                if (!Objects.equals(user.getAvatarUrl(), avatarUrl) || !Objects.equals(user.getUsername(), username)) {
+                    staleSnapshot = user.getUsername();
+                }
                 // TODO: Implement token storage via custom OAuth2UserService
                 user.setAvatarUrl(avatarUrl);
                 user.setUsername(username);
@@ -80,6 +93,10 @@ public class OAuth2LoginSuccessHandler implements AuthenticationSuccessHandler {
                 user.setRoles(new String[] { "ROLE_USER" });
             }
             userRepository.save(user);
+            userCache.invalidate(githubId);
+            if (staleSnapshot != null) {
+                portfolioSnapshots.evict(staleSnapshot);
+            }
             System.out.println("DEBUG: User saved successfully");
         } catch (Exception e) {
             System.err.println("ERROR: Failed to save user: " + e.getMessage());
@@ -1,50 +1,130 @@
 package com.yourorg.portfolio.controller;
 
-import com.yourorg.portfolio.model.User;
-import com.yourorg.portfolio.model.UserSkill;
-import com.yourorg.portfolio.repository.UserRepository;
-import com.yourorg.portfolio.repository.UserSkillRepository;
+import com.yourorg.portfolio.service.PortfolioSnapshotService;
+import com.yourorg.portfolio.service.PortfolioSnapshotService.Snapshot;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
-import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Unauthenticated portfolio pages, embedded on personal sites and shared
+ * links.
+ *
+ * Responses are the pre-serialized {@link Snapshot} bytes, brotli or gzip
+ * encoded when the client accepts it, brotli first. The ETag is a hash of the document bytes, so a
+ * conditional request is answered with a 304 straight from Redis, and
+ * the {@code Cache-Control} header lets nginx and CDNs serve repeats without
+ * reaching the backend at all.
+ */
 @RestController
 @RequestMapping("/api/v1/portfolio")
 public class PublicPortfolioController {
 
-    private final UserRepository userRepository;
-    private final UserSkillRepository userSkillRepository;
+    private static final Set<String> BROTLI = Set.of("br");
+    private static final Set<String> GZIP = Set.of("gzip", "x-gzip");
+
+    private final PortfolioSnapshotService snapshots;
+    private final CacheControl cacheControl;
 
-    public PublicPortfolioController(UserRepository userRepository, UserSkillRepository userSkillRepository) {
-        this.userRepository = userRepository;
-        this.userSkillRepository = userSkillRepository;
+    public PublicPortfolioController(PortfolioSnapshotService snapshots,
+            @Value("${portfolio.public.cache.max-age:60s}") Duration maxAge,
+            @Value("${portfolio.public.cache.shared-max-age:5m}") Duration sharedMaxAge,
+            @Value("${portfolio.public.cache.stale-while-revalidate:1h}") Duration staleWhileRevalidate) {
+        this.snapshots = snapshots;
+        this.cacheControl = CacheControl.maxAge(maxAge)
+                .sMaxAge(sharedMaxAge)
+                .staleWhileRevalidate(staleWhileRevalidate)
+                .cachePublic();
     }
 
     @GetMapping("/{username}")
-    public ResponseEntity<?> getPublicPortfolio(@PathVariable String username) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        List<UserSkill> skills = userSkillRepository.findByUserId(user.getId());
-
-        List<Map<String, Object>> skillDtos = skills.stream().map(s -> {
-            Map<String, Object> map = new java.util.HashMap<>();
-            map.put("name", s.getSkill().getName());
-            map.put("score", s.getScore());
-            map.put("category", s.getSkill().getCategory());
-            return map;
-        }).collect(Collectors.toList());
-
-        Map<String, Object> response = new java.util.HashMap<>();
-        response.put("username", user.getUsername());
-        response.put("avatarUrl", user.getAvatarUrl());
-        response.put("skills", skillDtos);
-
-        return ResponseEntity.ok(response);
+    public ResponseEntity<byte[]> getPublicPortfolio(@PathVariable String username,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest request) {
+        Snapshot snapshot = snapshots.get(username);
+        if (snapshot == null) {
+            throw new RuntimeException("User not found");
+        }
+
+        // Each encoding is its own representation, with its own strong ETag
+        String encoding = null;
+        byte[] body = snapshot.identity();
+        if (snapshot.brotli().length > 0 && accepts(acceptEncoding, BROTLI)) {
+            encoding = "br";
+            body = snapshot.brotli();
+        } else if (accepts(acceptEncoding, GZIP)) {
+            encoding = "gzip";
+            body = snapshot.gzip();
+        }
+        String etag = "\"" + snapshot.etag() + (encoding != null ? "-" + encoding : "") + "\"";
+        if (request.checkNotModified(etag, snapshot.lastModified())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .cacheControl(cacheControl)
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.APPLICATION_JSON);
+        if (snapshot.lastModified() >= 0) {
+            ok.lastModified(snapshot.lastModified());
+        }
+        if (encoding != null) {
+            ok.header(HttpHeaders.CONTENT_ENCODING, encoding);
+        }
+        return ok.body(body);
+    }
+
+    /**
+     * Whether {@code Accept-Encoding} allows one of {@code names} with a
+     * non-zero quality, by name or else through {@code *}.
+     */
+    private static boolean accepts(String acceptEncoding, Set<String> names) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        double named = -1;
+        double wildcard = -1;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim().toLowerCase(Locale.ROOT);
+            if (names.contains(name)) {
+                named = Math.max(named, quality(parts));
+            } else if (name.equals("*")) {
+                wildcard = quality(parts);
+            }
+        }
+        return (named >= 0 ? named : wildcard) > 0;
+    }
+
+    private static double quality(String[] parts) {
+        double quality = 1;
+        for (int i = 1; i < parts.length; i++) {
+            String param = parts[i].trim();
+            if (param.startsWith("q=")) {
+                try {
+                    quality = Double.parseDouble(param.substring(2));
+                } catch (NumberFormatException e) {
+                    quality = 0;
+                }
+            }
+        }
+        return quality;
     }
 }
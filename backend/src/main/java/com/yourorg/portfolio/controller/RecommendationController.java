@@ -1,16 +1,17 @@
 package com.yourorg.portfolio.controller;
 
+import com.yourorg.portfolio.config.CurrentUser;
 import com.yourorg.portfolio.dto.RecommendationDto.*;
+import com.yourorg.portfolio.dto.RecommendationSection;
 import com.yourorg.portfolio.model.User;
-import com.yourorg.portfolio.repository.UserRepository;
 import com.yourorg.portfolio.service.RecommendationService;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.web.bind.annotation.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Set;
+
 /**
  * REST controller for ML-powered recommendations.
  * Provides endpoints for career guidance, skill analysis, and learning
@@ -23,11 +24,9 @@ public class RecommendationController {
     private static final Logger log = LoggerFactory.getLogger(RecommendationController.class);
 
     private final RecommendationService recommendationService;
-    private final UserRepository userRepository;
 
-    public RecommendationController(RecommendationService recommendationService, UserRepository userRepository) {
+    public RecommendationController(RecommendationService recommendationService) {
         this.recommendationService = recommendationService;
-        this.userRepository = userRepository;
     }
 
     /**
@@ -35,16 +34,26 @@ public class RecommendationController {
      * 
      * Returns career paths, skill gaps, project ideas, technologies to learn,
      * learning resources, skill analysis, and repository improvements.
+     * {@code sections} (e.g. {@code careerPaths,skillGaps}) limits the
+     * response, and the work behind it, to those sections.
      */
     @GetMapping
-    public ResponseEntity<RecommendationResponse> getRecommendations(@AuthenticationPrincipal OAuth2User principal) {
-        User user = getAuthenticatedUser(principal);
+    public ResponseEntity<RecommendationResponse> getRecommendations(@CurrentUser User user,
+            @RequestParam(required = false) String sections) {
         if (user == null) {
             return ResponseEntity.status(401).build();
         }
 
+        Set<RecommendationSection> requested;
+        try {
+            requested = RecommendationSection.parse(sections);
+        } catch (IllegalArgumentException e) {
+            log.warn("Rejecting recommendations request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+
         log.info("Fetching recommendations for user: {}", user.getUsername());
-        RecommendationResponse recommendations = recommendationService.getRecommendations(user);
+        RecommendationResponse recommendations = recommendationService.getRecommendations(user, requested);
         return ResponseEntity.ok(recommendations);
     }
 
@@ -53,8 +62,7 @@ public class RecommendationController {
      * Returns strengths, weaknesses, and all skills with proficiency levels.
      */
     @GetMapping("/skills")
-    public ResponseEntity<SkillAnalysis> getSkillAnalysis(@AuthenticationPrincipal OAuth2User principal) {
-        User user = getAuthenticatedUser(principal);
+    public ResponseEntity<SkillAnalysis> getSkillAnalysis(@CurrentUser User user) {
         if (user == null) {
             return ResponseEntity.status(401).build();
         }
@@ -70,8 +78,7 @@ public class RecommendationController {
      */
     @GetMapping("/careers")
     public ResponseEntity<RecommendationService.CareerAnalysis> getCareerAnalysis(
-            @AuthenticationPrincipal OAuth2User principal) {
-        User user = getAuthenticatedUser(principal);
+            @CurrentUser User user) {
         if (user == null) {
             return ResponseEntity.status(401).build();
         }
@@ -83,41 +90,18 @@ public class RecommendationController {
 
     /**
      * Force refresh recommendations.
-     * Triggers a fresh analysis ignoring any cached data.
+     * Evicts the cached response and triggers a fresh analysis.
      */
     @PostMapping("/refresh")
     public ResponseEntity<RecommendationResponse> refreshRecommendations(
-            @AuthenticationPrincipal OAuth2User principal) {
-        User user = getAuthenticatedUser(principal);
+            @CurrentUser User user) {
         if (user == null) {
             return ResponseEntity.status(401).build();
         }
 
         log.info("Refreshing recommendations for user: {}", user.getUsername());
-        // Future: Add cache invalidation here
+        recommendationService.evictRecommendations(user);
         RecommendationResponse recommendations = recommendationService.getRecommendations(user);
         return ResponseEntity.ok(recommendations);
     }
-
-    /**
-     * Helper method to get authenticated user from OAuth principal.
-     */
-    private User getAuthenticatedUser(OAuth2User principal) {
-        if (principal == null) {
-            return null;
-        }
-
-        Object idObj = principal.getAttribute("id");
-        if (idObj == null) {
-            log.warn("OAuth principal has no 'id' attribute");
-            return null;
-        }
-
-        Long githubId = idObj instanceof Number
-                ? ((Number) idObj).longValue()
-                : Long.valueOf(idObj.toString());
-
-        return userRepository.findByGithubId(githubId)
-                .orElse(null);
-    }
 }
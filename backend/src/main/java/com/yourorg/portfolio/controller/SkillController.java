@@ -0,0 +1,127 @@
+package com.yourorg.portfolio.controller;
+
+import com.yourorg.portfolio.config.CurrentUser;
+import com.yourorg.portfolio.dto.LeaderboardEntry;
+import com.yourorg.portfolio.dto.SkillRank;
+import com.yourorg.portfolio.dto.SkillSuggestion;
+import com.yourorg.portfolio.model.Skill;
+import com.yourorg.portfolio.model.User;
+import com.yourorg.portfolio.repository.UserRepository;
+import com.yourorg.portfolio.repository.UserRepository.UserSummary;
+import com.yourorg.portfolio.service.SkillDictionary;
+import com.yourorg.portfolio.service.SkillLeaderboard;
+import com.yourorg.portfolio.service.SkillSuggestIndex;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Skill typeahead from the in-memory {@link SkillSuggestIndex}, and per-skill
+ * leaderboards served from the {@link SkillLeaderboard} sorted sets rather
+ * than scans of {@code user_skills}.
+ */
+@RestController
+@RequestMapping("/api/v1/skills")
+public class SkillController {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final SkillDictionary skillDictionary;
+    private final SkillSuggestIndex suggestIndex;
+    private final SkillLeaderboard leaderboard;
+    private final UserRepository userRepository;
+
+    public SkillController(SkillDictionary skillDictionary, SkillSuggestIndex suggestIndex,
+            SkillLeaderboard leaderboard, UserRepository userRepository) {
+        this.skillDictionary = skillDictionary;
+        this.suggestIndex = suggestIndex;
+        this.leaderboard = leaderboard;
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Skills whose name, alias or a word of the name starts with {@code q},
+     * most widely held first.
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<SkillSuggestion>> suggest(@RequestParam(defaultValue = "") String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        if (limit < 1 || limit > SkillSuggestIndex.MAX_LIMIT) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<SkillSuggestion> suggestions = suggestIndex.suggest(q, limit).stream()
+                .map(s -> new SkillSuggestion(s.skill().getName(), s.skill().getCategory(), s.users()))
+                .toList();
+        return ResponseEntity.ok(suggestions);
+    }
+
+    /**
+     * Top developers for a skill, highest score first.
+     */
+    @GetMapping("/{skill}/leaderboard")
+    public ResponseEntity<List<LeaderboardEntry>> getLeaderboard(@PathVariable String skill,
+            @RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "20") int size) {
+        Skill found = skillDictionary.find(skill);
+        if (found == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        long offset = (long) page * size;
+        Set<TypedTuple<String>> top = leaderboard.top(found.getId(), offset, size);
+        if (top == null || top.isEmpty()) {
+            return ResponseEntity.ok(List.of());
+        }
+
+        List<UUID> ids = top.stream().map(entry -> UUID.fromString(entry.getValue())).toList();
+        Map<UUID, UserSummary> users = userRepository.findSummariesByIdIn(ids).stream()
+                .collect(Collectors.toMap(UserSummary::getId, Function.identity()));
+
+        List<LeaderboardEntry> entries = new ArrayList<>(top.size());
+        long rank = offset;
+        for (TypedTuple<String> entry : top) {
+            rank++;
+            UserSummary user = users.get(UUID.fromString(entry.getValue()));
+            if (user != null) {
+                entries.add(new LeaderboardEntry(rank, user.getUsername(), user.getAvatarUrl(),
+                        entry.getScore() != null ? entry.getScore() : 0));
+            }
+        }
+        return ResponseEntity.ok(entries);
+    }
+
+    /**
+     * The signed-in user's rank for a skill.
+     */
+    @GetMapping("/{skill}/rank")
+    public ResponseEntity<SkillRank> getRank(@CurrentUser User user, @PathVariable String skill) {
+        if (user == null) {
+            return ResponseEntity.status(401).build();
+        }
+        Skill found = skillDictionary.find(skill);
+        if (found == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        Long rank = leaderboard.rank(found.getId(), user.getId());
+        Double score = leaderboard.score(found.getId(), user.getId());
+        if (rank == null || score == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(new SkillRank(found.getName(), rank + 1, score, leaderboard.size(found.getId())));
+    }
+}
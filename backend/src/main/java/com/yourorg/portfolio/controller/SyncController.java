@@ -1,11 +1,13 @@
 package com.yourorg.portfolio.controller;
 
+import com.yourorg.portfolio.config.CurrentUser;
 import com.yourorg.portfolio.model.User;
-import com.yourorg.portfolio.repository.UserRepository;
-import com.yourorg.portfolio.service.SyncService;
+import com.yourorg.portfolio.service.sync.SyncJob;
+import com.yourorg.portfolio.service.sync.SyncJobQueue;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.oauth2.core.user.OAuth2User;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -15,28 +17,35 @@ import java.util.Map;
 @RequestMapping("/api/v1/sync")
 public class SyncController {
 
-    private final SyncService syncService;
-    private final UserRepository userRepository;
+    private final SyncJobQueue syncJobQueue;
 
-    public SyncController(SyncService syncService, UserRepository userRepository) {
-        this.syncService = syncService;
-        this.userRepository = userRepository;
+    public SyncController(SyncJobQueue syncJobQueue) {
+        this.syncJobQueue = syncJobQueue;
     }
 
     @PostMapping
-    public ResponseEntity<?> triggerSync(@AuthenticationPrincipal OAuth2User principal) {
-        if (principal == null) {
+    public ResponseEntity<?> triggerSync(@CurrentUser User user) {
+        if (user == null) {
             return ResponseEntity.status(401).build();
         }
 
-        Object idObj = principal.getAttribute("id");
-        Long githubId = idObj instanceof Number ? ((Number) idObj).longValue() : Long.valueOf(idObj.toString());
-        User user = userRepository.findByGithubId(githubId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        SyncJob job = syncJobQueue.enqueue(user.getId());
 
-        // In a real app, this should be async (Job Queue)
-        syncService.syncUser(user);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(Map.of("jobId", job.getId(), "status", job.getStatus()));
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<?> getSyncStatus(@CurrentUser User user, @PathVariable String jobId) {
+        if (user == null) {
+            return ResponseEntity.status(401).build();
+        }
+
+        SyncJob job = syncJobQueue.getJob(jobId);
+        if (job == null || !job.getUserId().equals(user.getId())) {
+            return ResponseEntity.notFound().build();
+        }
 
-        return ResponseEntity.ok(Map.of("status", "COMPLETED", "message", "Sync finished successfully"));
+        return ResponseEntity.ok(job);
     }
 }
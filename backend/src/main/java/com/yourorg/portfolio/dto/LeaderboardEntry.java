@@ -0,0 +1,7 @@
+package com.yourorg.portfolio.dto;
+
+/**
+ * One row of a skill leaderboard; {@code rank} starts at 1.
+ */
+public record LeaderboardEntry(long rank, String username, String avatarUrl, double score) {
+}
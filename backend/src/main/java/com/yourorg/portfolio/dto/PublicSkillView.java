@@ -0,0 +1,7 @@
+package com.yourorg.portfolio.dto;
+
+/**
+ * One skill on a public portfolio.
+ */
+public record PublicSkillView(String name, Double score, String category) {
+}
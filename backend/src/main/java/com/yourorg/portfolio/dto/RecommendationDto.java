@@ -1,5 +1,8 @@
 package com.yourorg.portfolio.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.util.List;
 import java.util.Map;
 
@@ -10,8 +13,10 @@ import java.util.Map;
 public class RecommendationDto {
 
     /**
-     * Complete recommendation response from ML service.
+     * Complete recommendation response from ML service. Sections that were
+     * not requested are null and left out of the JSON.
      */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     public static class RecommendationResponse {
         private List<CareerPath> careerPaths;
         private List<SkillGap> skillGaps;
@@ -21,6 +26,8 @@ public class RecommendationDto {
         private SkillAnalysis skillAnalysis;
         private List<RepoImprovement> repoImprovements;
         private ProfileStats profileStats;
+        @JsonIgnore
+        private boolean fallback;
 
         // Getters and Setters
         public List<CareerPath> getCareerPaths() {
@@ -86,6 +93,19 @@ public class RecommendationDto {
         public void setProfileStats(ProfileStats profileStats) {
             this.profileStats = profileStats;
         }
+
+        /**
+         * True for placeholder responses built when the ML service could not
+         * be reached. These are never cached.
+         */
+        @JsonIgnore
+        public boolean isFallback() {
+            return fallback;
+        }
+
+        public void setFallback(boolean fallback) {
+            this.fallback = fallback;
+        }
     }
 
     /**
@@ -0,0 +1,101 @@
+package com.yourorg.portfolio.dto;
+
+import com.yourorg.portfolio.dto.RecommendationDto.RecommendationResponse;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * The independently requestable parts of a {@link RecommendationResponse},
+ * as named in the {@code sections} query parameter (camelCase) and by the ML
+ * service (snake_case).
+ */
+public enum RecommendationSection {
+
+    CAREER_PATHS("careerPaths", "career_paths",
+            RecommendationResponse::getCareerPaths, RecommendationResponse::setCareerPaths),
+    SKILL_GAPS("skillGaps", "skill_gaps",
+            RecommendationResponse::getSkillGaps, RecommendationResponse::setSkillGaps),
+    PROJECT_IDEAS("projectIdeas", "project_ideas",
+            RecommendationResponse::getProjectIdeas, RecommendationResponse::setProjectIdeas),
+    TECHNOLOGIES("technologies", "technologies",
+            RecommendationResponse::getTechnologies, RecommendationResponse::setTechnologies),
+    LEARNING_RESOURCES("learningResources", "learning_resources",
+            RecommendationResponse::getLearningResources, RecommendationResponse::setLearningResources),
+    SKILL_ANALYSIS("skillAnalysis", "skill_analysis",
+            RecommendationResponse::getSkillAnalysis, RecommendationResponse::setSkillAnalysis),
+    REPO_IMPROVEMENTS("repoImprovements", "repo_improvements",
+            RecommendationResponse::getRepoImprovements, RecommendationResponse::setRepoImprovements),
+    PROFILE_STATS("profileStats", "profile_stats",
+            RecommendationResponse::getProfileStats, RecommendationResponse::setProfileStats);
+
+    public static final Set<RecommendationSection> ALL = Collections.unmodifiableSet(
+            EnumSet.allOf(RecommendationSection.class));
+
+    private final String paramName;
+    private final String mlName;
+    private final BiConsumer<RecommendationResponse, RecommendationResponse> copy;
+    private final Consumer<RecommendationResponse> clear;
+
+    <T> RecommendationSection(String paramName, String mlName, Function<RecommendationResponse, T> getter,
+            BiConsumer<RecommendationResponse, T> setter) {
+        this.paramName = paramName;
+        this.mlName = mlName;
+        this.copy = (from, to) -> setter.accept(to, getter.apply(from));
+        this.clear = response -> setter.accept(response, null);
+    }
+
+    public String getParamName() {
+        return paramName;
+    }
+
+    public String getMlName() {
+        return mlName;
+    }
+
+    public void copy(RecommendationResponse from, RecommendationResponse to) {
+        copy.accept(from, to);
+    }
+
+    public void clear(RecommendationResponse response) {
+        clear.accept(response);
+    }
+
+    /**
+     * Parse a comma separated list of section names; blank means all.
+     *
+     * @throws IllegalArgumentException for an unknown name
+     */
+    public static Set<RecommendationSection> parse(String names) {
+        if (names == null || names.isBlank()) {
+            return ALL;
+        }
+        Set<RecommendationSection> sections = EnumSet.noneOf(RecommendationSection.class);
+        for (String name : names.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            sections.add(Arrays.stream(values())
+                    .filter(section -> section.paramName.equalsIgnoreCase(trimmed))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown recommendation section: " + trimmed)));
+        }
+        return sections.isEmpty() ? ALL : sections;
+    }
+
+    /**
+     * A copy of {@code response} holding only {@code sections}.
+     */
+    public static RecommendationResponse project(RecommendationResponse response, Set<RecommendationSection> sections) {
+        RecommendationResponse projected = new RecommendationResponse();
+        sections.forEach(section -> section.copy(response, projected));
+        projected.setFallback(response.isFallback());
+        return projected;
+    }
+}
@@ -0,0 +1,7 @@
+package com.yourorg.portfolio.dto;
+
+/**
+ * A user's position on one skill leaderboard; {@code rank} starts at 1.
+ */
+public record SkillRank(String skill, long rank, double score, long total) {
+}
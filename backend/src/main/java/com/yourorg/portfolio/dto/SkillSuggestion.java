@@ -0,0 +1,7 @@
+package com.yourorg.portfolio.dto;
+
+/**
+ * A typeahead match; {@code users} is how many users have the skill.
+ */
+public record SkillSuggestion(String name, String category, long users) {
+}
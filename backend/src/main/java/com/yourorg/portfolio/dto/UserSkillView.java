@@ -0,0 +1,9 @@
+package com.yourorg.portfolio.dto;
+
+import java.util.UUID;
+
+/**
+ * One of the signed-in user's skills, as returned by {@code /users/me/skills}.
+ */
+public record UserSkillView(UUID id, String name, Double score, String category) {
+}
@@ -0,0 +1,197 @@
+package com.yourorg.portfolio.model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-skill aggregates of a user's repositories, computed during sync and
+ * stored on the user so recommendations can be requested without sending
+ * every repository.
+ *
+ * Languages and topics are keyed by their raw GitHub names; the ML service
+ * normalizes and merges them. {@link #getVersion()} identifies the scoring
+ * formula the aggregates were built with.
+ */
+public class SkillFeatures {
+
+    private int version;
+    private int totalRepos;
+    private long totalStars;
+    private Map<String, LanguageStats> languages = new HashMap<>();
+    private Map<String, TopicStats> topics = new HashMap<>();
+    private List<RepoHint> repoHints = new ArrayList<>();
+
+    public int getVersion() {
+        return version;
+    }
+
+    public void setVersion(int version) {
+        this.version = version;
+    }
+
+    public int getTotalRepos() {
+        return totalRepos;
+    }
+
+    public void setTotalRepos(int totalRepos) {
+        this.totalRepos = totalRepos;
+    }
+
+    public long getTotalStars() {
+        return totalStars;
+    }
+
+    public void setTotalStars(long totalStars) {
+        this.totalStars = totalStars;
+    }
+
+    public Map<String, LanguageStats> getLanguages() {
+        return languages;
+    }
+
+    public void setLanguages(Map<String, LanguageStats> languages) {
+        this.languages = languages;
+    }
+
+    public Map<String, TopicStats> getTopics() {
+        return topics;
+    }
+
+    public void setTopics(Map<String, TopicStats> topics) {
+        this.topics = topics;
+    }
+
+    public List<RepoHint> getRepoHints() {
+        return repoHints;
+    }
+
+    public void setRepoHints(List<RepoHint> repoHints) {
+        this.repoHints = repoHints;
+    }
+
+    /**
+     * Totals for one language across the user's repositories.
+     */
+    public static class LanguageStats {
+        private long bytes;
+        private int reposCount;
+        private double score;
+
+        public long getBytes() {
+            return bytes;
+        }
+
+        public void setBytes(long bytes) {
+            this.bytes = bytes;
+        }
+
+        public int getReposCount() {
+            return reposCount;
+        }
+
+        public void setReposCount(int reposCount) {
+            this.reposCount = reposCount;
+        }
+
+        /**
+         * Sum over repositories of log(1 + bytes) * (1 + log(1 + stars) * 0.15).
+         */
+        public double getScore() {
+            return score;
+        }
+
+        public void setScore(double score) {
+            this.score = score;
+        }
+    }
+
+    /**
+     * Totals for one topic across the user's repositories.
+     */
+    public static class TopicStats {
+        private int reposCount;
+        private double score;
+
+        public int getReposCount() {
+            return reposCount;
+        }
+
+        public void setReposCount(int reposCount) {
+            this.reposCount = reposCount;
+        }
+
+        /**
+         * Sum over repositories of 5 * (1 + log(1 + stars) * 0.1).
+         */
+        public double getScore() {
+            return score;
+        }
+
+        public void setScore(double score) {
+            this.score = score;
+        }
+    }
+
+    /**
+     * What the repository improvement suggestions look at, for the first few
+     * repositories.
+     */
+    public static class RepoHint {
+        private String name;
+        private int descriptionLength;
+        private int topicCount;
+        private int languageCount;
+        private boolean testingTopic;
+        private int stars;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getDescriptionLength() {
+            return descriptionLength;
+        }
+
+        public void setDescriptionLength(int descriptionLength) {
+            this.descriptionLength = descriptionLength;
+        }
+
+        public int getTopicCount() {
+            return topicCount;
+        }
+
+        public void setTopicCount(int topicCount) {
+            this.topicCount = topicCount;
+        }
+
+        public int getLanguageCount() {
+            return languageCount;
+        }
+
+        public void setLanguageCount(int languageCount) {
+            this.languageCount = languageCount;
+        }
+
+        public boolean isTestingTopic() {
+            return testingTopic;
+        }
+
+        public void setTestingTopic(boolean testingTopic) {
+            this.testingTopic = testingTopic;
+        }
+
+        public int getStars() {
+            return stars;
+        }
+
+        public void setStars(int stars) {
+            this.stars = stars;
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package com.yourorg.portfolio.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 import java.time.Instant;
 import java.util.UUID;
 
@@ -25,6 +28,11 @@ public class User {
     private Instant createdAt = Instant.now();
     private Instant lastSync;
 
+    // Internal input to the ML service, not part of the user's profile
+    @JsonIgnore
+    @JdbcTypeCode(SqlTypes.JSON)
+    private SkillFeatures skillFeatures;
+
     public UUID getId() {
         return id;
     }
@@ -96,4 +104,12 @@ public class User {
     public void setLastSync(Instant lastSync) {
         this.lastSync = lastSync;
     }
+
+    public SkillFeatures getSkillFeatures() {
+        return skillFeatures;
+    }
+
+    public void setSkillFeatures(SkillFeatures skillFeatures) {
+        this.skillFeatures = skillFeatures;
+    }
 }
@@ -1,7 +1,10 @@
 package com.yourorg.portfolio.repository;
 
 import com.yourorg.portfolio.model.RepositoryEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -10,4 +13,67 @@ public interface RepoRepository extends JpaRepository<RepositoryEntity, UUID> {
     List<RepositoryEntity> findByUserId(UUID userId);
 
     Optional<RepositoryEntity> findByGhRepoId(Long ghRepoId);
+
+    List<RepositoryEntity> findByUserIdAndGhRepoIdIn(UUID userId, Collection<Long> ghRepoIds);
+
+    @Query("select r.ghRepoId from RepositoryEntity r where r.user.id = :userId")
+    List<Long> findGhRepoIdsByUserId(UUID userId);
+
+    /**
+     * Repositories of a user whose languages or topics mention any of the given
+     * skill names. Used to rescore only the skills a delta sync touched.
+     */
+    @Query(value = """
+            SELECT * FROM repositories r
+            WHERE r.user_id = :userId
+              AND (jsonb_exists_any(r.languages, CAST(:skills AS text[]))
+                   OR jsonb_exists_any(r.topics, CAST(:skills AS text[])))
+            """, nativeQuery = true)
+    List<RepositoryEntity> findByUserIdTouchingSkills(UUID userId, String[] skills);
+
+    /**
+     * Digest of every repository field the recommendation engine reads. Changes
+     * whenever a repository is added, removed or edited.
+     */
+    @Query(value = """
+            SELECT md5(coalesce(string_agg(
+                     concat_ws('|', r.gh_repo_id, r.full_name, md5(coalesce(r.description, '')),
+                               CAST(r.languages AS text), CAST(r.topics AS text), r.stars, r.forks),
+                     ',' ORDER BY r.gh_repo_id), ''))
+            FROM repositories r
+            WHERE r.user_id = :userId
+            """, nativeQuery = true)
+    String findFingerprintByUserId(UUID userId);
+
+    /**
+     * {@link #findFingerprintByUserId} for several users at once. Users without
+     * repositories are absent.
+     */
+    @Query(value = """
+            SELECT CAST(r.user_id AS text) AS "userId",
+                   md5(string_agg(
+                     concat_ws('|', r.gh_repo_id, r.full_name, md5(coalesce(r.description, '')),
+                               CAST(r.languages AS text), CAST(r.topics AS text), r.stars, r.forks),
+                     ',' ORDER BY r.gh_repo_id)) AS "fingerprint"
+            FROM repositories r
+            WHERE r.user_id IN (:userIds)
+            GROUP BY r.user_id
+            """, nativeQuery = true)
+    List<UserFingerprint> findFingerprintsByUserIdIn(Collection<UUID> userIds);
+
+    @Query("select r from RepositoryEntity r join fetch r.user where r.user.id in :userIds")
+    List<RepositoryEntity> findWithUserByUserIdIn(Collection<UUID> userIds);
+
+    /**
+     * Ids of users owning at least one repository, in id order after
+     * {@code after}. Used to walk all users page by page.
+     */
+    @Query("select distinct r.user.id from RepositoryEntity r where r.user.id > :after order by r.user.id")
+    List<UUID> findUserIdsWithReposAfter(UUID after, Pageable page);
+
+    interface UserFingerprint {
+        String getUserId();
+
+        String getFingerprint();
+    }
 }
@@ -0,0 +1,224 @@
+package com.yourorg.portfolio.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yourorg.portfolio.model.RepositoryEntity;
+import com.yourorg.portfolio.model.Skill;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Batched JDBC access for the sync path. Rows are upserted with
+ * {@code INSERT ... ON CONFLICT} so a sync costs one round trip per batch
+ * instead of a select plus insert/update per entity.
+ */
+@Repository
+public class SyncBulkRepository {
+
+    private static final String UPSERT_REPOSITORY = """
+            INSERT INTO repositories (user_id, gh_repo_id, full_name, description, primary_language,
+                                      languages, topics, stars, forks, last_pushed_at)
+            VALUES (?, ?, ?, ?, ?, ?::jsonb, ?::jsonb, ?, ?, ?)
+            ON CONFLICT (user_id, gh_repo_id) DO UPDATE SET
+                full_name = EXCLUDED.full_name,
+                description = EXCLUDED.description,
+                primary_language = EXCLUDED.primary_language,
+                languages = EXCLUDED.languages,
+                topics = EXCLUDED.topics,
+                stars = EXCLUDED.stars,
+                forks = EXCLUDED.forks,
+                last_pushed_at = EXCLUDED.last_pushed_at
+            """;
+
+    private static final String UPSERT_USER_SKILL = """
+            INSERT INTO user_skills (user_id, skill_id, score, updated_at)
+            VALUES (?, ?, ?, now())
+            ON CONFLICT (user_id, skill_id) DO UPDATE SET
+                score = EXCLUDED.score,
+                updated_at = EXCLUDED.updated_at
+            """;
+
+    private static final TypeReference<List<String>> STRING_LIST = new TypeReference<>() {
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${sync.jdbc.batch-size:500}")
+    private int batchSize;
+
+    public SyncBulkRepository(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    public void upsertRepositories(UUID userId, List<RepositoryEntity> repos) {
+        if (repos.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPSERT_REPOSITORY, repos, batchSize, (ps, repo) -> {
+            ps.setObject(1, userId);
+            ps.setObject(2, repo.getGhRepoId());
+            ps.setString(3, repo.getFullName());
+            ps.setString(4, repo.getDescription());
+            ps.setString(5, repo.getPrimaryLanguage());
+            ps.setString(6, toJson(repo.getLanguages()));
+            ps.setString(7, toJson(repo.getTopics()));
+            setNullableInt(ps, 8, repo.getStars());
+            setNullableInt(ps, 9, repo.getForks());
+            ps.setTimestamp(10, repo.getLastPushedAt() != null ? Timestamp.from(repo.getLastPushedAt()) : null);
+        });
+    }
+
+    public int deleteRepositories(UUID userId, Collection<Long> ghRepoIds) {
+        if (ghRepoIds.isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(
+                    "DELETE FROM repositories WHERE user_id = ? AND gh_repo_id = ANY(?)");
+            ps.setObject(1, userId);
+            ps.setArray(2, con.createArrayOf("bigint", ghRepoIds.toArray()));
+            return ps;
+        });
+    }
+
+    /**
+     * Upsert user skill scores keyed by skill id, using the
+     * {@code UNIQUE(user_id, skill_id)} constraint as the conflict target.
+     */
+    public void upsertUserSkills(UUID userId, Map<UUID, Double> scoresBySkillId) {
+        if (scoresBySkillId.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<UUID, Double>> rows = new ArrayList<>(scoresBySkillId.entrySet());
+        jdbcTemplate.batchUpdate(UPSERT_USER_SKILL, rows, batchSize, (ps, row) -> {
+            ps.setObject(1, userId);
+            ps.setObject(2, row.getKey());
+            ps.setDouble(3, row.getValue());
+        });
+    }
+
+    /**
+     * Current scores of a user's skills, keyed by skill id, in one query.
+     */
+    public Map<UUID, Double> findUserSkillScores(UUID userId) {
+        Map<UUID, Double> scores = new HashMap<>();
+        jdbcTemplate.query("SELECT skill_id, score FROM user_skills WHERE user_id = ?",
+                rs -> {
+                    scores.put(rs.getObject("skill_id", UUID.class), rs.getDouble("score"));
+                }, userId);
+        return scores;
+    }
+
+    /**
+     * Every user's score for one skill, keyed by user id, in one query.
+     */
+    public Map<UUID, Double> findScoresBySkillId(UUID skillId) {
+        Map<UUID, Double> scores = new HashMap<>();
+        jdbcTemplate.query("SELECT user_id, score FROM user_skills WHERE skill_id = ? AND score IS NOT NULL",
+                rs -> {
+                    scores.put(rs.getObject("user_id", UUID.class), rs.getDouble("score"));
+                }, skillId);
+        return scores;
+    }
+
+    /**
+     * Number of users with each skill, keyed by skill id.
+     */
+    public Map<UUID, Long> countUsersBySkill() {
+        Map<UUID, Long> counts = new HashMap<>();
+        jdbcTemplate.query("SELECT skill_id, count(*) AS users FROM user_skills GROUP BY skill_id",
+                rs -> {
+                    counts.put(rs.getObject("skill_id", UUID.class), rs.getLong("users"));
+                });
+        return counts;
+    }
+
+    public int deleteUserSkills(UUID userId, Collection<UUID> skillIds) {
+        if (skillIds.isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(
+                    "DELETE FROM user_skills WHERE user_id = ? AND skill_id = ANY(?)");
+            ps.setObject(1, userId);
+            ps.setArray(2, con.createArrayOf("uuid", skillIds.toArray()));
+            return ps;
+        });
+    }
+
+    public void insertSkillsIfAbsent(Collection<String> names, String category) {
+        if (names.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO skills (name, category) VALUES (?, ?) ON CONFLICT (name) DO NOTHING",
+                new ArrayList<>(names), batchSize, (ps, name) -> {
+                    ps.setString(1, name);
+                    ps.setString(2, category);
+                });
+    }
+
+    public List<Skill> findSkillsByNames(Collection<String> names) {
+        if (names.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(
+                    "SELECT id, name, aliases, category FROM skills WHERE name = ANY(?)");
+            ps.setArray(1, con.createArrayOf("text", names.toArray()));
+            return ps;
+        }, (rs, rowNum) -> {
+            Skill skill = new Skill();
+            skill.setId(rs.getObject("id", UUID.class));
+            skill.setName(rs.getString("name"));
+            skill.setAliases(fromJsonList(rs.getString("aliases")));
+            skill.setCategory(rs.getString("category"));
+            return skill;
+        });
+    }
+
+    private String toJson(Object value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot serialize column value", e);
+        }
+    }
+
+    private List<String> fromJsonList(String json) {
+        if (json == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(json, STRING_LIST);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot parse column value", e);
+        }
+    }
+
+    private static void setNullableInt(PreparedStatement ps, int index, Integer value) throws SQLException {
+        if (value != null) {
+            ps.setInt(index, value);
+        } else {
+            ps.setNull(index, Types.INTEGER);
+        }
+    }
+}
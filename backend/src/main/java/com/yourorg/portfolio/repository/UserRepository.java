@@ -2,6 +2,11 @@ package com.yourorg.portfolio.repository;
 
 import com.yourorg.portfolio.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -9,4 +14,60 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     Optional<User> findByGithubId(Long githubId);
 
     Optional<User> findByUsername(String username);
+
+    /**
+     * The fields that decide whether a user's public portfolio changed, read
+     * without loading the entity.
+     */
+    @Query("select u.id as id, u.username as username, u.avatarUrl as avatarUrl, u.lastSync as lastSync "
+            + "from User u where u.username = :username")
+    Optional<PortfolioVersion> findPortfolioVersionByUsername(@Param("username") String username);
+
+    long countByEncryptedAccessTokenIsNotNull();
+
+    @Query("select u.id as id, u.username as username, u.avatarUrl as avatarUrl from User u where u.id in :ids")
+    List<UserSummary> findSummariesByIdIn(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Users due for a background resync, most overdue first. Never-synced
+     * users come first; the rest are ranked by time since their last sync,
+     * weighted up by how many of their repositories were pushed recently.
+     */
+    @Query(value = """
+            SELECT u.id FROM users u
+            WHERE u.encrypted_access_token IS NOT NULL
+              AND (u.last_sync IS NULL OR u.last_sync < :staleBefore)
+            ORDER BY u.last_sync IS NULL DESC,
+                     EXTRACT(EPOCH FROM (now() - u.last_sync))
+                       * (1 + ln(1 + (SELECT count(*) FROM repositories r
+                                      WHERE r.user_id = u.id AND r.last_pushed_at > :activeSince))) DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<UUID> findResyncCandidates(@Param("staleBefore") Instant staleBefore,
+            @Param("activeSince") Instant activeSince, @Param("limit") int limit);
+
+    @Query("select min(u.lastSync) from User u where u.encryptedAccessToken is not null")
+    Optional<Instant> findOldestLastSync();
+
+    @Query("select count(u) from User u where u.encryptedAccessToken is not null "
+            + "and (u.lastSync is null or u.lastSync < :before)")
+    long countStale(@Param("before") Instant before);
+
+    interface PortfolioVersion {
+        UUID getId();
+
+        String getUsername();
+
+        String getAvatarUrl();
+
+        Instant getLastSync();
+    }
+
+    interface UserSummary {
+        UUID getId();
+
+        String getUsername();
+
+        String getAvatarUrl();
+    }
 }
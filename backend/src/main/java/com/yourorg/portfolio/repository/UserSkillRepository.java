@@ -1,7 +1,11 @@
 package com.yourorg.portfolio.repository;
 
+import com.yourorg.portfolio.dto.PublicSkillView;
+import com.yourorg.portfolio.dto.UserSkillView;
 import com.yourorg.portfolio.model.UserSkill;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -10,4 +14,19 @@ public interface UserSkillRepository extends JpaRepository<UserSkill, UUID> {
     List<UserSkill> findByUserId(UUID userId);
 
     Optional<UserSkill> findByUserIdAndSkillId(UUID userId, UUID skillId);
+
+    /**
+     * A user's skills in one joined query, without loading the entities or
+     * their evidence.
+     */
+    @Query("select new com.yourorg.portfolio.dto.UserSkillView(s.id, s.name, us.score, s.category) "
+            + "from UserSkill us join us.skill s where us.user.id = :userId order by s.name")
+    List<UserSkillView> findViewsByUserId(@Param("userId") UUID userId);
+
+    /**
+     * Like {@link #findViewsByUserId}, with only the fields shown publicly.
+     */
+    @Query("select new com.yourorg.portfolio.dto.PublicSkillView(s.name, us.score, s.category) "
+            + "from UserSkill us join us.skill s where us.user.id = :userId order by s.name")
+    List<PublicSkillView> findPublicViewsByUserId(@Param("userId") UUID userId);
 }
@@ -0,0 +1,488 @@
+package com.yourorg.portfolio.service;
+
+import com.yourorg.portfolio.dto.RecommendationDto.*;
+import com.yourorg.portfolio.dto.RecommendationSection;
+import com.yourorg.portfolio.model.SkillFeatures;
+import com.yourorg.portfolio.model.SkillFeatures.RepoHint;
+import com.yourorg.portfolio.service.KnowledgeBase.CareerPathData;
+import com.yourorg.portfolio.service.KnowledgeBase.ProjectTemplate;
+import com.yourorg.portfolio.service.KnowledgeBase.ResourceData;
+import com.yourorg.portfolio.service.KnowledgeBase.TechnologyData;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-process port of the ML service's rule-based {@code RecommenderSystem},
+ * used when {@code ml-service.mode} is {@code embedded}.
+ *
+ * Works from the same {@link SkillFeatures} the sync stores and the same
+ * knowledge base, exported to {@code ml-service.embedded.knowledge-base}.
+ * Results match the Python engine, which lists skills in knowledge base
+ * order as this engine does; {@code EmbeddedRecommendationEngineTest} checks
+ * that against results exported from Python. The knowledge base is only
+ * loaded in embedded mode.
+ */
+@Component
+@ConditionalOnProperty(name = "ml-service.mode", havingValue = "embedded")
+public class EmbeddedRecommendationEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(EmbeddedRecommendationEngine.class);
+
+    private static final Map<String, Integer> RELEVANCE_ORDER = Map.of(
+            "Very High", 4, "High", 3, "Medium-High", 2, "Medium", 1);
+
+    private final KnowledgeBase knowledge;
+    private final Timer duration;
+
+    public EmbeddedRecommendationEngine(ResourceLoader resourceLoader, MeterRegistry meterRegistry,
+            @Value("${ml-service.embedded.knowledge-base:classpath:recommender/knowledge-base.json}")
+            String location) {
+        Resource resource = resourceLoader.getResource(location);
+        try (InputStream in = resource.getInputStream()) {
+            this.knowledge = KnowledgeBase.read(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load knowledge base from " + location, e);
+        }
+        this.duration = meterRegistry.timer("recommendations.embedded.duration");
+        log.info("Loaded knowledge base version {} from {}", knowledge.version(), location);
+    }
+
+    public RecommendationResponse recommend(SkillFeatures features) {
+        return recommend(features, RecommendationSection.ALL);
+    }
+
+    /**
+     * Compute only {@code sections}, skipping the scoring steps nothing
+     * requested depends on; the other sections are left null.
+     */
+    public RecommendationResponse recommend(SkillFeatures features, Set<RecommendationSection> sections) {
+        return duration.record(() -> generate(features, sections));
+    }
+
+    private RecommendationResponse generate(SkillFeatures features, Set<RecommendationSection> sections) {
+        RecommendationResponse response = new RecommendationResponse();
+        if (features.getTotalRepos() == 0) {
+            response.setCareerPaths(new ArrayList<>());
+            response.setSkillGaps(new ArrayList<>());
+            response.setProjectIdeas(new ArrayList<>());
+            response.setTechnologies(new ArrayList<>());
+            response.setLearningResources(new ArrayList<>());
+            response.setSkillAnalysis(analyzeStrengthsWeaknesses(Map.of()));
+            response.setRepoImprovements(new ArrayList<>());
+            response.setProfileStats(profileStats(features));
+            return RecommendationSection.project(response, sections);
+        }
+
+        boolean needGaps = sections.contains(RecommendationSection.SKILL_GAPS)
+                || sections.contains(RecommendationSection.PROJECT_IDEAS)
+                || sections.contains(RecommendationSection.LEARNING_RESOURCES);
+        boolean needCareers = needGaps
+                || sections.contains(RecommendationSection.CAREER_PATHS)
+                || sections.contains(RecommendationSection.TECHNOLOGIES);
+        boolean needSkills = needCareers || sections.contains(RecommendationSection.SKILL_ANALYSIS);
+
+        Map<String, UserSkill> skills = needSkills ? skillsFromFeatures(features) : Map.of();
+        List<CareerPath> careerPaths = needCareers ? scoreCareerPaths(skills) : List.of();
+        List<SkillGap> skillGaps = needGaps ? analyzeSkillGaps(skills, careerPaths) : List.of();
+
+        if (sections.contains(RecommendationSection.CAREER_PATHS)) {
+            response.setCareerPaths(careerPaths);
+        }
+        if (sections.contains(RecommendationSection.SKILL_GAPS)) {
+            response.setSkillGaps(skillGaps);
+        }
+        if (sections.contains(RecommendationSection.SKILL_ANALYSIS)) {
+            response.setSkillAnalysis(analyzeStrengthsWeaknesses(skills));
+        }
+        if (sections.contains(RecommendationSection.TECHNOLOGIES)) {
+            response.setTechnologies(recommendTechnologies(skills, careerPaths));
+        }
+        if (sections.contains(RecommendationSection.PROJECT_IDEAS)) {
+            response.setProjectIdeas(recommendProjects(skills, skillGaps));
+        }
+        if (sections.contains(RecommendationSection.LEARNING_RESOURCES)) {
+            response.setLearningResources(recommendResources(skillGaps));
+        }
+        if (sections.contains(RecommendationSection.REPO_IMPROVEMENTS)) {
+            response.setRepoImprovements(suggestRepoImprovements(features.getRepoHints()));
+        }
+        if (sections.contains(RecommendationSection.PROFILE_STATS)) {
+            response.setProfileStats(profileStats(features));
+        }
+        return response;
+    }
+
+    // ==================== Features ====================
+
+    private Map<String, UserSkill> skillsFromFeatures(SkillFeatures features) {
+        Map<String, UserSkill> skills = new LinkedHashMap<>();
+        features.getLanguages().forEach((lang, stats) -> skills
+                .computeIfAbsent(normalizeSkill(lang), name -> new UserSkill("Language"))
+                .add(stats.getScore(), stats.getReposCount()));
+        features.getTopics().forEach((topic, stats) -> skills
+                .computeIfAbsent(normalizeSkill(topic), name -> new UserSkill("Technology/Framework"))
+                .add(stats.getScore(), stats.getReposCount()));
+        return skills;
+    }
+
+    private String normalizeSkill(String skill) {
+        String key = skill.toLowerCase(Locale.ROOT).strip().replace(" ", "").replace("-", "");
+        String alias = knowledge.skillAliases().get(key);
+        return alias != null ? alias : titleCase(skill);
+    }
+
+    private static ProfileStats profileStats(SkillFeatures features) {
+        int totalRepos = features.getTotalRepos();
+        int languageRepos = features.getLanguages().values().stream()
+                .mapToInt(SkillFeatures.LanguageStats::getReposCount)
+                .sum();
+
+        ProfileStats stats = new ProfileStats();
+        stats.setLanguageDiversity(features.getLanguages().size());
+        stats.setTopicDiversity(features.getTopics().size());
+        stats.setTotalRepos(totalRepos);
+        stats.setTotalStars((int) features.getTotalStars());
+        stats.setAvgLanguagesPerRepo(totalRepos == 0 ? 0.0 : (double) languageRepos / totalRepos);
+        return stats;
+    }
+
+    // ==================== Careers ====================
+
+    /**
+     * Weighted overlap with each career's required and preferred skills; top 3.
+     */
+    private List<CareerPath> scoreCareerPaths(Map<String, UserSkill> skills) {
+        List<CareerPath> paths = new ArrayList<>();
+        knowledge.careerPaths().forEach((title, data) -> {
+            Set<String> required = new LinkedHashSet<>(data.requiredSkills());
+            Set<String> preferred = new LinkedHashSet<>(orEmpty(data.preferredSkills()));
+            Set<String> requiredOverlap = intersect(required, skills.keySet());
+            Set<String> preferredOverlap = intersect(preferred, skills.keySet());
+
+            double requiredScore = required.isEmpty() ? 0 : (double) requiredOverlap.size() / required.size();
+            double preferredScore = preferred.isEmpty() ? 0 : (double) preferredOverlap.size() / preferred.size();
+            double matchScore = requiredScore * 0.7 + preferredScore * 0.3;
+
+            int totalOverlap = requiredOverlap.size() + preferredOverlap.size();
+            double confidence = required.isEmpty() ? 0 : Math.min(1.0, totalOverlap / (required.size() * 0.8));
+
+            Set<String> matched = new LinkedHashSet<>(requiredOverlap);
+            matched.addAll(preferredOverlap);
+
+            CareerPath path = new CareerPath();
+            path.setTitle(title);
+            path.setScore(round(matchScore, 2));
+            path.setConfidence(round(confidence, 2));
+            path.setDescription(data.description());
+            path.setMatchedSkills(new ArrayList<>(matched));
+            path.setSalaryRange(data.salaryRange() != null ? data.salaryRange() : "N/A");
+            path.setDemand(data.demand() != null ? data.demand() : "N/A");
+            paths.add(path);
+        });
+
+        paths.sort(Comparator.comparing(CareerPath::getScore).reversed());
+        return new ArrayList<>(paths.subList(0, Math.min(3, paths.size())));
+    }
+
+    private List<SkillGap> analyzeSkillGaps(Map<String, UserSkill> skills, List<CareerPath> careerPaths) {
+        List<SkillGap> gaps = new ArrayList<>();
+        for (CareerPath career : careerPaths.subList(0, Math.min(2, careerPaths.size()))) {
+            CareerPathData data = knowledge.careerPaths().get(career.getTitle());
+            List<String> missingRequired = missing(data.requiredSkills(), skills.keySet());
+            List<String> missingPreferred = missing(orEmpty(data.preferredSkills()), skills.keySet());
+
+            if (!missingRequired.isEmpty() || !missingPreferred.isEmpty()) {
+                SkillGap gap = new SkillGap();
+                gap.setCareer(career.getTitle());
+                gap.setMissingSkills(limit(missingRequired, 4));
+                gap.setNiceToHave(limit(missingPreferred, 3));
+                gap.setPriority(missingRequired.isEmpty() ? "medium" : "high");
+                gap.setCompletionPercentage(roundToInt(career.getScore() * 100));
+                gaps.add(gap);
+            }
+        }
+        return gaps;
+    }
+
+    // ==================== Skills ====================
+
+    private static SkillAnalysis analyzeStrengthsWeaknesses(Map<String, UserSkill> skills) {
+        SkillAnalysis analysis = new SkillAnalysis();
+        List<Map.Entry<String, UserSkill>> sorted = new ArrayList<>(skills.entrySet());
+        // Ties by name, as stored features don't keep the order skills were first seen in
+        sorted.sort(Comparator.comparingDouble((Map.Entry<String, UserSkill> e) -> e.getValue().score).reversed()
+                .thenComparing(Map.Entry::getKey));
+
+        List<Strength> strengths = new ArrayList<>();
+        for (Map.Entry<String, UserSkill> entry : sorted.subList(0, Math.min(5, sorted.size()))) {
+            Strength strength = new Strength();
+            strength.setSkill(entry.getKey());
+            strength.setScore(round(entry.getValue().score, 1));
+            strength.setReposCount(entry.getValue().reposCount);
+            strength.setCategory(entry.getValue().category);
+            strengths.add(strength);
+        }
+
+        List<Weakness> weaknesses = new ArrayList<>();
+        for (Map.Entry<String, UserSkill> entry : sorted) {
+            if (entry.getValue().reposCount == 1 && entry.getValue().score < 10 && weaknesses.size() < 3) {
+                Weakness weakness = new Weakness();
+                weakness.setSkill(entry.getKey());
+                weakness.setReason("Limited exposure");
+                weakness.setSuggestion("Build more projects with " + entry.getKey());
+                weaknesses.add(weakness);
+            }
+        }
+
+        List<SkillInfo> all = new ArrayList<>();
+        double maxScore = sorted.isEmpty() ? 1 : sorted.get(0).getValue().score;
+        for (Map.Entry<String, UserSkill> entry : sorted.subList(0, Math.min(15, sorted.size()))) {
+            double normalized = maxScore == 0 ? 0 : Math.min(100, entry.getValue().score / maxScore * 100);
+            SkillInfo info = new SkillInfo();
+            info.setSkill(entry.getKey());
+            info.setProficiency(roundToInt(normalized));
+            info.setReposCount(entry.getValue().reposCount);
+            info.setCategory(entry.getValue().category);
+            all.add(info);
+        }
+
+        analysis.setStrengths(strengths);
+        analysis.setWeaknesses(weaknesses);
+        analysis.setSkills(all);
+        return analysis;
+    }
+
+    // ==================== Learning ====================
+
+    private List<Technology> recommendTechnologies(Map<String, UserSkill> skills, List<CareerPath> careerPaths) {
+        Set<String> targetSkills = new LinkedHashSet<>();
+        for (CareerPath career : careerPaths.subList(0, Math.min(2, careerPaths.size()))) {
+            CareerPathData data = knowledge.careerPaths().get(career.getTitle());
+            targetSkills.addAll(data.requiredSkills());
+            targetSkills.addAll(orEmpty(data.preferredSkills()));
+        }
+
+        List<Technology> recommendations = new ArrayList<>();
+        knowledge.technologyPaths().forEach((tech, data) -> {
+            List<String> prereqs = orEmpty(data.prerequisites());
+            boolean hasPrereqs = skills.keySet().containsAll(prereqs);
+            if (targetSkills.contains(tech) && !skills.containsKey(tech) && hasPrereqs) {
+                Technology technology = new Technology();
+                technology.setTechnology(tech);
+                technology.setCategory(data.category());
+                technology.setDifficulty(data.difficulty());
+                technology.setLearningTime(data.learningTime());
+                technology.setJobRelevance(data.jobRelevance());
+                technology.setPrerequisitesMet(new ArrayList<>(intersect(new LinkedHashSet<>(prereqs),
+                        skills.keySet())));
+                technology.setReason(careerPaths.isEmpty() ? "" : "Required for " + careerPaths.get(0).getTitle());
+                recommendations.add(technology);
+            }
+        });
+
+        recommendations.sort(Comparator.comparingInt(
+                (Technology t) -> RELEVANCE_ORDER.getOrDefault(t.getJobRelevance(), 0)).reversed());
+        return limit(recommendations, 5);
+    }
+
+    private List<ProjectIdea> recommendProjects(Map<String, UserSkill> skills, List<SkillGap> skillGaps) {
+        Set<String> skillsToLearn = new LinkedHashSet<>();
+        skillGaps.forEach(gap -> skillsToLearn.addAll(gap.getMissingSkills()));
+
+        List<ProjectIdea> recommendations = new ArrayList<>();
+        Map<ProjectIdea, Integer> priorities = new LinkedHashMap<>();
+        for (ProjectTemplate project : knowledge.projectTemplates()) {
+            Set<String> projectSkills = new LinkedHashSet<>(project.skills());
+            Set<String> known = intersect(projectSkills, skills.keySet());
+            Set<String> unknown = new LinkedHashSet<>(projectSkills);
+            unknown.removeAll(known);
+
+            if (known.isEmpty() || unknown.size() > 2) {
+                continue;
+            }
+            double matchRatio = (double) known.size() / projectSkills.size();
+            if (matchRatio < 0.3) {
+                continue;
+            }
+            Set<String> teachesNeeded = intersect(unknown, skillsToLearn);
+
+            String reason = matchRatio > 0.8 ? "Practice existing skills" : "Learn new skills";
+            if (!teachesNeeded.isEmpty()) {
+                reason = "Learn " + String.join(", ", limit(new ArrayList<>(teachesNeeded), 2));
+            }
+
+            ProjectIdea idea = new ProjectIdea();
+            idea.setTitle(project.title());
+            idea.setSkills(new ArrayList<>(project.skills()));
+            idea.setDifficulty(project.difficulty());
+            idea.setDescription(project.description());
+            idea.setEstimatedTime(project.estimatedTime());
+            idea.setLearningGoals(new ArrayList<>(orEmpty(project.learningGoals())));
+            idea.setSkillsYouHave(new ArrayList<>(known));
+            idea.setSkillsToLearn(new ArrayList<>(unknown));
+            idea.setMatchPercentage(roundToInt(matchRatio * 100));
+            idea.setReason(reason);
+            recommendations.add(idea);
+            priorities.put(idea, teachesNeeded.size());
+        }
+
+        recommendations.sort(Comparator.comparingInt((ProjectIdea p) -> priorities.get(p))
+                .thenComparingInt(ProjectIdea::getMatchPercentage)
+                .reversed());
+        return limit(recommendations, 4);
+    }
+
+    private List<LearningResource> recommendResources(List<SkillGap> skillGaps) {
+        Set<String> skillsToLearn = new LinkedHashSet<>();
+        for (SkillGap gap : skillGaps) {
+            skillsToLearn.addAll(gap.getMissingSkills());
+            skillsToLearn.addAll(gap.getNiceToHave());
+        }
+
+        List<LearningResource> recommendations = new ArrayList<>();
+        for (ResourceData resource : knowledge.learningResources()) {
+            Set<String> overlap = intersect(new LinkedHashSet<>(resource.skills()), skillsToLearn);
+            if (!overlap.isEmpty()) {
+                LearningResource recommendation = new LearningResource();
+                recommendation.setTitle(resource.title());
+                recommendation.setProvider(resource.provider());
+                recommendation.setSkills(new ArrayList<>(resource.skills()));
+                recommendation.setDifficulty(resource.difficulty());
+                recommendation.setDuration(resource.duration());
+                recommendation.setUrl(resource.url());
+                recommendation.setType(resource.type());
+                recommendation.setRelevantSkills(new ArrayList<>(overlap));
+                recommendation.setRelevanceScore(overlap.size());
+                recommendations.add(recommendation);
+            }
+        }
+
+        recommendations.sort(Comparator.comparingInt(LearningResource::getRelevanceScore).reversed());
+        return limit(recommendations, 4);
+    }
+
+    // ==================== Repositories ====================
+
+    private static List<RepoImprovement> suggestRepoImprovements(List<RepoHint> hints) {
+        List<RepoImprovement> suggestions = new ArrayList<>();
+        for (RepoHint hint : limit(hints, 5)) {
+            List<Map<String, String>> improvements = new ArrayList<>();
+            if (hint.getDescriptionLength() < 20) {
+                improvements.add(improvement("documentation", "Add a detailed description",
+                        "Improves discoverability"));
+            }
+            if (hint.getTopicCount() < 3) {
+                improvements.add(improvement("topics", "Add relevant topics/tags", "Increases visibility"));
+            }
+            if (hint.getLanguageCount() > 2 && !hint.isTestingTopic()) {
+                improvements.add(improvement("quality", "Add automated tests", "Demonstrates code quality"));
+            }
+
+            if (!improvements.isEmpty()) {
+                RepoImprovement suggestion = new RepoImprovement();
+                suggestion.setRepo(hint.getName() != null ? hint.getName() : "");
+                suggestion.setCurrentStars(hint.getStars());
+                suggestion.setImprovements(limit(improvements, 2));
+                suggestions.add(suggestion);
+            }
+        }
+        return limit(suggestions, 3);
+    }
+
+    private static Map<String, String> improvement(String type, String suggestion, String impact) {
+        Map<String, String> improvement = new LinkedHashMap<>();
+        improvement.put("type", type);
+        improvement.put("suggestion", suggestion);
+        improvement.put("impact", impact);
+        return improvement;
+    }
+
+    // ==================== Helpers ====================
+
+    private static Set<String> intersect(Set<String> ordered, Set<String> other) {
+        Set<String> result = new LinkedHashSet<>(ordered);
+        result.retainAll(other);
+        return result;
+    }
+
+    private static List<String> missing(List<String> wanted, Set<String> have) {
+        Set<String> result = new LinkedHashSet<>(wanted);
+        result.removeAll(have);
+        return new ArrayList<>(result);
+    }
+
+    private static <T> List<T> orEmpty(List<T> values) {
+        return values != null ? values : List.of();
+    }
+
+    private static <T> List<T> limit(List<T> values, int max) {
+        return new ArrayList<>(values.subList(0, Math.min(max, values.size())));
+    }
+
+    /**
+     * Python's {@code round(x, digits)}: half-even on the exact binary value.
+     */
+    private static double round(double value, int digits) {
+        return new BigDecimal(value).setScale(digits, RoundingMode.HALF_EVEN).doubleValue();
+    }
+
+    /**
+     * Python's {@code round(x)}.
+     */
+    private static int roundToInt(double value) {
+        return (int) Math.rint(value);
+    }
+
+    /**
+     * Python's {@code str.title()}: upper-case letters that follow a non-letter,
+     * lower-case the rest.
+     */
+    private static String titleCase(String value) {
+        StringBuilder out = new StringBuilder(value.length());
+        boolean previousCased = false;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            boolean cased = Character.isUpperCase(c) || Character.isLowerCase(c) || Character.isTitleCase(c);
+            out.append(cased ? (previousCased ? Character.toLowerCase(c) : Character.toTitleCase(c)) : c);
+            previousCased = cased;
+        }
+        return out.toString();
+    }
+
+    private static final class UserSkill {
+        private final String category;
+        private double score;
+        private int reposCount;
+
+        UserSkill(String category) {
+            this.category = category;
+        }
+
+        UserSkill add(double score, int reposCount) {
+            this.score += score;
+            this.reposCount += reposCount;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.yourorg.portfolio.service;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The ML service's {@code KnowledgeBase}, as exported by
+ * {@code ml-service/export_knowledge_base.py}. Map and list order follows the
+ * Python source, which decides ties when ranking.
+ */
+public record KnowledgeBase(
+        int version,
+        Map<String, CareerPathData> careerPaths,
+        Map<String, TechnologyData> technologyPaths,
+        List<ResourceData> learningResources,
+        List<ProjectTemplate> projectTemplates,
+        Map<String, String> skillAliases) {
+
+    public record CareerPathData(List<String> requiredSkills, List<String> preferredSkills, String description,
+            String salaryRange, String demand) {
+    }
+
+    public record TechnologyData(String category, List<String> prerequisites, String difficulty,
+            String learningTime, String jobRelevance) {
+    }
+
+    public record ResourceData(String title, String provider, List<String> skills, String difficulty,
+            String duration, String url, String type) {
+    }
+
+    public record ProjectTemplate(String title, List<String> skills, String difficulty, String description,
+            String estimatedTime, List<String> learningGoals) {
+    }
+
+    public static KnowledgeBase read(InputStream in) throws IOException {
+        return JsonMapper.builder()
+                .propertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .build()
+                .readValue(in, KnowledgeBase.class);
+    }
+}
@@ -1,24 +1,50 @@
 package com.yourorg.portfolio.service;
 
 import com.yourorg.portfolio.dto.RecommendationDto.*;
+import com.yourorg.portfolio.dto.RecommendationSection;
 import com.yourorg.portfolio.model.RepositoryEntity;
+import com.yourorg.portfolio.model.SkillFeatures;
 import com.yourorg.portfolio.model.User;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.client.RestClientException;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 /**
  * Client for communicating with the ML recommendation service.
- * Handles request formatting, response parsing, and error handling.
+ * Handles request formatting and error handling; responses are bound by
+ * {@link MLResponseReader}.
+ * Calls go through a circuit breaker and bulkhead; when either rejects a
+ * call, or the call fails, a response marked as fallback is returned.
+ *
+ * Users whose {@link SkillFeatures} are current are sent as those
+ * pre-aggregated totals ({@code /recommend/features}) rather than as their
+ * full repository list. Bulk work uses {@link #getRecommendationsBatch},
+ * which packs many users into each {@code /recommend/batch} request.
+ *
+ * With {@code ml-service.mode=embedded} no request is made at all: the
+ * {@link EmbeddedRecommendationEngine}, which only exists in that mode,
+ * computes recommendations in-process.
  */
 @Service
 public class MLClient {
@@ -26,47 +52,110 @@ public class MLClient {
     private static final Logger log = LoggerFactory.getLogger(MLClient.class);
 
     private final RestTemplate restTemplate;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final MLResponseReader responseReader;
+    private final EmbeddedRecommendationEngine embeddedEngine;
+    private final ExecutorService batchExecutor;
 
     @Value("${ml-service.url:http://localhost:8000}")
     private String mlServiceUrl;
 
-    @Value("${ml-service.timeout:30000}")
-    private int timeout;
-
-    public MLClient() {
-        this.restTemplate = new RestTemplate();
+    @Value("${ml-service.batch.max-users:25}")
+    private int batchMaxUsers;
+
+    @Value("${ml-service.batch.max-repos:2500}")
+    private int batchMaxRepos;
+
+    @Value("${ml-service.batch.max-attempts:3}")
+    private int batchMaxAttempts;
+
+    public MLClient(RestTemplate mlRestTemplate, CircuitBreaker mlCircuitBreaker, Bulkhead mlBulkhead,
+            MLResponseReader responseReader, ObjectProvider<EmbeddedRecommendationEngine> embeddedEngine,
+            @Value("${ml-service.batch.parallelism:4}") int batchParallelism) {
+        this.restTemplate = mlRestTemplate;
+        this.circuitBreaker = mlCircuitBreaker;
+        this.bulkhead = mlBulkhead;
+        this.responseReader = responseReader;
+        this.embeddedEngine = embeddedEngine.getIfAvailable();
+        AtomicInteger counter = new AtomicInteger();
+        this.batchExecutor = Executors.newFixedThreadPool(batchParallelism, r -> {
+            Thread t = new Thread(r, "ml-batch-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
     }
 
     /**
      * Get comprehensive recommendations from the ML service.
      * 
-     * @param user  The user profile
-     * @param repos List of user's repositories
+     * @param user     The user profile
+     * @param repos    List of user's repositories
+     * @param sections The sections to compute; others are left null
      * @return Enhanced recommendation response or fallback if service unavailable
      */
-    public RecommendationResponse getRecommendations(User user, List<RepositoryEntity> repos) {
+    public RecommendationResponse getRecommendations(User user, List<RepositoryEntity> repos,
+            Set<RecommendationSection> sections) {
+        if (isEmbedded()) {
+            return recommendEmbedded(user, toFeatures(repos), sections);
+        }
+        return call("/recommend", withSections(buildPayload(user, repos), sections), sections, user);
+    }
+
+    /**
+     * Get recommendations from the user's aggregated skill features.
+     */
+    public RecommendationResponse getRecommendations(User user, SkillFeatures features,
+            Set<RecommendationSection> sections) {
+        if (isEmbedded()) {
+            return recommendEmbedded(user, features, sections);
+        }
+        return call("/recommend/features", withSections(buildFeaturePayload(user.getId(), features), sections),
+                sections, user);
+    }
+
+    private boolean isEmbedded() {
+        return embeddedEngine != null;
+    }
+
+    private RecommendationResponse recommendEmbedded(User user, SkillFeatures features,
+            Set<RecommendationSection> sections) {
         try {
-            Map<String, Object> payload = buildPayload(user, repos);
+            return embeddedEngine.recommend(features, sections);
+        } catch (Exception e) {
+            log.error("Embedded recommendation engine failed for user {}: {}", user.getUsername(), e.getMessage(),
+                    e);
+            return getFallbackRecommendations();
+        }
+    }
+
+    private static SkillFeatures toFeatures(List<RepositoryEntity> repos) {
+        SkillFeatureBuilder builder = new SkillFeatureBuilder();
+        repos.forEach(builder::add);
+        return builder.build();
+    }
 
+    private RecommendationResponse call(String path, Map<String, Object> payload, Set<RecommendationSection> sections,
+            User user) {
+        try {
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_JSON);
             HttpEntity<Map<String, Object>> request = new HttpEntity<>(payload, headers);
 
             log.info("Calling ML service for user: {}", user.getUsername());
 
-            @SuppressWarnings("unchecked")
-            Map<String, Object> response = restTemplate.postForObject(
-                    mlServiceUrl + "/recommend",
-                    request,
-                    Map.class);
-
-            if (response == null) {
-                log.warn("ML service returned null response");
-                return getFallbackRecommendations();
-            }
-
-            return parseResponse(response);
+            return circuitBreaker.executeSupplier(() -> bulkhead.executeSupplier(() -> restTemplate.execute(
+                    mlServiceUrl + path,
+                    HttpMethod.POST,
+                    restTemplate.httpEntityCallback(request),
+                    response -> responseReader.read(response.getBody(), sections))));
 
+        } catch (CallNotPermittedException e) {
+            log.warn("ML service circuit is open, skipping call for user: {}", user.getUsername());
+            return getFallbackRecommendations();
+        } catch (BulkheadFullException e) {
+            log.warn("Too many concurrent ML service calls, skipping call for user: {}", user.getUsername());
+            return getFallbackRecommendations();
         } catch (RestClientException e) {
             log.error("Failed to connect to ML service: {}", e.getMessage());
             return getFallbackRecommendations();
@@ -77,272 +166,231 @@ public class MLClient {
     }
 
     /**
-     * Build the request payload for the ML service.
+     * Get recommendations for many users at once. Users with current skill
+     * features are sent as features; the rest need an entry in
+     * {@code reposByUser}.
+     *
+     * Users are packed into batches of at most {@code ml-service.batch.max-users}
+     * users and {@code max-repos} repositories, and up to {@code parallelism}
+     * batches are in flight at a time. Users missing from a batch's result,
+     * because the batch failed or the ML service reported an error for them,
+     * are retried in new batches up to {@code max-attempts} times.
+     *
+     * @return recommendations for every user that succeeded; users that still
+     *         failed are absent
      */
-    private Map<String, Object> buildPayload(User user, List<RepositoryEntity> repos) {
-        Map<String, Object> payload = new HashMap<>();
-        payload.put("user_id", user.getId().toString());
+    public Map<UUID, RecommendationResponse> getRecommendationsBatch(Collection<User> users,
+            Map<UUID, List<RepositoryEntity>> reposByUser) {
+        if (isEmbedded()) {
+            return recommendEmbeddedBatch(users, reposByUser);
+        }
 
-        List<Map<String, Object>> repoList = repos.stream().map(repo -> {
-            Map<String, Object> r = new HashMap<>();
-            r.put("name", repo.getFullName() != null ? repo.getFullName() : "");
-            r.put("description", repo.getDescription() != null ? repo.getDescription() : "");
-            r.put("languages", repo.getLanguages() != null ? repo.getLanguages() : new HashMap<>());
-            r.put("topics", repo.getTopics() != null ? repo.getTopics() : List.of());
-            r.put("stars", repo.getStars() != null ? repo.getStars() : 0);
-            r.put("forks", repo.getForks() != null ? repo.getForks() : 0);
-            return r;
-        }).collect(Collectors.toList());
+        Map<UUID, Map<String, Object>> profiles = new LinkedHashMap<>();
+        Map<UUID, Integer> weights = new HashMap<>();
+        for (User user : users) {
+            if (SkillFeatureBuilder.isCurrent(user.getSkillFeatures())) {
+                profiles.put(user.getId(), buildFeaturePayload(user.getId(), user.getSkillFeatures()));
+                weights.put(user.getId(), 1);
+            } else if (reposByUser.containsKey(user.getId())) {
+                List<RepositoryEntity> repos = reposByUser.get(user.getId());
+                profiles.put(user.getId(), buildPayload(user.getId(), repos));
+                weights.put(user.getId(), repos.size());
+            }
+        }
 
-        payload.put("repos", repoList);
-        return payload;
-    }
+        Map<UUID, RecommendationResponse> results = new ConcurrentHashMap<>();
+        Set<UUID> remaining = new LinkedHashSet<>(profiles.keySet());
 
-    /**
-     * Parse the ML service response into DTOs.
-     */
-    @SuppressWarnings("unchecked")
-    private RecommendationResponse parseResponse(Map<String, Object> response) {
-        RecommendationResponse result = new RecommendationResponse();
-
-        // Parse career paths
-        List<Map<String, Object>> careerPathsRaw = (List<Map<String, Object>>) response.get("career_paths");
-        if (careerPathsRaw != null) {
-            result.setCareerPaths(careerPathsRaw.stream().map(this::parseCareerPath).collect(Collectors.toList()));
-        } else {
-            result.setCareerPaths(new ArrayList<>());
-        }
+        for (int attempt = 1; attempt <= batchMaxAttempts && !remaining.isEmpty(); attempt++) {
+            if (attempt > 1) {
+                if (circuitBreaker.getState() == CircuitBreaker.State.OPEN) {
+                    log.warn("ML service circuit is open, not retrying {} users", remaining.size());
+                    break;
+                }
+                log.info("Retrying {} users missing from ML batch results (attempt {})", remaining.size(), attempt);
+            }
 
-        // Parse skill gaps
-        List<Map<String, Object>> skillGapsRaw = (List<Map<String, Object>>) response.get("skill_gaps");
-        if (skillGapsRaw != null) {
-            result.setSkillGaps(skillGapsRaw.stream().map(this::parseSkillGap).collect(Collectors.toList()));
-        } else {
-            result.setSkillGaps(new ArrayList<>());
+            CompletableFuture.allOf(chunk(remaining, weights).stream()
+                    .map(batch -> CompletableFuture.runAsync(
+                            () -> results.putAll(callBatch(batch, profiles)), batchExecutor))
+                    .toArray(CompletableFuture[]::new))
+                    .join();
+            remaining.removeAll(results.keySet());
         }
 
-        // Parse project ideas
-        List<Map<String, Object>> projectsRaw = (List<Map<String, Object>>) response.get("project_ideas");
-        if (projectsRaw != null) {
-            result.setProjectIdeas(projectsRaw.stream().map(this::parseProjectIdea).collect(Collectors.toList()));
-        } else {
-            result.setProjectIdeas(new ArrayList<>());
+        if (!remaining.isEmpty()) {
+            log.warn("ML service produced no recommendations for {} of {} users", remaining.size(),
+                    profiles.size());
         }
+        return results;
+    }
 
-        // Parse technologies
-        List<Map<String, Object>> techRaw = (List<Map<String, Object>>) response.get("technologies");
-        if (techRaw != null) {
-            result.setTechnologies(techRaw.stream().map(this::parseTechnology).collect(Collectors.toList()));
-        } else {
-            result.setTechnologies(new ArrayList<>());
+    private Map<UUID, RecommendationResponse> recommendEmbeddedBatch(Collection<User> users,
+            Map<UUID, List<RepositoryEntity>> reposByUser) {
+        Map<UUID, RecommendationResponse> results = new HashMap<>();
+        for (User user : users) {
+            SkillFeatures features = SkillFeatureBuilder.isCurrent(user.getSkillFeatures()) ? user.getSkillFeatures()
+                    : reposByUser.containsKey(user.getId()) ? toFeatures(reposByUser.get(user.getId())) : null;
+            if (features != null) {
+                RecommendationResponse recommendations = recommendEmbedded(user, features, RecommendationSection.ALL);
+                if (!recommendations.isFallback()) {
+                    results.put(user.getId(), recommendations);
+                }
+            }
         }
+        return results;
+    }
 
-        // Parse learning resources
-        List<Map<String, Object>> resourcesRaw = (List<Map<String, Object>>) response.get("learning_resources");
-        if (resourcesRaw != null) {
-            result.setLearningResources(
-                    resourcesRaw.stream().map(this::parseLearningResource).collect(Collectors.toList()));
-        } else {
-            result.setLearningResources(new ArrayList<>());
+    /**
+     * Split users into batches bounded by user count and total repositories.
+     * A user with more repositories than the bound gets a batch of their own;
+     * a user sent as features counts as one repository.
+     */
+    private List<List<UUID>> chunk(Collection<UUID> userIds, Map<UUID, Integer> weights) {
+        List<List<UUID>> batches = new ArrayList<>();
+        List<UUID> current = new ArrayList<>();
+        int currentRepos = 0;
+        for (UUID userId : userIds) {
+            int repoCount = weights.get(userId);
+            if (!current.isEmpty()
+                    && (current.size() >= batchMaxUsers || currentRepos + repoCount > batchMaxRepos)) {
+                batches.add(current);
+                current = new ArrayList<>();
+                currentRepos = 0;
+            }
+            current.add(userId);
+            currentRepos += repoCount;
         }
-
-        // Parse skill analysis
-        Map<String, Object> skillAnalysisRaw = (Map<String, Object>) response.get("skill_analysis");
-        result.setSkillAnalysis(parseSkillAnalysis(skillAnalysisRaw));
-
-        // Parse repo improvements
-        List<Map<String, Object>> repoImprovementsRaw = (List<Map<String, Object>>) response.get("repo_improvements");
-        if (repoImprovementsRaw != null) {
-            result.setRepoImprovements(
-                    repoImprovementsRaw.stream().map(this::parseRepoImprovement).collect(Collectors.toList()));
-        } else {
-            result.setRepoImprovements(new ArrayList<>());
+        if (!current.isEmpty()) {
+            batches.add(current);
         }
-
-        // Parse profile stats
-        Map<String, Object> statsRaw = (Map<String, Object>) response.get("profile_stats");
-        result.setProfileStats(parseProfileStats(statsRaw));
-
-        return result;
+        return batches;
     }
 
-    private CareerPath parseCareerPath(Map<String, Object> raw) {
-        CareerPath cp = new CareerPath();
-        cp.setTitle((String) raw.get("title"));
-        cp.setScore(parseDouble(raw.get("score")));
-        cp.setConfidence(parseDouble(raw.get("confidence")));
-        cp.setDescription((String) raw.get("description"));
-        cp.setMatchedSkills(parseStringList(raw.get("matched_skills")));
-        cp.setSalaryRange((String) raw.get("salary_range"));
-        cp.setDemand((String) raw.get("demand"));
-        return cp;
-    }
+    /**
+     * Send one batch. Failures are logged and yield no results, leaving the
+     * batch's users to be retried.
+     */
+    private Map<UUID, RecommendationResponse> callBatch(List<UUID> userIds,
+            Map<UUID, Map<String, Object>> payloads) {
+        try {
+            List<Map<String, Object>> profiles = new ArrayList<>();
+            List<Map<String, Object>> featureProfiles = new ArrayList<>();
+            for (UUID userId : userIds) {
+                Map<String, Object> payload = payloads.get(userId);
+                (payload.containsKey("repos") ? profiles : featureProfiles).add(payload);
+            }
 
-    private SkillGap parseSkillGap(Map<String, Object> raw) {
-        SkillGap sg = new SkillGap();
-        sg.setCareer((String) raw.get("career"));
-        sg.setMissingSkills(parseStringList(raw.get("missing_skills")));
-        sg.setNiceToHave(parseStringList(raw.get("nice_to_have")));
-        sg.setPriority((String) raw.get("priority"));
-        sg.setCompletionPercentage(parseInteger(raw.get("completion_percentage")));
-        return sg;
-    }
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            HttpEntity<Map<String, Object>> request = new HttpEntity<>(
+                    Map.of("profiles", profiles, "feature_profiles", featureProfiles), headers);
+
+            log.debug("Calling ML service batch for {} users", userIds.size());
+
+            Map<String, RecommendationResponse> byId = circuitBreaker.executeSupplier(() -> bulkhead.executeSupplier(
+                    () -> restTemplate.execute(
+                            mlServiceUrl + "/recommend/batch",
+                            HttpMethod.POST,
+                            restTemplate.httpEntityCallback(request),
+                            response -> responseReader.readBatch(response.getBody()))));
+
+            Map<UUID, RecommendationResponse> results = new HashMap<>();
+            for (UUID userId : userIds) {
+                RecommendationResponse recommendations = byId != null ? byId.get(userId.toString()) : null;
+                if (recommendations != null) {
+                    results.put(userId, recommendations);
+                }
+            }
+            return results;
 
-    private ProjectIdea parseProjectIdea(Map<String, Object> raw) {
-        ProjectIdea pi = new ProjectIdea();
-        pi.setTitle((String) raw.get("title"));
-        pi.setSkills(parseStringList(raw.get("skills")));
-        pi.setDifficulty((String) raw.get("difficulty"));
-        pi.setDescription((String) raw.get("description"));
-        pi.setEstimatedTime((String) raw.get("estimated_time"));
-        pi.setLearningGoals(parseStringList(raw.get("learning_goals")));
-        pi.setSkillsYouHave(parseStringList(raw.get("skills_you_have")));
-        pi.setSkillsToLearn(parseStringList(raw.get("skills_to_learn")));
-        pi.setMatchPercentage(parseInteger(raw.get("match_percentage")));
-        pi.setReason((String) raw.get("reason"));
-        return pi;
+        } catch (CallNotPermittedException e) {
+            log.warn("ML service circuit is open, skipping batch of {} users", userIds.size());
+        } catch (BulkheadFullException e) {
+            log.warn("Too many concurrent ML service calls, skipping batch of {} users", userIds.size());
+        } catch (Exception e) {
+            log.error("ML service batch of {} users failed: {}", userIds.size(), e.getMessage());
+        }
+        return Map.of();
     }
 
-    private Technology parseTechnology(Map<String, Object> raw) {
-        Technology t = new Technology();
-        t.setTechnology((String) raw.get("technology"));
-        t.setCategory((String) raw.get("category"));
-        t.setDifficulty((String) raw.get("difficulty"));
-        t.setLearningTime((String) raw.get("learning_time"));
-        t.setJobRelevance((String) raw.get("job_relevance"));
-        t.setPrerequisitesMet(parseStringList(raw.get("prerequisites_met")));
-        t.setReason((String) raw.get("reason"));
-        return t;
+    @PreDestroy
+    void shutdown() {
+        batchExecutor.shutdownNow();
     }
 
-    private LearningResource parseLearningResource(Map<String, Object> raw) {
-        LearningResource lr = new LearningResource();
-        lr.setTitle((String) raw.get("title"));
-        lr.setProvider((String) raw.get("provider"));
-        lr.setSkills(parseStringList(raw.get("skills")));
-        lr.setDifficulty((String) raw.get("difficulty"));
-        lr.setDuration((String) raw.get("duration"));
-        lr.setUrl((String) raw.get("url"));
-        lr.setType((String) raw.get("type"));
-        lr.setRelevantSkills(parseStringList(raw.get("relevant_skills")));
-        lr.setRelevanceScore(parseInteger(raw.get("relevance_score")));
-        return lr;
+    /**
+     * Build the request payload for the ML service.
+     */
+    private Map<String, Object> buildPayload(User user, List<RepositoryEntity> repos) {
+        return buildPayload(user.getId(), repos);
     }
 
-    @SuppressWarnings("unchecked")
-    private SkillAnalysis parseSkillAnalysis(Map<String, Object> raw) {
-        SkillAnalysis sa = new SkillAnalysis();
-        if (raw == null) {
-            sa.setStrengths(new ArrayList<>());
-            sa.setWeaknesses(new ArrayList<>());
-            sa.setSkills(new ArrayList<>());
-            return sa;
-        }
-
-        // Parse strengths
-        List<Map<String, Object>> strengthsRaw = (List<Map<String, Object>>) raw.get("strengths");
-        if (strengthsRaw != null) {
-            sa.setStrengths(strengthsRaw.stream().map(s -> {
-                Strength str = new Strength();
-                str.setSkill((String) s.get("skill"));
-                str.setScore(parseDouble(s.get("score")));
-                str.setReposCount(parseInteger(s.get("repos_count")));
-                str.setCategory((String) s.get("category"));
-                return str;
-            }).collect(Collectors.toList()));
-        } else {
-            sa.setStrengths(new ArrayList<>());
-        }
-
-        // Parse weaknesses
-        List<Map<String, Object>> weaknessesRaw = (List<Map<String, Object>>) raw.get("weaknesses");
-        if (weaknessesRaw != null) {
-            sa.setWeaknesses(weaknessesRaw.stream().map(w -> {
-                Weakness wk = new Weakness();
-                wk.setSkill((String) w.get("skill"));
-                wk.setReason((String) w.get("reason"));
-                wk.setSuggestion((String) w.get("suggestion"));
-                return wk;
-            }).collect(Collectors.toList()));
-        } else {
-            sa.setWeaknesses(new ArrayList<>());
-        }
-
-        // Parse all skills
-        List<Map<String, Object>> skillsRaw = (List<Map<String, Object>>) raw.get("skills");
-        if (skillsRaw != null) {
-            sa.setSkills(skillsRaw.stream().map(s -> {
-                SkillInfo si = new SkillInfo();
-                si.setSkill((String) s.get("skill"));
-                si.setProficiency(parseInteger(s.get("proficiency")));
-                si.setReposCount(parseInteger(s.get("repos_count")));
-                si.setCategory((String) s.get("category"));
-                return si;
-            }).collect(Collectors.toList()));
-        } else {
-            sa.setSkills(new ArrayList<>());
-        }
-
-        return sa;
-    }
+    private Map<String, Object> buildPayload(UUID userId, List<RepositoryEntity> repos) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("user_id", userId.toString());
 
-    @SuppressWarnings("unchecked")
-    private RepoImprovement parseRepoImprovement(Map<String, Object> raw) {
-        RepoImprovement ri = new RepoImprovement();
-        ri.setRepo((String) raw.get("repo"));
-        ri.setCurrentStars(parseInteger(raw.get("current_stars")));
-        ri.setImprovements((List<Map<String, String>>) raw.get("improvements"));
-        return ri;
-    }
+        List<Map<String, Object>> repoList = repos.stream().map(repo -> {
+            Map<String, Object> r = new HashMap<>();
+            r.put("name", repo.getFullName() != null ? repo.getFullName() : "");
+            r.put("description", repo.getDescription() != null ? repo.getDescription() : "");
+            r.put("languages", repo.getLanguages() != null ? repo.getLanguages() : new HashMap<>());
+            r.put("topics", repo.getTopics() != null ? repo.getTopics() : List.of());
+            r.put("stars", repo.getStars() != null ? repo.getStars() : 0);
+            r.put("forks", repo.getForks() != null ? repo.getForks() : 0);
+            return r;
+        }).collect(Collectors.toList());
 
-    private ProfileStats parseProfileStats(Map<String, Object> raw) {
-        ProfileStats ps = new ProfileStats();
-        if (raw == null)
-            return ps;
-
-        ps.setLanguageDiversity(parseInteger(raw.get("language_diversity")));
-        ps.setTopicDiversity(parseInteger(raw.get("topic_diversity")));
-        ps.setTotalRepos(parseInteger(raw.get("total_repos")));
-        ps.setTotalStars(parseInteger(raw.get("total_stars")));
-        ps.setAvgLanguagesPerRepo(parseDouble(raw.get("avg_languages_per_repo")));
-        return ps;
+        payload.put("repos", repoList);
+        return payload;
     }
 
-    // Helper methods for safe type conversion
-    private Double parseDouble(Object value) {
-        if (value == null)
-            return 0.0;
-        if (value instanceof Number)
-            return ((Number) value).doubleValue();
-        try {
-            return Double.parseDouble(value.toString());
-        } catch (NumberFormatException e) {
-            return 0.0;
+    /**
+     * Ask the ML service for only {@code sections}; without the field it
+     * computes everything.
+     */
+    private static Map<String, Object> withSections(Map<String, Object> payload,
+            Set<RecommendationSection> sections) {
+        if (!sections.containsAll(RecommendationSection.ALL)) {
+            payload.put("sections", sections.stream().map(RecommendationSection::getMlName).toList());
         }
+        return payload;
     }
 
-    private Integer parseInteger(Object value) {
-        if (value == null)
-            return 0;
-        if (value instanceof Number)
-            return ((Number) value).intValue();
-        try {
-            return Integer.parseInt(value.toString());
-        } catch (NumberFormatException e) {
-            return 0;
-        }
-    }
+    /**
+     * Build the {@code /recommend/features} payload; keys follow the ML
+     * service's snake_case.
+     */
+    private Map<String, Object> buildFeaturePayload(UUID userId, SkillFeatures features) {
+        Map<String, Object> languages = new HashMap<>();
+        features.getLanguages().forEach((name, stats) -> languages.put(name, Map.of(
+                "bytes", stats.getBytes(),
+                "repos_count", stats.getReposCount(),
+                "score", stats.getScore())));
+
+        Map<String, Object> topics = new HashMap<>();
+        features.getTopics().forEach((name, stats) -> topics.put(name, Map.of(
+                "repos_count", stats.getReposCount(),
+                "score", stats.getScore())));
+
+        List<Map<String, Object>> hints = features.getRepoHints().stream()
+                .map(hint -> Map.<String, Object>of(
+                        "name", hint.getName() != null ? hint.getName() : "",
+                        "description_length", hint.getDescriptionLength(),
+                        "topic_count", hint.getTopicCount(),
+                        "language_count", hint.getLanguageCount(),
+                        "testing_topic", hint.isTestingTopic(),
+                        "stars", hint.getStars()))
+                .collect(Collectors.toList());
 
-    @SuppressWarnings("unchecked")
-    private List<String> parseStringList(Object value) {
-        if (value == null)
-            return new ArrayList<>();
-        if (value instanceof List) {
-            return ((List<?>) value).stream()
-                    .map(Object::toString)
-                    .collect(Collectors.toList());
-        }
-        return new ArrayList<>();
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("user_id", userId.toString());
+        payload.put("total_repos", features.getTotalRepos());
+        payload.put("total_stars", features.getTotalStars());
+        payload.put("languages", languages);
+        payload.put("topics", topics);
+        payload.put("repo_hints", hints);
+        return payload;
     }
 
     /**
@@ -375,6 +423,7 @@ public class MLClient {
 
         fallback.setRepoImprovements(new ArrayList<>());
         fallback.setProfileStats(new ProfileStats());
+        fallback.setFallback(true);
 
         return fallback;
     }
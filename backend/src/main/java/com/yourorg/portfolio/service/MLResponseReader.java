@@ -0,0 +1,260 @@
+package com.yourorg.portfolio.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.deser.DeserializationProblemHandler;
+import com.fasterxml.jackson.databind.deser.ValueInstantiator;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.yourorg.portfolio.dto.RecommendationDto.*;
+import com.yourorg.portfolio.dto.RecommendationSection;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Binds ML service responses straight onto the {@code RecommendationDto}
+ * classes in one streaming pass.
+ *
+ * The ML service speaks snake_case. Binding is lenient: a number that cannot
+ * be read becomes 0, a list field holding something other than an array
+ * becomes empty, and a string field holding an object becomes null. After
+ * binding, missing numbers are set to 0 and missing lists to empty, matching
+ * what callers have always received.
+ *
+ * Batch responses ({@code /recommend/batch}) are read per user; users whose
+ * entry carries an error instead of recommendations are left out.
+ */
+@Component
+public class MLResponseReader {
+
+    private final ObjectReader reader;
+    private final ObjectReader batchReader;
+
+    public MLResponseReader() {
+        JsonMapper mapper = JsonMapper.builder()
+                .propertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .addHandler(new LenientHandler())
+                .build();
+        this.reader = mapper.readerFor(RecommendationResponse.class);
+        this.batchReader = mapper.readerFor(BatchResponse.class);
+    }
+
+    /**
+     * Read a response for {@code sections}; any other section in the body is
+     * dropped, so it is never mistaken for a computed one.
+     */
+    public RecommendationResponse read(InputStream body, Set<RecommendationSection> sections) throws IOException {
+        RecommendationResponse response = reader.readValue(body);
+        if (response == null) {
+            throw new IllegalStateException("ML service returned null response");
+        }
+        applyDefaults(response);
+        for (RecommendationSection section : RecommendationSection.values()) {
+            if (!sections.contains(section)) {
+                section.clear(response);
+            }
+        }
+        return response;
+    }
+
+    /**
+     * @return recommendations keyed by the {@code user_id} sent in the batch
+     */
+    public Map<String, RecommendationResponse> readBatch(InputStream body) throws IOException {
+        BatchResponse batch = batchReader.readValue(body);
+        Map<String, RecommendationResponse> results = new HashMap<>();
+        if (batch == null || batch.getResults() == null) {
+            return results;
+        }
+        for (BatchResult result : batch.getResults()) {
+            if (result == null || result.getUserId() == null || result.getRecommendations() == null) {
+                continue;
+            }
+            applyDefaults(result.getRecommendations());
+            results.put(result.getUserId(), result.getRecommendations());
+        }
+        return results;
+    }
+
+    private static void applyDefaults(RecommendationResponse r) {
+        r.setCareerPaths(each(r.getCareerPaths(), cp -> {
+            cp.setScore(orZero(cp.getScore()));
+            cp.setConfidence(orZero(cp.getConfidence()));
+            cp.setMatchedSkills(orEmpty(cp.getMatchedSkills()));
+        }));
+        r.setSkillGaps(each(r.getSkillGaps(), sg -> {
+            sg.setMissingSkills(orEmpty(sg.getMissingSkills()));
+            sg.setNiceToHave(orEmpty(sg.getNiceToHave()));
+            sg.setCompletionPercentage(orZero(sg.getCompletionPercentage()));
+        }));
+        r.setProjectIdeas(each(r.getProjectIdeas(), pi -> {
+            pi.setSkills(orEmpty(pi.getSkills()));
+            pi.setLearningGoals(orEmpty(pi.getLearningGoals()));
+            pi.setSkillsYouHave(orEmpty(pi.getSkillsYouHave()));
+            pi.setSkillsToLearn(orEmpty(pi.getSkillsToLearn()));
+            pi.setMatchPercentage(orZero(pi.getMatchPercentage()));
+        }));
+        r.setTechnologies(each(r.getTechnologies(),
+                t -> t.setPrerequisitesMet(orEmpty(t.getPrerequisitesMet()))));
+        r.setLearningResources(each(r.getLearningResources(), lr -> {
+            lr.setSkills(orEmpty(lr.getSkills()));
+            lr.setRelevantSkills(orEmpty(lr.getRelevantSkills()));
+            lr.setRelevanceScore(orZero(lr.getRelevanceScore()));
+        }));
+        r.setRepoImprovements(each(r.getRepoImprovements(),
+                ri -> ri.setCurrentStars(orZero(ri.getCurrentStars()))));
+
+        SkillAnalysis sa = r.getSkillAnalysis() != null ? r.getSkillAnalysis() : new SkillAnalysis();
+        sa.setStrengths(each(sa.getStrengths(), s -> {
+            s.setScore(orZero(s.getScore()));
+            s.setReposCount(orZero(s.getReposCount()));
+        }));
+        sa.setWeaknesses(each(sa.getWeaknesses(), w -> {
+        }));
+        sa.setSkills(each(sa.getSkills(), s -> {
+            s.setProficiency(orZero(s.getProficiency()));
+            s.setReposCount(orZero(s.getReposCount()));
+        }));
+        r.setSkillAnalysis(sa);
+
+        // An absent profile_stats block has always come back as an empty object
+        ProfileStats ps = r.getProfileStats();
+        if (ps == null) {
+            r.setProfileStats(new ProfileStats());
+        } else {
+            ps.setLanguageDiversity(orZero(ps.getLanguageDiversity()));
+            ps.setTopicDiversity(orZero(ps.getTopicDiversity()));
+            ps.setTotalRepos(orZero(ps.getTotalRepos()));
+            ps.setTotalStars(orZero(ps.getTotalStars()));
+            ps.setAvgLanguagesPerRepo(orZero(ps.getAvgLanguagesPerRepo()));
+        }
+    }
+
+    private static <T> List<T> each(List<T> items, Consumer<T> defaults) {
+        if (items == null) {
+            return new ArrayList<>();
+        }
+        items.removeIf(Objects::isNull);
+        items.forEach(defaults);
+        return items;
+    }
+
+    private static List<String> orEmpty(List<String> values) {
+        if (values == null) {
+            return new ArrayList<>();
+        }
+        values.removeIf(Objects::isNull);
+        return values;
+    }
+
+    private static Integer orZero(Integer value) {
+        return value != null ? value : 0;
+    }
+
+    private static Double orZero(Double value) {
+        return value != null ? value : 0.0;
+    }
+
+    static final class BatchResponse {
+        private List<BatchResult> results;
+
+        public List<BatchResult> getResults() {
+            return results;
+        }
+
+        public void setResults(List<BatchResult> results) {
+            this.results = results;
+        }
+    }
+
+    static final class BatchResult {
+        private String userId;
+        private RecommendationResponse recommendations;
+        private String error;
+
+        public String getUserId() {
+            return userId;
+        }
+
+        public void setUserId(String userId) {
+            this.userId = userId;
+        }
+
+        public RecommendationResponse getRecommendations() {
+            return recommendations;
+        }
+
+        public void setRecommendations(RecommendationResponse recommendations) {
+            this.recommendations = recommendations;
+        }
+
+        public String getError() {
+            return error;
+        }
+
+        public void setError(String error) {
+            this.error = error;
+        }
+    }
+
+    /**
+     * Turns type mismatches into the defaults instead of failing the whole
+     * response.
+     */
+    private static final class LenientHandler extends DeserializationProblemHandler {
+
+        @Override
+        public Object handleUnexpectedToken(DeserializationContext ctxt, JavaType targetType, JsonToken t,
+                JsonParser p, String failureMsg) throws IOException {
+            p.skipChildren();
+            return defaultFor(targetType.getRawClass());
+        }
+
+        @Override
+        public Object handleMissingInstantiator(DeserializationContext ctxt, Class<?> instClass,
+                ValueInstantiator valueInsta, JsonParser p, String msg) throws IOException {
+            p.skipChildren();
+            return defaultFor(instClass);
+        }
+
+        @Override
+        public Object handleWeirdStringValue(DeserializationContext ctxt, Class<?> targetType, String valueToConvert,
+                String failureMsg) {
+            return defaultFor(targetType);
+        }
+
+        @Override
+        public Object handleWeirdNumberValue(DeserializationContext ctxt, Class<?> targetType, Number valueToConvert,
+                String failureMsg) {
+            return defaultFor(targetType);
+        }
+
+        private static Object defaultFor(Class<?> type) {
+            if (type == Integer.class || type == int.class) {
+                return 0;
+            }
+            if (type == Double.class || type == double.class) {
+                return 0.0;
+            }
+            if (Collection.class.isAssignableFrom(type)) {
+                return new ArrayList<>();
+            }
+            return null;
+        }
+    }
+}
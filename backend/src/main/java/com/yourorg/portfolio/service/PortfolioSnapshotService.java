@@ -0,0 +1,233 @@
+package com.yourorg.portfolio.service;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.encoder.Encoder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yourorg.portfolio.dto.PublicSkillView;
+import com.yourorg.portfolio.repository.UserRepository;
+import com.yourorg.portfolio.repository.UserRepository.PortfolioVersion;
+import com.yourorg.portfolio.repository.UserSkillRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Public portfolio documents, serialized and compressed with gzip and brotli
+ * once per change and stored in Redis under {@code portfolio:snapshot:v{format}:{username}}, so
+ * anonymous reads are served as stored bytes without JPA or Jackson.
+ *
+ * A sync rebuilds its user's snapshot after commit and a login with a new
+ * username or avatar drops it; a request that finds none builds it from the
+ * database.
+ *
+ * Brotli needs the native library bundled with brotli4j; on a platform it
+ * doesn't load on, snapshots are stored without a brotli encoding and served
+ * gzipped.
+ */
+@Service
+public class PortfolioSnapshotService {
+
+    private static final Logger log = LoggerFactory.getLogger(PortfolioSnapshotService.class);
+
+    /** Bump whenever the document changes shape, so old snapshots stop being served. */
+    private static final int FORMAT_VERSION = 1;
+    private static final String KEY_PREFIX = "portfolio:snapshot:v" + FORMAT_VERSION + ":";
+
+    private static final byte[] VERSION = bytes("version");
+    private static final byte[] ETAG = bytes("etag");
+    private static final byte[] IDENTITY = bytes("identity");
+    private static final byte[] GZIP = bytes("gzip");
+    private static final byte[] BROTLI = bytes("br");
+    private static final byte[] NO_ENCODING = new byte[0];
+
+    /** Compressed once per change and served many times, so spend the time on ratio. */
+    private static final Encoder.Parameters BROTLI_PARAMETERS = new Encoder.Parameters().setQuality(11);
+
+    /**
+     * Replace the snapshot unless the stored one is from a later sync, so a
+     * slow rebuild after a cache miss cannot overwrite a newer document.
+     * ARGV: version, etag, identity, gzip, br, ttl millis.
+     */
+    private static final byte[] PUT = bytes(
+            "local stored = redis.call('hget', KEYS[1], 'version') "
+                    + "if stored and tonumber(stored) > tonumber(ARGV[1]) then return 0 end "
+                    + "redis.call('hset', KEYS[1], 'version', ARGV[1], 'etag', ARGV[2], "
+                    + "'identity', ARGV[3], 'gzip', ARGV[4], 'br', ARGV[5]) "
+                    + "redis.call('pexpire', KEYS[1], ARGV[6]) "
+                    + "return 1");
+
+    private final StringRedisTemplate redis;
+    private final UserRepository userRepository;
+    private final UserSkillRepository userSkillRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${portfolio.snapshot.ttl:7d}")
+    private Duration ttl;
+
+    static {
+        if (!Brotli4jLoader.isAvailable()) {
+            log.warn("Brotli unavailable, portfolios are served gzipped only: {}",
+                    Brotli4jLoader.getUnavailabilityCause().getMessage());
+        }
+    }
+
+    public PortfolioSnapshotService(StringRedisTemplate redis, UserRepository userRepository,
+            UserSkillRepository userSkillRepository, ObjectMapper objectMapper) {
+        this.redis = redis;
+        this.userRepository = userRepository;
+        this.userSkillRepository = userSkillRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * A serialized portfolio.
+     *
+     * @param etag         strong entity tag of the document, without quotes
+     * @param lastModified the owner's last sync in epoch millis, or -1 if never synced
+     * @param identity     the JSON document
+     * @param gzip         the same document, gzip encoded
+     * @param brotli       the same document, brotli encoded, or empty if brotli is unavailable
+     */
+    public record Snapshot(String etag, long lastModified, byte[] identity, byte[] gzip, byte[] brotli) {
+    }
+
+    /**
+     * The stored snapshot, building and storing it on a miss.
+     *
+     * @return null if there is no such user
+     */
+    public Snapshot get(String username) {
+        Snapshot stored = read(username);
+        return stored != null ? stored : build(username);
+    }
+
+    /**
+     * Rebuild the snapshot from the database, e.g. once a sync committed.
+     */
+    public void refresh(String username) {
+        try {
+            build(username);
+        } catch (Exception e) {
+            // The next request rebuilds it instead
+            log.warn("Failed to refresh portfolio snapshot for {}: {}", username, e.getMessage());
+        }
+    }
+
+    public void evict(String username) {
+        try {
+            redis.delete(KEY_PREFIX + username);
+        } catch (Exception e) {
+            log.warn("Failed to evict portfolio snapshot for {}: {}", username, e.getMessage());
+        }
+    }
+
+    private Snapshot read(String username) {
+        try {
+            byte[] key = bytes(KEY_PREFIX + username);
+            List<byte[]> values = redis.execute((RedisCallback<List<byte[]>>) connection -> connection
+                    .hashCommands().hMGet(key, VERSION, ETAG, IDENTITY, GZIP, BROTLI));
+            if (values == null || values.contains(null)) {
+                return null;
+            }
+            long version = Long.parseLong(new String(values.get(0), StandardCharsets.UTF_8));
+            return new Snapshot(new String(values.get(1), StandardCharsets.UTF_8), version > 0 ? version : -1,
+                    values.get(2), values.get(3), values.get(4));
+        } catch (Exception e) {
+            // A broken cache must not break portfolios
+            log.warn("Failed to read portfolio snapshot for {}: {}", username, e.getMessage());
+            return null;
+        }
+    }
+
+    private Snapshot build(String username) {
+        PortfolioVersion user = userRepository.findPortfolioVersionByUsername(username).orElse(null);
+        if (user == null) {
+            return null;
+        }
+        List<PublicSkillView> skills = userSkillRepository.findPublicViewsByUserId(user.getId());
+
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("username", user.getUsername());
+        document.put("avatarUrl", user.getAvatarUrl());
+        document.put("skills", skills);
+
+        byte[] identity;
+        try {
+            identity = objectMapper.writeValueAsBytes(document);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to serialize portfolio for " + username, e);
+        }
+        long version = user.getLastSync() != null ? user.getLastSync().toEpochMilli() : 0;
+        Snapshot snapshot = new Snapshot(etag(identity), version > 0 ? version : -1, identity, gzip(identity),
+                brotli(identity));
+        store(username, version, snapshot);
+        return snapshot;
+    }
+
+    private void store(String username, long version, Snapshot snapshot) {
+        try {
+            byte[] key = bytes(KEY_PREFIX + username);
+            redis.execute((RedisCallback<Long>) connection -> connection.scriptingCommands().eval(
+                    PUT, ReturnType.INTEGER, 1, key, bytes(String.valueOf(version)), bytes(snapshot.etag()),
+                    snapshot.identity(), snapshot.gzip(), snapshot.brotli(),
+                    bytes(String.valueOf(ttl.toMillis()))));
+        } catch (Exception e) {
+            log.warn("Failed to store portfolio snapshot for {}: {}", username, e.getMessage());
+        }
+    }
+
+    /**
+     * Hash of the serialized document, so the tag changes exactly when the
+     * bytes served do, whatever changed them.
+     */
+    private static String etag(byte[] identity) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(identity);
+            return HexFormat.of().formatHex(hash, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to gzip portfolio", e);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] brotli(byte[] data) {
+        if (!Brotli4jLoader.isAvailable()) {
+            return NO_ENCODING;
+        }
+        try {
+            return Encoder.compress(data, BROTLI_PARAMETERS);
+        } catch (IOException e) {
+            log.warn("Failed to brotli-encode portfolio: {}", e.getMessage());
+            return NO_ENCODING;
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
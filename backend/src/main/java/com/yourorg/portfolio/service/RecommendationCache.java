@@ -0,0 +1,280 @@
+package com.yourorg.portfolio.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yourorg.portfolio.dto.RecommendationDto.RecommendationResponse;
+import com.yourorg.portfolio.dto.RecommendationSection;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Redis cache of {@link RecommendationResponse} per user.
+ *
+ * Each entry lives in the hash {@code recommendations:{userId}} together with
+ * the repository fingerprint it was computed from, so an entry is only served
+ * while the user's repositories are unchanged. Every
+ * {@link RecommendationSection} is its own field, so a request for a few
+ * sections reads and fills only those. Each section records when it was
+ * computed in a {@code <section>:at} field and is only served for
+ * {@code recommendations.cache.ttl} after that, however often other sections
+ * are stored and extend the hash's expiry. A sync replaces them through the
+ * {@link RecommendationPrecomputer}.
+ *
+ * Every complete response is also kept as the user's last known good response
+ * under {@code recommendations:lkg:{userId}}. That copy survives eviction and
+ * is served when the ML service is unavailable.
+ *
+ * Each sync starts a new generation of the user's results
+ * ({@code recommendations:gen:{userId}}). Results computed ahead of a request
+ * are stored with {@link #putIfCurrent}, which drops them if a newer
+ * generation was started or another fingerprint's results are stored by the
+ * time they arrive.
+ */
+@Component
+public class RecommendationCache {
+
+    private static final Logger log = LoggerFactory.getLogger(RecommendationCache.class);
+    private static final String KEY_PREFIX = "recommendations:";
+    private static final String LAST_KNOWN_GOOD_PREFIX = "recommendations:lkg:";
+
+    private static final String GENERATION_PREFIX = "recommendations:gen:";
+
+    /**
+     * Store section fields; a different fingerprint first drops every section
+     * computed from the old repositories. With an expected generation, nothing
+     * is stored unless it is still the user's generation and no other
+     * fingerprint's sections are stored.
+     * KEYS: entry, generation, last known good.
+     * ARGV: fingerprint, expected generation or empty, computedAt stamped on
+     * each stored section, ttl millis, last known good payload or empty, its
+     * ttl millis, then section field/value pairs.
+     */
+    private static final RedisScript<Long> PUT = new DefaultRedisScript<>(
+            "local stored = redis.call('hget', KEYS[1], 'fingerprint') "
+                    + "if ARGV[2] ~= '' then "
+                    + "if (redis.call('get', KEYS[2]) or '0') ~= ARGV[2] then return 0 end "
+                    + "if stored and stored ~= ARGV[1] then return 0 end end "
+                    + "if stored ~= ARGV[1] then "
+                    + "redis.call('del', KEYS[1]) "
+                    + "redis.call('hset', KEYS[1], 'fingerprint', ARGV[1]) end "
+                    + "for i = 7, #ARGV, 2 do "
+                    + "redis.call('hset', KEYS[1], ARGV[i], ARGV[i + 1], ARGV[i] .. ':at', ARGV[3]) end "
+                    + "redis.call('pexpire', KEYS[1], ARGV[4]) "
+                    + "if ARGV[5] ~= '' then redis.call('set', KEYS[3], ARGV[5], 'PX', ARGV[6]) end "
+                    + "return 1",
+            Long.class);
+
+    private final StringRedisTemplate redis;
+    private final ObjectMapper objectMapper;
+    private final Counter hits;
+    private final Counter misses;
+    private final Timer staleness;
+
+    @Value("${recommendations.cache.ttl:6h}")
+    private Duration ttl;
+
+    @Value("${recommendations.cache.last-known-good-ttl:30d}")
+    private Duration lastKnownGoodTtl;
+
+    public RecommendationCache(StringRedisTemplate redis, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.redis = redis;
+        this.objectMapper = objectMapper;
+        this.hits = meterRegistry.counter("recommendations.cache", "result", "hit");
+        this.misses = meterRegistry.counter("recommendations.cache", "result", "miss");
+        this.staleness = Timer.builder("recommendations.staleness")
+                .description("Age of the stored recommendations served on a cache hit")
+                .register(meterRegistry);
+    }
+
+    public RecommendationResponse get(UUID userId, String fingerprint, Set<RecommendationSection> sections) {
+        try {
+            List<Object> values = redis.opsForHash().multiGet(KEY_PREFIX + userId, fields(sections));
+            Instant computedAt = fingerprint.equals(values.get(0)) ? oldestFreshSection(values) : null;
+            if (computedAt != null) {
+                RecommendationResponse cached = new RecommendationResponse();
+                int i = 1;
+                for (RecommendationSection section : sections) {
+                    section.copy(objectMapper.readValue((String) values.get(i), RecommendationResponse.class),
+                            cached);
+                    i += 2;
+                }
+                hits.increment();
+                staleness.record(Duration.between(computedAt, Instant.now()));
+                return cached;
+            }
+        } catch (Exception e) {
+            // A broken cache must not break recommendations
+            log.warn("Failed to read cached recommendations for user {}: {}", userId, e.getMessage());
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Store {@code sections} of {@code response}, keeping other sections
+     * already cached for the same fingerprint.
+     */
+    public void put(UUID userId, String fingerprint, RecommendationResponse response,
+            Set<RecommendationSection> sections) {
+        store(userId, fingerprint, "", response, sections);
+    }
+
+    /**
+     * Like {@link #put}, for results computed ahead of a request: they are
+     * dropped if {@link #nextGeneration} was called for the user since
+     * {@code generation} was read, or if results for another fingerprint are
+     * stored, so they only ever fill a miss or refresh the same repositories.
+     *
+     * @return whether the results were stored
+     */
+    public boolean putIfCurrent(UUID userId, String fingerprint, long generation, RecommendationResponse response,
+            Set<RecommendationSection> sections) {
+        return store(userId, fingerprint, Long.toString(generation), response, sections);
+    }
+
+    private boolean store(UUID userId, String fingerprint, String generation, RecommendationResponse response,
+            Set<RecommendationSection> sections) {
+        try {
+            List<String> args = new ArrayList<>();
+            args.add(fingerprint);
+            args.add(generation);
+            args.add(Instant.now().toString());
+            args.add(String.valueOf(ttl.toMillis()));
+            args.add(sections.containsAll(RecommendationSection.ALL) ? objectMapper.writeValueAsString(response) : "");
+            args.add(String.valueOf(lastKnownGoodTtl.toMillis()));
+            for (RecommendationSection section : sections) {
+                args.add(section.getParamName());
+                args.add(objectMapper.writeValueAsString(RecommendationSection.project(response, Set.of(section))));
+            }
+            Long stored = redis.execute(PUT, List.of(KEY_PREFIX + userId, GENERATION_PREFIX + userId,
+                    LAST_KNOWN_GOOD_PREFIX + userId), args.toArray());
+            return stored != null && stored == 1;
+        } catch (JsonProcessingException e) {
+            log.warn("Failed to serialize recommendations for user {}: {}", userId, e.getMessage());
+        } catch (Exception e) {
+            log.warn("Failed to cache recommendations for user {}: {}", userId, e.getMessage());
+        }
+        return false;
+    }
+
+    /**
+     * Whether every section is stored for {@code fingerprint}, without
+     * reading them.
+     */
+    public boolean contains(UUID userId, String fingerprint) {
+        try {
+            List<Object> values = redis.opsForHash().multiGet(KEY_PREFIX + userId,
+                    fields(RecommendationSection.ALL));
+            return fingerprint.equals(values.get(0)) && oldestFreshSection(values) != null;
+        } catch (Exception e) {
+            log.warn("Failed to check cached recommendations for user {}: {}", userId, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * The user's most recent successful response, regardless of whether their
+     * repositories have changed since.
+     */
+    public RecommendationResponse getLastKnownGood(UUID userId) {
+        try {
+            String payload = redis.opsForValue().get(LAST_KNOWN_GOOD_PREFIX + userId);
+            return payload != null ? objectMapper.readValue(payload, RecommendationResponse.class) : null;
+        } catch (Exception e) {
+            log.warn("Failed to read last known good recommendations for user {}: {}", userId, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Start a new generation of the user's results, superseding any computed
+     * ahead of a request for an earlier one.
+     */
+    public long nextGeneration(UUID userId) {
+        String key = GENERATION_PREFIX + userId;
+        Long generation = redis.opsForValue().increment(key);
+        redis.expire(key, lastKnownGoodTtl);
+        return generation != null ? generation : 0;
+    }
+
+    public long generation(UUID userId) {
+        String generation = redis.opsForValue().get(GENERATION_PREFIX + userId);
+        return generation != null ? Long.parseLong(generation) : 0;
+    }
+
+    /**
+     * {@link #generation} for many users in one round trip.
+     */
+    public Map<UUID, Long> generations(Collection<UUID> userIds) {
+        List<UUID> ids = List.copyOf(userIds);
+        List<String> values = redis.opsForValue().multiGet(ids.stream().map(id -> GENERATION_PREFIX + id).toList());
+        Map<UUID, Long> generations = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            String value = values != null ? values.get(i) : null;
+            generations.put(ids.get(i), value != null ? Long.parseLong(value) : 0);
+        }
+        return generations;
+    }
+
+    public void evict(UUID userId) {
+        try {
+            redis.delete(KEY_PREFIX + userId);
+        } catch (Exception e) {
+            log.warn("Failed to evict cached recommendations for user {}: {}", userId, e.getMessage());
+        }
+    }
+
+    /**
+     * Hash fields to read: fingerprint, then each section and when it was
+     * computed, in iteration order.
+     */
+    private static Collection<Object> fields(Set<RecommendationSection> sections) {
+        List<Object> fields = new ArrayList<>();
+        fields.add("fingerprint");
+        sections.forEach(section -> {
+            fields.add(section.getParamName());
+            fields.add(section.getParamName() + ":at");
+        });
+        return fields;
+    }
+
+    /**
+     * When the oldest section read through {@link #fields} was computed, or
+     * null if any of them is missing or older than the TTL.
+     */
+    private Instant oldestFreshSection(List<Object> values) {
+        Instant cutoff = Instant.now().minus(ttl);
+        Instant oldest = Instant.MAX;
+        for (int i = 1; i < values.size(); i += 2) {
+            if (values.get(i) == null || values.get(i + 1) == null) {
+                return null;
+            }
+            Instant computedAt = Instant.parse((String) values.get(i + 1));
+            if (computedAt.isBefore(cutoff)) {
+                return null;
+            }
+            if (computedAt.isBefore(oldest)) {
+                oldest = computedAt;
+            }
+        }
+        return oldest;
+    }
+}
@@ -0,0 +1,138 @@
+package com.yourorg.portfolio.service;
+
+import com.yourorg.portfolio.model.User;
+import com.yourorg.portfolio.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Post-sync pipeline stage that computes a user's recommendations in the
+ * background, so the recommendation endpoints read a stored result instead
+ * of waiting on the ML service.
+ *
+ * Every request starts a new generation of the user's results in the
+ * {@link RecommendationCache}. A run whose generation is no longer the latest
+ * is dropped, and a result is only stored if no newer sync has been requested
+ * meanwhile, so an older precompute never overwrites a newer one. Failed runs
+ * are retried with exponential backoff.
+ */
+@Component
+public class RecommendationPrecomputer {
+
+    private static final Logger log = LoggerFactory.getLogger(RecommendationPrecomputer.class);
+
+    private final RecommendationService recommendationService;
+    private final UserRepository userRepository;
+    private final RecommendationCache cache;
+    private final MeterRegistry meterRegistry;
+    private final ScheduledExecutorService executor;
+
+    @Value("${recommendations.precompute.enabled:true}")
+    private boolean enabled;
+
+    @Value("${recommendations.precompute.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${recommendations.precompute.initial-backoff:10s}")
+    private Duration initialBackoff;
+
+    public RecommendationPrecomputer(RecommendationService recommendationService, UserRepository userRepository,
+            RecommendationCache cache, MeterRegistry meterRegistry,
+            @Value("${recommendations.precompute.threads:2}") int threads) {
+        this.recommendationService = recommendationService;
+        this.userRepository = userRepository;
+        this.cache = cache;
+        this.meterRegistry = meterRegistry;
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newScheduledThreadPool(threads, r -> {
+            Thread t = new Thread(r, "recommendation-precompute-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Queue a precompute for the user, superseding any still pending.
+     */
+    public void schedule(UUID userId) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            long generation = cache.nextGeneration(userId);
+            submit(new Task(userId, generation, Instant.now(), 1), Duration.ZERO);
+        } catch (Exception e) {
+            // Recommendations will be computed on the next request instead
+            log.warn("Failed to schedule recommendation precompute for user {}: {}", userId, e.getMessage());
+        }
+    }
+
+    private void submit(Task task, Duration delay) {
+        executor.schedule(() -> run(task), delay.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void run(Task task) {
+        if (isSuperseded(task)) {
+            count("superseded");
+            return;
+        }
+
+        boolean succeeded;
+        try {
+            Optional<User> user = userRepository.findById(task.userId());
+            if (user.isEmpty()) {
+                return;
+            }
+            succeeded = recommendationService.precompute(user.get(), task.generation());
+        } catch (Exception e) {
+            log.warn("Recommendation precompute for user {} failed: {}", task.userId(), e.getMessage());
+            succeeded = false;
+        }
+
+        if (succeeded) {
+            count("stored");
+            meterRegistry.timer("recommendations.precompute.lag")
+                    .record(Duration.between(task.requestedAt(), Instant.now()));
+            return;
+        }
+
+        if (task.attempt() >= maxAttempts) {
+            count("failed");
+            log.warn("Giving up on recommendation precompute for user {} after {} attempts",
+                    task.userId(), task.attempt());
+            return;
+        }
+        count("retried");
+        Duration backoff = initialBackoff.multipliedBy(1L << Math.min(task.attempt() - 1, 10));
+        submit(new Task(task.userId(), task.generation(), task.requestedAt(), task.attempt() + 1), backoff);
+    }
+
+    private boolean isSuperseded(Task task) {
+        return cache.generation(task.userId()) > task.generation();
+    }
+
+    private void count(String outcome) {
+        meterRegistry.counter("recommendations.precompute", "outcome", outcome).increment();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private record Task(UUID userId, long generation, Instant requestedAt, int attempt) {
+    }
+}
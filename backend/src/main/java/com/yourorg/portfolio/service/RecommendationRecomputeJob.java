@@ -0,0 +1,89 @@
+package com.yourorg.portfolio.service;
+
+import com.yourorg.portfolio.repository.RepoRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Nightly recompute of every user's recommendations, so the stored results
+ * follow changes to the recommendation engine even for users who have not
+ * synced.
+ *
+ * Users are walked in pages of {@code recommendations.recompute.page-size}
+ * and each page goes to the ML service through
+ * {@link RecommendationService#precomputeBatch}, replacing stored results
+ * even where the user's repositories are unchanged. Only the instance holding
+ * {@code recommendations:lock:recompute} runs; the lease is left to expire so
+ * the job runs once per schedule across instances.
+ */
+@Component
+public class RecommendationRecomputeJob {
+
+    private static final Logger log = LoggerFactory.getLogger(RecommendationRecomputeJob.class);
+    private static final String LOCK_KEY = "recommendations:lock:recompute";
+
+    private final RecommendationService recommendationService;
+    private final RepoRepository repoRepository;
+    private final StringRedisTemplate redis;
+    private final Timer duration;
+    private final String instanceId = UUID.randomUUID().toString();
+
+    @Value("${recommendations.recompute.enabled:true}")
+    private boolean enabled;
+
+    @Value("${recommendations.recompute.page-size:200}")
+    private int pageSize;
+
+    @Value("${recommendations.recompute.lock-ttl:1h}")
+    private Duration lockTtl;
+
+    public RecommendationRecomputeJob(RecommendationService recommendationService, RepoRepository repoRepository,
+            StringRedisTemplate redis, MeterRegistry meterRegistry) {
+        this.recommendationService = recommendationService;
+        this.repoRepository = repoRepository;
+        this.redis = redis;
+        this.duration = meterRegistry.timer("recommendations.recompute.duration");
+    }
+
+    @Scheduled(cron = "${recommendations.recompute.cron:0 0 3 * * *}")
+    public void run() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            if (!Boolean.TRUE.equals(redis.opsForValue().setIfAbsent(LOCK_KEY, instanceId, lockTtl))) {
+                return;
+            }
+            duration.record(this::recomputeAll);
+        } catch (Exception e) {
+            log.error("Recommendation recompute failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private void recomputeAll() {
+        UUID after = new UUID(0, 0);
+        int users = 0;
+        int stored = 0;
+        while (true) {
+            List<UUID> page = repoRepository.findUserIdsWithReposAfter(after, PageRequest.of(0, pageSize));
+            if (page.isEmpty()) {
+                break;
+            }
+            stored += recommendationService.precomputeBatch(page, true);
+            users += page.size();
+            after = page.get(page.size() - 1);
+        }
+        log.info("Recomputed recommendations for {} of {} users", stored, users);
+    }
+}
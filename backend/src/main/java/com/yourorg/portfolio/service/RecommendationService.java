@@ -1,15 +1,31 @@
 package com.yourorg.portfolio.service;
 
 import com.yourorg.portfolio.dto.RecommendationDto.*;
+import com.yourorg.portfolio.dto.RecommendationSection;
 import com.yourorg.portfolio.model.RepositoryEntity;
+import com.yourorg.portfolio.model.SkillFeatures;
 import com.yourorg.portfolio.model.User;
 import com.yourorg.portfolio.repository.RepoRepository;
+import com.yourorg.portfolio.repository.RepoRepository.UserFingerprint;
+import com.yourorg.portfolio.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.stereotype.Service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 /**
  * Service for generating and managing user recommendations.
@@ -22,10 +38,27 @@ public class RecommendationService {
 
     private final MLClient mlClient;
     private final RepoRepository repoRepository;
+    private final UserRepository userRepository;
+    private final RecommendationCache cache;
+    private final Counter coalesced;
 
-    public RecommendationService(MLClient mlClient, RepoRepository repoRepository) {
+    /**
+     * Computations currently running, keyed by user and repository
+     * fingerprint. A caller whose sections are all covered by a running
+     * computation waits on it instead of calling the ML service again.
+     */
+    private final Map<String, List<Computation>> inFlight = new ConcurrentHashMap<>();
+
+    private record Computation(Set<RecommendationSection> sections, CompletableFuture<RecommendationResponse> result) {
+    }
+
+    public RecommendationService(MLClient mlClient, RepoRepository repoRepository, UserRepository userRepository,
+            RecommendationCache cache, MeterRegistry meterRegistry) {
         this.mlClient = mlClient;
         this.repoRepository = repoRepository;
+        this.userRepository = userRepository;
+        this.cache = cache;
+        this.coalesced = meterRegistry.counter("recommendations.coalesced");
     }
 
     /**
@@ -36,24 +69,189 @@ public class RecommendationService {
      *         projects, etc.
      */
     public RecommendationResponse getRecommendations(User user) {
-        log.info("Generating recommendations for user: {}", user.getUsername());
+        return getRecommendations(user, RecommendationSection.ALL);
+    }
+
+    /**
+     * Get only the requested sections of the recommendations; the others are
+     * left null. Only those sections are computed and cached.
+     */
+    public RecommendationResponse getRecommendations(User user, Set<RecommendationSection> sections) {
+        // 0. Serve from cache while the user's repositories are unchanged
+        String fingerprint = repoRepository.findFingerprintByUserId(user.getId());
+        RecommendationResponse cached = cache.get(user.getId(), fingerprint, sections);
+        if (cached != null) {
+            log.debug("Serving cached recommendations for user: {}", user.getUsername());
+            return cached;
+        }
+
+        // 1. Join a computation already running for this user that covers
+        // the requested sections, or run one
+        return orLastKnownGood(user, computeOrJoin(user, fingerprint, sections, null), sections);
+    }
+
+    /**
+     * Wait for a running computation of the user's {@code fingerprint} that
+     * covers {@code sections}, or run one and store its result. With a
+     * {@code generation} the result is stored only if that is still current.
+     */
+    private RecommendationResponse computeOrJoin(User user, String fingerprint, Set<RecommendationSection> sections,
+            Long generation) {
+        String key = user.getId() + ":" + fingerprint;
+        Computation pending = new Computation(sections, new CompletableFuture<>());
+        Computation running = startOrJoin(key, pending);
+        if (running != pending) {
+            coalesced.increment();
+            log.debug("Joining in-flight recommendations for user: {}", user.getUsername());
+            return RecommendationSection.project(await(running.result()), sections);
+        }
+
+        RecommendationResponse recommendations;
+        try {
+            recommendations = computeRecommendations(user, sections);
+            if (!recommendations.isFallback()) {
+                if (generation != null) {
+                    cache.putIfCurrent(user.getId(), fingerprint, generation, recommendations, sections);
+                } else {
+                    cache.put(user.getId(), fingerprint, recommendations, sections);
+                }
+            }
+            pending.result().complete(recommendations);
+        } catch (RuntimeException e) {
+            pending.result().completeExceptionally(e);
+            throw e;
+        } finally {
+            finish(key, pending);
+        }
+        return recommendations;
+    }
+
+    /**
+     * @return a running computation under {@code key} covering the sections
+     *         of {@code pending}, or {@code pending} once registered
+     */
+    private Computation startOrJoin(String key, Computation pending) {
+        Computation[] result = { pending };
+        inFlight.compute(key, (k, running) -> {
+            List<Computation> computations = running != null ? new ArrayList<>(running) : new ArrayList<>();
+            for (Computation computation : computations) {
+                if (computation.sections().containsAll(pending.sections())) {
+                    result[0] = computation;
+                    return running;
+                }
+            }
+            computations.add(pending);
+            return computations;
+        });
+        return result[0];
+    }
+
+    private void finish(String key, Computation computation) {
+        inFlight.computeIfPresent(key, (k, running) -> {
+            List<Computation> rest = new ArrayList<>(running);
+            rest.remove(computation);
+            return rest.isEmpty() ? null : rest;
+        });
+    }
+
+    /**
+     * Compute and store recommendations ahead of the next request, sharing
+     * the ML call with any request for the same repositories. Nothing is
+     * computed if the stored result already matches the user's repositories,
+     * and nothing is stored if a newer generation than {@code generation} was
+     * started by the time the ML call returns.
+     *
+     * @return false if the ML service could not produce a result
+     */
+    public boolean precompute(User user, long generation) {
+        String fingerprint = repoRepository.findFingerprintByUserId(user.getId());
+        if (cache.contains(user.getId(), fingerprint)) {
+            log.debug("Stored recommendations for user {} are already current", user.getUsername());
+            return true;
+        }
+        return !computeOrJoin(user, fingerprint, RecommendationSection.ALL, generation).isFallback();
+    }
 
-        // 1. Fetch User Repos
-        List<RepositoryEntity> repos = repoRepository.findByUserId(user.getId());
-        log.info("Found {} repositories for user", repos.size());
+    /**
+     * Compute and store recommendations for many users through the ML batch
+     * endpoint. Users without repositories are skipped, and so are users whose
+     * stored recommendations already match their repositories unless
+     * {@code refresh} is set, e.g. to pick up a changed recommendation engine.
+     * A result is dropped if the user synced while the batch ran.
+     *
+     * @return the number of users whose recommendations were stored
+     */
+    public int precomputeBatch(Collection<UUID> userIds, boolean refresh) {
+        // Read before the fingerprints, so a sync landing in between supersedes them
+        Map<UUID, Long> generations = cache.generations(userIds);
+        Map<UUID, String> outdated = new HashMap<>();
+        for (UserFingerprint row : repoRepository.findFingerprintsByUserIdIn(userIds)) {
+            UUID userId = UUID.fromString(row.getUserId());
+            if (refresh || !cache.contains(userId, row.getFingerprint())) {
+                outdated.put(userId, row.getFingerprint());
+            }
+        }
+        if (outdated.isEmpty()) {
+            return 0;
+        }
 
-        if (repos.isEmpty()) {
-            log.warn("No repositories found for user: {}", user.getUsername());
-            return getEmptyRecommendations("No repositories found. Please sync your GitHub data.");
+        // Repositories are only loaded for users without current skill features
+        List<User> users = userRepository.findAllById(outdated.keySet());
+        List<UUID> needRepos = users.stream()
+                .filter(user -> !SkillFeatureBuilder.isCurrent(user.getSkillFeatures()))
+                .map(User::getId)
+                .toList();
+        Map<UUID, List<RepositoryEntity>> reposByUser = needRepos.isEmpty() ? Map.of()
+                : repoRepository.findWithUserByUserIdIn(needRepos).stream()
+                        .collect(Collectors.groupingBy(repo -> repo.getUser().getId()));
+        Map<UUID, RecommendationResponse> results = mlClient.getRecommendationsBatch(users, reposByUser);
+        int stored = 0;
+        for (Map.Entry<UUID, RecommendationResponse> result : results.entrySet()) {
+            UUID userId = result.getKey();
+            if (cache.putIfCurrent(userId, outdated.get(userId), generations.getOrDefault(userId, 0L),
+                    result.getValue(), RecommendationSection.ALL)) {
+                stored++;
+            }
         }
+        return stored;
+    }
+
+    private RecommendationResponse computeRecommendations(User user, Set<RecommendationSection> sections) {
+        log.info("Generating recommendations for user: {}", user.getUsername());
 
-        // 2. Call ML Service
-        RecommendationResponse recommendations = mlClient.getRecommendations(user, repos);
+        // 2. Call ML Service with the features stored by the last sync, or
+        // with the repositories if those predate the current format
+        RecommendationResponse recommendations;
+        SkillFeatures features = user.getSkillFeatures();
+        if (SkillFeatureBuilder.isCurrent(features)) {
+            if (features.getTotalRepos() == 0) {
+                log.warn("No repositories found for user: {}", user.getUsername());
+                return RecommendationSection.project(
+                        getEmptyRecommendations("No repositories found. Please sync your GitHub data."), sections);
+            }
+            recommendations = mlClient.getRecommendations(user, features, sections);
+        } else {
+            List<RepositoryEntity> repos = repoRepository.findByUserId(user.getId());
+            log.info("Found {} repositories for user", repos.size());
 
-        // 3. Validate response
+            if (repos.isEmpty()) {
+                log.warn("No repositories found for user: {}", user.getUsername());
+                return RecommendationSection.project(
+                        getEmptyRecommendations("No repositories found. Please sync your GitHub data."), sections);
+            }
+            recommendations = mlClient.getRecommendations(user, repos, sections);
+        }
+
+        // 4. Validate response
         if (recommendations == null) {
             log.warn("ML service returned null recommendations");
-            return getEmptyRecommendations("Unable to generate recommendations. Please try again later.");
+            RecommendationResponse empty = getEmptyRecommendations(
+                    "Unable to generate recommendations. Please try again later.");
+            empty.setFallback(true);
+            return RecommendationSection.project(empty, sections);
+        }
+        if (recommendations.isFallback()) {
+            return RecommendationSection.project(recommendations, sections);
         }
 
         log.info("Generated recommendations: {} career paths, {} skill gaps, {} project ideas",
@@ -64,22 +262,59 @@ public class RecommendationService {
         return recommendations;
     }
 
+    /**
+     * While the ML service is unavailable, prefer the user's last real result.
+     */
+    private RecommendationResponse orLastKnownGood(User user, RecommendationResponse recommendations,
+            Set<RecommendationSection> sections) {
+        if (!recommendations.isFallback()) {
+            return recommendations;
+        }
+        RecommendationResponse lastKnownGood = cache.getLastKnownGood(user.getId());
+        if (lastKnownGood != null) {
+            log.info("ML service unavailable, serving last known good recommendations for user: {}",
+                    user.getUsername());
+            return RecommendationSection.project(lastKnownGood, sections);
+        }
+        return recommendations;
+    }
+
+    private static RecommendationResponse await(CompletableFuture<RecommendationResponse> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Drop the cached recommendations so the next request recomputes them.
+     */
+    public void evictRecommendations(User user) {
+        cache.evict(user.getId());
+    }
+
     /**
      * Get skill analysis only.
      */
     public SkillAnalysis getSkillAnalysis(User user) {
-        RecommendationResponse full = getRecommendations(user);
-        return full.getSkillAnalysis();
+        RecommendationResponse recommendations = getRecommendations(user,
+                EnumSet.of(RecommendationSection.SKILL_ANALYSIS));
+        return recommendations.getSkillAnalysis();
     }
 
     /**
      * Get career paths and skill gaps only.
      */
     public CareerAnalysis getCareerAnalysis(User user) {
-        RecommendationResponse full = getRecommendations(user);
+        RecommendationResponse recommendations = getRecommendations(user,
+                EnumSet.of(RecommendationSection.CAREER_PATHS, RecommendationSection.SKILL_GAPS));
         CareerAnalysis analysis = new CareerAnalysis();
-        analysis.setCareerPaths(full.getCareerPaths());
-        analysis.setSkillGaps(full.getSkillGaps());
+        analysis.setCareerPaths(recommendations.getCareerPaths());
+        analysis.setSkillGaps(recommendations.getSkillGaps());
         return analysis;
     }
 
@@ -0,0 +1,110 @@
+package com.yourorg.portfolio.service;
+
+import com.yourorg.portfolio.model.Skill;
+import com.yourorg.portfolio.repository.SkillRepository;
+import com.yourorg.portfolio.repository.SyncBulkRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide lookup of skill name (or alias) to {@link Skill}, so scoring
+ * does not query the skills table once per language or topic.
+ *
+ * Loaded at startup and extended whenever new skills are inserted, keeping
+ * the {@link SkillSuggestIndex} in step. Skills
+ * created by another instance are picked up the first time they are resolved
+ * here, because the insert is a no-op on conflict followed by a read back.
+ */
+@Component
+public class SkillDictionary {
+
+    private static final Logger log = LoggerFactory.getLogger(SkillDictionary.class);
+    private static final String DEFAULT_CATEGORY = "Uncategorized";
+
+    private final SkillRepository skillRepository;
+    private final SyncBulkRepository syncBulkRepository;
+    private final SkillSuggestIndex suggestIndex;
+
+    private final Map<String, Skill> byName = new ConcurrentHashMap<>();
+    private final Map<String, Skill> byAlias = new ConcurrentHashMap<>();
+
+    public SkillDictionary(SkillRepository skillRepository, SyncBulkRepository syncBulkRepository,
+            SkillSuggestIndex suggestIndex) {
+        this.skillRepository = skillRepository;
+        this.syncBulkRepository = syncBulkRepository;
+        this.suggestIndex = suggestIndex;
+    }
+
+    @PostConstruct
+    void load() {
+        List<Skill> skills = skillRepository.findAll();
+        skills.forEach(this::register);
+        suggestIndex.rebuild(skills);
+        log.info("Loaded {} skills into dictionary", skills.size());
+    }
+
+    /**
+     * Look up a skill by exact name, falling back to a case-insensitive alias.
+     */
+    public Skill find(String name) {
+        Skill skill = byName.get(name);
+        return skill != null ? skill : byAlias.get(normalize(name));
+    }
+
+    /**
+     * Resolve names to skill ids, inserting any skills that do not exist yet
+     * in a single batch.
+     */
+    public Map<String, UUID> resolve(Collection<String> names) {
+        Map<String, UUID> ids = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String name : names) {
+            Skill skill = find(name);
+            if (skill != null) {
+                ids.put(name, skill.getId());
+            } else {
+                missing.add(name);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            syncBulkRepository.insertSkillsIfAbsent(missing, DEFAULT_CATEGORY);
+            List<Skill> added = syncBulkRepository.findSkillsByNames(missing);
+            for (Skill skill : added) {
+                register(skill);
+                ids.put(skill.getName(), skill.getId());
+            }
+            suggestIndex.add(added);
+            log.debug("Added {} skills to dictionary", missing.size());
+        }
+        return ids;
+    }
+
+    public Collection<Skill> all() {
+        return byName.values();
+    }
+
+    private void register(Skill skill) {
+        byName.put(skill.getName(), skill);
+        if (skill.getAliases() != null) {
+            for (String alias : skill.getAliases()) {
+                byAlias.putIfAbsent(normalize(alias), skill);
+            }
+        }
+    }
+
+    private static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,79 @@
+package com.yourorg.portfolio.service;
+
+import com.yourorg.portfolio.model.RepositoryEntity;
+import com.yourorg.portfolio.model.SkillFeatures;
+import com.yourorg.portfolio.model.SkillFeatures.LanguageStats;
+import com.yourorg.portfolio.model.SkillFeatures.RepoHint;
+import com.yourorg.portfolio.model.SkillFeatures.TopicStats;
+
+/**
+ * Builds {@link SkillFeatures}, fed one repository at a time like
+ * {@link SkillScores} so a sync can aggregate each page as it arrives.
+ *
+ * The scores mirror {@code FeatureEngineering.extract_skills_from_repos} in
+ * the ML service; bump {@link #VERSION} whenever either side changes so stale
+ * vectors are no longer sent.
+ */
+public class SkillFeatureBuilder {
+
+    public static final int VERSION = 1;
+    private static final int MAX_REPO_HINTS = 5;
+
+    private final SkillFeatures features = new SkillFeatures();
+
+    public SkillFeatureBuilder() {
+        features.setVersion(VERSION);
+    }
+
+    public void add(RepositoryEntity repo) {
+        int stars = repo.getStars() != null ? repo.getStars() : 0;
+        features.setTotalRepos(features.getTotalRepos() + 1);
+        features.setTotalStars(features.getTotalStars() + stars);
+
+        if (repo.getLanguages() != null) {
+            double starBoost = 1 + Math.log1p(stars) * 0.15;
+            repo.getLanguages().forEach((lang, size) -> {
+                double bytes = size != null ? size : 0;
+                LanguageStats stats = features.getLanguages().computeIfAbsent(lang, k -> new LanguageStats());
+                stats.setBytes(stats.getBytes() + (long) bytes);
+                stats.setReposCount(stats.getReposCount() + 1);
+                stats.setScore(stats.getScore() + Math.log1p(bytes) * starBoost);
+            });
+        }
+        if (repo.getTopics() != null) {
+            double starBoost = 1 + Math.log1p(stars) * 0.1;
+            for (String topic : repo.getTopics()) {
+                TopicStats stats = features.getTopics().computeIfAbsent(topic, k -> new TopicStats());
+                stats.setReposCount(stats.getReposCount() + 1);
+                stats.setScore(stats.getScore() + 5.0 * starBoost);
+            }
+        }
+
+        if (features.getRepoHints().size() < MAX_REPO_HINTS) {
+            features.getRepoHints().add(hint(repo, stars));
+        }
+    }
+
+    public SkillFeatures build() {
+        return features;
+    }
+
+    /**
+     * Whether {@code features} were built with the current scoring formula.
+     */
+    public static boolean isCurrent(SkillFeatures features) {
+        return features != null && features.getVersion() == VERSION;
+    }
+
+    private static RepoHint hint(RepositoryEntity repo, int stars) {
+        RepoHint hint = new RepoHint();
+        hint.setName(repo.getFullName() != null ? repo.getFullName() : "");
+        hint.setDescriptionLength(repo.getDescription() != null ? repo.getDescription().length() : 0);
+        hint.setTopicCount(repo.getTopics() != null ? repo.getTopics().size() : 0);
+        hint.setLanguageCount(repo.getLanguages() != null ? repo.getLanguages().size() : 0);
+        hint.setTestingTopic(repo.getTopics() != null
+                && repo.getTopics().stream().anyMatch(topic -> "testing".equalsIgnoreCase(topic)));
+        hint.setStars(stars);
+        return hint;
+    }
+}
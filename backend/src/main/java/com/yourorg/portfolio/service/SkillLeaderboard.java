@@ -0,0 +1,225 @@
+package com.yourorg.portfolio.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-skill leaderboards in Redis, mirroring {@code user_skills.score}.
+ *
+ * - {@code leaderboard:skill:{skillId}} sorted set of user id by score
+ * - {@code leaderboard:skill:{skillId}:versions} hash of user id to the
+ *   Redis time (micros) its entry was last written or removed
+ *
+ * Syncs write their changes once committed, stamped with Redis time inside
+ * the script. The {@link SkillLeaderboardRebuildJob} writes what it read from
+ * Postgres stamped with the Redis time taken before the read, and only over
+ * older entries. A change committed after that read therefore always wins,
+ * and a removal is never undone by a rebuild that read the row before it.
+ */
+@Component
+public class SkillLeaderboard {
+
+    private static final Logger log = LoggerFactory.getLogger(SkillLeaderboard.class);
+    private static final String KEY_PREFIX = "leaderboard:skill:";
+
+    /**
+     * KEYS: (leaderboard, versions) per skill; ARGV: user id, then one score
+     * per skill, empty to remove.
+     */
+    private static final RedisScript<Long> APPLY = new DefaultRedisScript<>(
+            "local t = redis.call('time') "
+                    + "local now = t[1] .. string.format('%06d', t[2]) "
+                    + "for i = 1, #KEYS, 2 do "
+                    + "local score = ARGV[(i + 1) / 2 + 1] "
+                    + "if score == '' then redis.call('zrem', KEYS[i], ARGV[1]) "
+                    + "else redis.call('zadd', KEYS[i], score, ARGV[1]) end "
+                    + "redis.call('hset', KEYS[i + 1], ARGV[1], now) end "
+                    + "return 1",
+            Long.class);
+
+    /**
+     * KEYS: leaderboard, versions; ARGV: read time, then user id/score pairs.
+     * Skips entries written at or after the read time.
+     */
+    private static final RedisScript<Long> BACKFILL = new DefaultRedisScript<>(
+            "local applied = 0 "
+                    + "for i = 2, #ARGV, 2 do "
+                    + "local v = redis.call('hget', KEYS[2], ARGV[i]) "
+                    + "if not v or tonumber(v) < tonumber(ARGV[1]) then "
+                    + "redis.call('zadd', KEYS[1], ARGV[i + 1], ARGV[i]) "
+                    + "redis.call('hset', KEYS[2], ARGV[i], ARGV[1]) "
+                    + "applied = applied + 1 end end "
+                    + "return applied",
+            Long.class);
+
+    /**
+     * KEYS: leaderboard, versions; ARGV: read time, then user ids that had no
+     * row. Drops them unless written at or after the read time.
+     */
+    private static final RedisScript<Long> PRUNE = new DefaultRedisScript<>(
+            "local removed = 0 "
+                    + "for i = 2, #ARGV do "
+                    + "local v = redis.call('hget', KEYS[2], ARGV[i]) "
+                    + "if not v or tonumber(v) < tonumber(ARGV[1]) then "
+                    + "removed = removed + redis.call('zrem', KEYS[1], ARGV[i]) "
+                    + "redis.call('hdel', KEYS[2], ARGV[i]) end end "
+                    + "return removed",
+            Long.class);
+
+    private final StringRedisTemplate redis;
+
+    public SkillLeaderboard(StringRedisTemplate redis) {
+        this.redis = redis;
+    }
+
+    /**
+     * Record a user's changed and removed skill scores once the surrounding
+     * transaction commits.
+     */
+    public void update(UUID userId, Map<UUID, Double> changed, Collection<UUID> removed) {
+        if (changed.isEmpty() && removed.isEmpty()) {
+            return;
+        }
+        List<String> keys = new ArrayList<>();
+        List<String> args = new ArrayList<>();
+        args.add(userId.toString());
+        changed.forEach((skillId, score) -> {
+            keys.add(key(skillId));
+            keys.add(versionsKey(skillId));
+            args.add(Double.toString(score));
+        });
+        removed.forEach(skillId -> {
+            keys.add(key(skillId));
+            keys.add(versionsKey(skillId));
+            args.add("");
+        });
+        afterCommit(() -> {
+            try {
+                redis.execute(APPLY, keys, args.toArray());
+            } catch (Exception e) {
+                // The next rebuild repairs it
+                log.warn("Failed to update leaderboards for user {}: {}", userId, e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Entries {@code offset} to {@code offset + count - 1}, highest score
+     * first.
+     */
+    public Set<TypedTuple<String>> top(UUID skillId, long offset, int count) {
+        return redis.opsForZSet().reverseRangeWithScores(key(skillId), offset, offset + count - 1);
+    }
+
+    /**
+     * Zero-based position of the user, highest score first, or null if the
+     * user has no score for the skill.
+     */
+    public Long rank(UUID skillId, UUID userId) {
+        return redis.opsForZSet().reverseRank(key(skillId), userId.toString());
+    }
+
+    public Double score(UUID skillId, UUID userId) {
+        return redis.opsForZSet().score(key(skillId), userId.toString());
+    }
+
+    public long size(UUID skillId) {
+        Long size = redis.opsForZSet().zCard(key(skillId));
+        return size != null ? size : 0;
+    }
+
+    /**
+     * Current Redis time in micros; take it before reading the rows passed to
+     * {@link #backfill} and {@link #prune}.
+     */
+    public long now() {
+        Long micros = redis.execute((RedisCallback<Long>) connection -> connection.serverCommands()
+                .time(TimeUnit.MICROSECONDS));
+        if (micros == null) {
+            throw new IllegalStateException("Redis returned no time");
+        }
+        return micros;
+    }
+
+    /**
+     * Write scores read from Postgres at {@code readAt}, except over entries
+     * written since.
+     */
+    public long backfill(UUID skillId, long readAt, Map<UUID, Double> scores) {
+        if (scores.isEmpty()) {
+            return 0;
+        }
+        List<String> args = new ArrayList<>(scores.size() * 2 + 1);
+        args.add(Long.toString(readAt));
+        scores.forEach((userId, score) -> {
+            args.add(userId.toString());
+            args.add(Double.toString(score));
+        });
+        Long applied = redis.execute(BACKFILL, List.of(key(skillId), versionsKey(skillId)), args.toArray());
+        return applied != null ? applied : 0;
+    }
+
+    /**
+     * Remove every entry, including removal markers, for users absent from
+     * {@code present} as of {@code readAt}.
+     */
+    public long prune(UUID skillId, long readAt, Set<UUID> present) {
+        List<String> args = new ArrayList<>();
+        args.add(Long.toString(readAt));
+        Set<Object> known = redis.opsForHash().keys(versionsKey(skillId));
+        Set<String> ranked = redis.opsForZSet().range(key(skillId), 0, -1);
+        Set<String> candidates = new HashSet<>();
+        known.forEach(member -> candidates.add((String) member));
+        if (ranked != null) {
+            candidates.addAll(ranked);
+        }
+        for (String member : candidates) {
+            if (!present.contains(UUID.fromString(member))) {
+                args.add(member);
+            }
+        }
+        if (args.size() == 1) {
+            return 0;
+        }
+        Long removed = redis.execute(PRUNE, List.of(key(skillId), versionsKey(skillId)), args.toArray());
+        return removed != null ? removed : 0;
+    }
+
+    private static String key(UUID skillId) {
+        return KEY_PREFIX + skillId;
+    }
+
+    private static String versionsKey(UUID skillId) {
+        return KEY_PREFIX + skillId + ":versions";
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,124 @@
+package com.yourorg.portfolio.service;
+
+import com.yourorg.portfolio.model.Skill;
+import com.yourorg.portfolio.repository.SkillRepository;
+import com.yourorg.portfolio.repository.SyncBulkRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Rebuilds every {@link SkillLeaderboard} from {@code user_skills}, backfilling
+ * empty leaderboards and repairing updates lost while Redis was unavailable.
+ *
+ * Runs on {@code leaderboards.rebuild.cron}, and once at startup while
+ * {@code leaderboards:built} is missing. Only the instance holding
+ * {@code leaderboards:lock:rebuild} runs; the lease is left to expire so the
+ * job runs once per schedule across instances.
+ */
+@Component
+public class SkillLeaderboardRebuildJob {
+
+    private static final Logger log = LoggerFactory.getLogger(SkillLeaderboardRebuildJob.class);
+    private static final String LOCK_KEY = "leaderboards:lock:rebuild";
+    private static final String BUILT_KEY = "leaderboards:built";
+
+    private final SkillLeaderboard leaderboard;
+    private final SkillRepository skillRepository;
+    private final SyncBulkRepository syncBulkRepository;
+    private final StringRedisTemplate redis;
+    private final Timer duration;
+    private final String instanceId = UUID.randomUUID().toString();
+
+    @Value("${leaderboards.rebuild.enabled:true}")
+    private boolean enabled;
+
+    @Value("${leaderboards.rebuild.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${leaderboards.rebuild.lock-ttl:1h}")
+    private Duration lockTtl;
+
+    public SkillLeaderboardRebuildJob(SkillLeaderboard leaderboard, SkillRepository skillRepository,
+            SyncBulkRepository syncBulkRepository, StringRedisTemplate redis, MeterRegistry meterRegistry) {
+        this.leaderboard = leaderboard;
+        this.skillRepository = skillRepository;
+        this.syncBulkRepository = syncBulkRepository;
+        this.redis = redis;
+        this.duration = meterRegistry.timer("leaderboards.rebuild.duration");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        try {
+            if (enabled && !Boolean.TRUE.equals(redis.hasKey(BUILT_KEY))) {
+                Thread thread = new Thread(this::run, "leaderboard-backfill");
+                thread.setDaemon(true);
+                thread.start();
+            }
+        } catch (Exception e) {
+            log.warn("Could not check leaderboard state: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(cron = "${leaderboards.rebuild.cron:0 30 3 * * *}")
+    public void run() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            if (!Boolean.TRUE.equals(redis.opsForValue().setIfAbsent(LOCK_KEY, instanceId, lockTtl))) {
+                return;
+            }
+            duration.record(this::rebuildAll);
+            redis.opsForValue().set(BUILT_KEY, instanceId);
+        } catch (Exception e) {
+            log.error("Leaderboard rebuild failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private void rebuildAll() {
+        List<Skill> skills = skillRepository.findAll();
+        long written = 0;
+        long removed = 0;
+        for (Skill skill : skills) {
+            long readAt = leaderboard.now();
+            Map<UUID, Double> scores = syncBulkRepository.findScoresBySkillId(skill.getId());
+            for (Map<UUID, Double> chunk : chunks(scores)) {
+                written += leaderboard.backfill(skill.getId(), readAt, chunk);
+            }
+            removed += leaderboard.prune(skill.getId(), readAt, scores.keySet());
+        }
+        log.info("Rebuilt {} skill leaderboards: {} entries written, {} removed", skills.size(), written, removed);
+    }
+
+    private List<Map<UUID, Double>> chunks(Map<UUID, Double> scores) {
+        List<Map<UUID, Double>> chunks = new ArrayList<>();
+        Map<UUID, Double> chunk = new HashMap<>();
+        for (Map.Entry<UUID, Double> entry : scores.entrySet()) {
+            chunk.put(entry.getKey(), entry.getValue());
+            if (chunk.size() == chunkSize) {
+                chunks.add(chunk);
+                chunk = new HashMap<>();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            chunks.add(chunk);
+        }
+        return chunks;
+    }
+}
@@ -0,0 +1,48 @@
+package com.yourorg.portfolio.service;
+
+import com.yourorg.portfolio.model.RepositoryEntity;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Running skill score totals, fed one repository at a time so a sync can
+ * score each page as it arrives instead of holding every repo in memory.
+ */
+public class SkillScores {
+
+    private final Map<String, Double> scores = new HashMap<>();
+
+    public void add(RepositoryEntity repo) {
+        // Simple Heuristic: Count language bytes and star impact
+        if (repo.getLanguages() != null) {
+            double starBoost = 1 + Math.log1p(repo.getStars() != null ? repo.getStars() : 0) * 0.1;
+            repo.getLanguages().forEach((lang, size) -> {
+                // Logarithmic scale for size + star boost
+                scores.merge(lang, Math.log1p(size) * starBoost, Double::sum);
+            });
+        }
+        // Topics
+        if (repo.getTopics() != null) {
+            for (String topic : repo.getTopics()) {
+                scores.merge(topic, 5.0, Double::sum); // Flat bonus for topics
+            }
+        }
+    }
+
+    /**
+     * Add every skill name the repository contributes to.
+     */
+    public static void collectSkillNames(RepositoryEntity repo, Collection<String> into) {
+        if (repo.getLanguages() != null) {
+            into.addAll(repo.getLanguages().keySet());
+        }
+        if (repo.getTopics() != null) {
+            into.addAll(repo.getTopics());
+        }
+    }
+
+    public Map<String, Double> asMap() {
+        return scores;
+    }
+}
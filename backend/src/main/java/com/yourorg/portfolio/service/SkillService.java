@@ -3,70 +3,122 @@ package com.yourorg.portfolio.service;
 import com.yourorg.portfolio.model.RepositoryEntity;
 import com.yourorg.portfolio.model.User;
 import com.yourorg.portfolio.model.Skill;
-import com.yourorg.portfolio.model.UserSkill;
-import com.yourorg.portfolio.repository.SkillRepository;
-import com.yourorg.portfolio.repository.UserSkillRepository;
+import com.yourorg.portfolio.repository.RepoRepository;
+import com.yourorg.portfolio.repository.SyncBulkRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.HashMap;
+import java.util.Set;
+import java.util.UUID;
 
 @Service
 public class SkillService {
 
-    private final SkillRepository skillRepository;
-    private final UserSkillRepository userSkillRepository;
+    private final SkillDictionary skillDictionary;
+    private final RepoRepository repoRepository;
+    private final SyncBulkRepository syncBulkRepository;
+    private final SkillLeaderboard leaderboard;
 
-    public SkillService(SkillRepository skillRepository, UserSkillRepository userSkillRepository) {
-        this.skillRepository = skillRepository;
-        this.userSkillRepository = userSkillRepository;
+    public SkillService(SkillDictionary skillDictionary, RepoRepository repoRepository,
+            SyncBulkRepository syncBulkRepository, SkillLeaderboard leaderboard) {
+        this.skillDictionary = skillDictionary;
+        this.repoRepository = repoRepository;
+        this.syncBulkRepository = syncBulkRepository;
+        this.leaderboard = leaderboard;
     }
 
+    /**
+     * Full recompute of a user's skills from the given repositories.
+     */
     @Transactional
     public void calculateSkills(User user, List<RepositoryEntity> repos) {
-        // Simple Heuristic: Count language bytes and star impact
-        Map<String, Double> skillScores = new HashMap<>();
+        SkillScores scores = new SkillScores();
+        repos.forEach(scores::add);
+        applyScores(user, scores.asMap(), null);
+    }
 
-        for (RepositoryEntity repo : repos) {
-            if (repo.getLanguages() != null) {
-                repo.getLanguages().forEach((lang, size) -> {
-                    double current = skillScores.getOrDefault(lang, 0.0);
-                    // Logarithmic scale for size + star boost
-                    double score = Math.log1p(size)
-                            * (1 + Math.log1p(repo.getStars() != null ? repo.getStars() : 0) * 0.1);
-                    skillScores.put(lang, current + score);
-                });
-            }
-            // Topics
-            if (repo.getTopics() != null) {
-                for (String topic : repo.getTopics()) {
-                    double current = skillScores.getOrDefault(topic, 0.0);
-                    skillScores.put(topic, current + 5.0); // Flat bonus for topics
+    /**
+     * Recompute only the given skills from the repositories that mention them,
+     * removing user skills that no repository backs any more. A skill is
+     * rescored from every repository naming it under its name or any alias,
+     * whichever spelling the sync touched.
+     */
+    @Transactional
+    public void rescoreSkills(User user, Set<String> skillNames) {
+        if (skillNames.isEmpty()) {
+            return;
+        }
+
+        Set<UUID> scopeIds = new HashSet<>();
+        Set<String> spellings = new HashSet<>(skillNames);
+        for (String name : skillNames) {
+            Skill skill = skillDictionary.find(name);
+            if (skill != null) {
+                scopeIds.add(skill.getId());
+                spellings.add(skill.getName());
+                if (skill.getAliases() != null) {
+                    spellings.addAll(skill.getAliases());
                 }
             }
         }
 
-        // Save UserSkills
-        skillScores.forEach((name, score) -> {
-            Skill skill = skillRepository.findByName(name)
-                    .orElseGet(() -> {
-                        Skill s = new Skill();
-                        s.setName(name);
-                        s.setCategory("Uncategorized");
-                        return skillRepository.save(s);
-                    });
+        SkillScores scores = new SkillScores();
+        repoRepository.findByUserIdTouchingSkills(user.getId(), spellings.toArray(String[]::new))
+                .forEach(scores::add);
 
-            UserSkill userSkill = userSkillRepository.findByUserIdAndSkillId(user.getId(), skill.getId())
-                    .orElseGet(() -> {
-                        UserSkill us = new UserSkill();
-                        us.setUser(user);
-                        us.setSkill(skill);
-                        return us;
-                    });
+        // Compare canonical skills, not spellings: keep a score if the skill it
+        // resolves to is in scope, or if it is a new name the sync touched
+        scores.asMap().keySet().removeIf(name -> {
+            Skill skill = skillDictionary.find(name);
+            return skill != null ? !scopeIds.contains(skill.getId()) : !skillNames.contains(name);
+        });
+        applyScores(user, scores.asMap(), skillNames);
+    }
 
-            userSkill.setScore(Math.min(100.0, score)); // Cap at 100 for now
-            userSkillRepository.save(userSkill);
+    /**
+     * Diff new scores against the user's stored rows (loaded in one query) and
+     * write back only what changed as a single batch. The leaderboards get
+     * the same changes once the transaction commits.
+     *
+     * @param scope skill names being recomputed; stored skills in scope that
+     *              have no new score are deleted. {@code null} means all of
+     *              the user's skills.
+     */
+    private void applyScores(User user, Map<String, Double> skillScores, Set<String> scope) {
+        Map<UUID, Double> current = syncBulkRepository.findUserSkillScores(user.getId());
+        Map<String, UUID> skillIds = skillDictionary.resolve(skillScores.keySet());
+
+        // Names that resolve through an alias fold into the same skill
+        Map<UUID, Double> totals = new HashMap<>();
+        skillScores.forEach((name, score) -> totals.merge(skillIds.get(name), score, Double::sum));
+
+        Map<UUID, Double> changed = new HashMap<>();
+        totals.forEach((skillId, score) -> {
+            double capped = Math.min(100.0, score); // Cap at 100 for now
+            Double previous = current.get(skillId);
+            if (previous == null || Double.compare(previous, capped) != 0) {
+                changed.put(skillId, capped);
+            }
         });
+
+        Set<UUID> removed = new HashSet<>();
+        if (scope == null) {
+            removed.addAll(current.keySet());
+        } else {
+            for (String name : scope) {
+                Skill skill = skillDictionary.find(name);
+                if (skill != null && current.containsKey(skill.getId())) {
+                    removed.add(skill.getId());
+                }
+            }
+        }
+        removed.removeAll(totals.keySet());
+
+        syncBulkRepository.upsertUserSkills(user.getId(), changed);
+        syncBulkRepository.deleteUserSkills(user.getId(), removed);
+        leaderboard.update(user.getId(), changed, removed);
     }
 }
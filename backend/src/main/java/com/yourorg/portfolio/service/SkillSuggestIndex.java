@@ -0,0 +1,337 @@
+package com.yourorg.portfolio.service;
+
+import com.yourorg.portfolio.model.Skill;
+import com.yourorg.portfolio.repository.SyncBulkRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory typeahead over skill names and aliases.
+ *
+ * Every name, alias and each later word of a multi-word name is a key in one
+ * sorted array, so a prefix is a binary search for its range of keys plus a
+ * scan keeping the best few skills. Matches are ranked by how many users have
+ * the skill, refreshed from {@code user_skills} every
+ * {@code skills.suggest.popularity-refresh}. Prefixes matching more than
+ * {@link #CACHE_RANGE} keys keep their result until the next change.
+ *
+ * Fed by {@link SkillDictionary} at startup and whenever it inserts skills;
+ * each change publishes a new immutable snapshot, so lookups take no lock.
+ */
+@Component
+public class SkillSuggestIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(SkillSuggestIndex.class);
+
+    /** Most suggestions a caller can ask for. */
+    public static final int MAX_LIMIT = 25;
+    private static final int CACHE_RANGE = 1024;
+
+    private final SyncBulkRepository syncBulkRepository;
+
+    private volatile Snapshot snapshot = new Snapshot(new Skill[0], new long[0], new String[0], new int[0]);
+
+    /**
+     * {@code keys[i]} is a normalized name, alias or word of
+     * {@code skills[owners[i]]}, sorted by key; {@code users[s]} is the
+     * popularity of {@code skills[s]}.
+     */
+    private record Snapshot(Skill[] skills, long[] users, String[] keys, int[] owners,
+            Map<String, int[]> broadPrefixes) {
+
+        Snapshot(Skill[] skills, long[] users, String[] keys, int[] owners) {
+            this(skills, users, keys, owners, new ConcurrentHashMap<>());
+        }
+    }
+
+    public record Suggestion(Skill skill, long users) {
+    }
+
+    public SkillSuggestIndex(SyncBulkRepository syncBulkRepository) {
+        this.syncBulkRepository = syncBulkRepository;
+    }
+
+    /**
+     * Replace the index with {@code skills}, reloading popularity.
+     */
+    public synchronized void rebuild(Collection<Skill> skills) {
+        Skill[] all = skills.toArray(Skill[]::new);
+        Entries entries = new Entries();
+        for (int s = 0; s < all.length; s++) {
+            entries.addKeys(all[s], s);
+        }
+        entries.sort();
+        snapshot = new Snapshot(all, popularity(all, syncBulkRepository.countUsersBySkill()),
+                entries.keys(), entries.owners());
+        log.info("Indexed {} skills under {} keys for suggestions", all.length, entries.size());
+    }
+
+    /**
+     * Add newly created skills; they rank by name until the next popularity
+     * refresh counts their users.
+     */
+    public synchronized void add(Collection<Skill> skills) {
+        Snapshot current = snapshot;
+        Set<UUID> known = new HashSet<>();
+        for (Skill skill : current.skills()) {
+            known.add(skill.getId());
+        }
+        List<Skill> added = new ArrayList<>();
+        for (Skill skill : skills) {
+            if (known.add(skill.getId())) {
+                added.add(skill);
+            }
+        }
+        if (added.isEmpty()) {
+            return;
+        }
+
+        int base = current.skills().length;
+        Skill[] all = Arrays.copyOf(current.skills(), base + added.size());
+        Entries entries = new Entries();
+        for (int i = 0; i < added.size(); i++) {
+            all[base + i] = added.get(i);
+            entries.addKeys(added.get(i), base + i);
+        }
+        entries.sort();
+        snapshot = merge(current, all, entries);
+    }
+
+    @Scheduled(fixedDelayString = "${skills.suggest.popularity-refresh:15m}",
+            initialDelayString = "${skills.suggest.popularity-refresh:15m}")
+    public synchronized void refreshPopularity() {
+        try {
+            Snapshot current = snapshot;
+            snapshot = new Snapshot(current.skills(),
+                    popularity(current.skills(), syncBulkRepository.countUsersBySkill()),
+                    current.keys(), current.owners());
+        } catch (Exception e) {
+            log.warn("Failed to refresh skill popularity: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Up to {@code limit} skills with a name, alias or word starting with
+     * {@code prefix}: exact matches first, then by number of users.
+     */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Snapshot current = snapshot;
+        int from = lowerBound(current.keys(), key);
+        int to = lowerBound(current.keys(), key + Character.MAX_VALUE);
+
+        int[] best;
+        if (to - from > CACHE_RANGE) {
+            best = current.broadPrefixes().computeIfAbsent(key,
+                    k -> top(current, k, from, to, MAX_LIMIT));
+        } else {
+            best = top(current, key, from, to, Math.min(limit, MAX_LIMIT));
+        }
+
+        List<Suggestion> suggestions = new ArrayList<>(Math.min(limit, best.length));
+        for (int i = 0; i < best.length && i < limit; i++) {
+            suggestions.add(new Suggestion(current.skills()[best[i]], current.users()[best[i]]));
+        }
+        return suggestions;
+    }
+
+    /**
+     * The best {@code limit} distinct skills among keys {@code from} to
+     * {@code to}, kept in a small sorted array while scanning.
+     */
+    private static int[] top(Snapshot snapshot, String key, int from, int to, int limit) {
+        String[] keys = snapshot.keys();
+        int[] owners = snapshot.owners();
+        int[] best = new int[limit];
+        int size = 0;
+
+        // Exact matches sort first within the range and always lead
+        int i = from;
+        for (; i < to && keys[i].length() == key.length(); i++) {
+            size = offer(snapshot, best, size, 0, owners[i]);
+        }
+        int pinned = size;
+        for (; i < to && pinned < limit; i++) {
+            size = offer(snapshot, best, size, pinned, owners[i]);
+        }
+        return Arrays.copyOf(best, size);
+    }
+
+    /**
+     * Insert skill {@code s} into {@code best}, keeping the entries after
+     * {@code pinned} in ranking order and dropping the last one when full.
+     * Returns the new size.
+     */
+    private static int offer(Snapshot snapshot, int[] best, int size, int pinned, int s) {
+        if (contains(best, size, s) || (size == best.length && !better(snapshot, s, best[size - 1]))) {
+            return size;
+        }
+        int at = size < best.length ? size++ : size - 1;
+        while (at > pinned && better(snapshot, s, best[at - 1])) {
+            best[at] = best[at - 1];
+            at--;
+        }
+        best[at] = s;
+        return size;
+    }
+
+    private static boolean better(Snapshot snapshot, int a, int b) {
+        long usersA = snapshot.users()[a];
+        long usersB = snapshot.users()[b];
+        if (usersA != usersB) {
+            return usersA > usersB;
+        }
+        String nameA = snapshot.skills()[a].getName();
+        String nameB = snapshot.skills()[b].getName();
+        if (nameA.length() != nameB.length()) {
+            return nameA.length() < nameB.length();
+        }
+        return nameA.compareTo(nameB) < 0;
+    }
+
+    private static boolean contains(int[] values, int size, int value) {
+        for (int i = 0; i < size; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Merge sorted new entries into the current ones in one pass.
+     */
+    private static Snapshot merge(Snapshot current, Skill[] skills, Entries added) {
+        String[] oldKeys = current.keys();
+        int[] oldOwners = current.owners();
+        String[] newKeys = added.keys();
+        int[] newOwners = added.owners();
+
+        String[] keys = new String[oldKeys.length + newKeys.length];
+        int[] owners = new int[keys.length];
+        int a = 0;
+        int b = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (b == newKeys.length || (a < oldKeys.length && oldKeys[a].compareTo(newKeys[b]) <= 0)) {
+                keys[i] = oldKeys[a];
+                owners[i] = oldOwners[a++];
+            } else {
+                keys[i] = newKeys[b];
+                owners[i] = newOwners[b++];
+            }
+        }
+        return new Snapshot(skills, Arrays.copyOf(current.users(), skills.length), keys, owners);
+    }
+
+    private static long[] popularity(Skill[] skills, Map<UUID, Long> counts) {
+        long[] users = new long[skills.length];
+        for (int s = 0; s < skills.length; s++) {
+            users[s] = counts.getOrDefault(skills[s].getId(), 0L);
+        }
+        return users;
+    }
+
+    private static int lowerBound(String[] keys, String key) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid].compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Keys being collected for a build, sorted together with their owners.
+     */
+    private static final class Entries {
+        private final List<String> keys = new ArrayList<>();
+        private final List<Integer> owners = new ArrayList<>();
+        private String[] sortedKeys;
+        private int[] sortedOwners;
+
+        void addKeys(Skill skill, int owner) {
+            Set<String> distinct = new LinkedHashSet<>();
+            addKeys(distinct, skill.getName());
+            if (skill.getAliases() != null) {
+                skill.getAliases().forEach(alias -> addKeys(distinct, alias));
+            }
+            for (String key : distinct) {
+                keys.add(key);
+                owners.add(owner);
+            }
+        }
+
+        /**
+         * The whole value plus each later word, so "Machine Learning" is
+         * found by "learn" as well as "mach".
+         */
+        private static void addKeys(Set<String> keys, String value) {
+            if (value == null) {
+                return;
+            }
+            String normalized = normalize(value);
+            if (normalized.isEmpty()) {
+                return;
+            }
+            keys.add(normalized);
+            String[] words = normalized.split("[\\s\\-_./]+");
+            for (int i = 1; i < words.length; i++) {
+                if (!words[i].isEmpty()) {
+                    keys.add(String.join(" ", Arrays.copyOfRange(words, i, words.length)));
+                }
+            }
+        }
+
+        void sort() {
+            Integer[] order = new Integer[keys.size()];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (x, y) -> keys.get(x).compareTo(keys.get(y)));
+            sortedKeys = new String[order.length];
+            sortedOwners = new int[order.length];
+            for (int i = 0; i < order.length; i++) {
+                sortedKeys[i] = keys.get(order[i]);
+                sortedOwners[i] = owners.get(order[i]);
+            }
+        }
+
+        String[] keys() {
+            return sortedKeys;
+        }
+
+        int[] owners() {
+            return sortedOwners;
+        }
+
+        int size() {
+            return keys.size();
+        }
+    }
+}
@@ -3,101 +3,280 @@ package com.yourorg.portfolio.service;
 import com.yourorg.portfolio.model.RepositoryEntity;
 import com.yourorg.portfolio.model.User;
 import com.yourorg.portfolio.repository.RepoRepository;
+import com.yourorg.portfolio.repository.SyncBulkRepository;
 import com.yourorg.portfolio.repository.UserRepository;
 import com.yourorg.portfolio.service.github.GitHubClient;
+import com.yourorg.portfolio.service.github.GitHubRepo;
+import com.yourorg.portfolio.service.github.GitHubRepoPage;
+import com.yourorg.portfolio.service.github.GitHubRequestPriority;
+import com.yourorg.portfolio.service.sync.SyncProgressListener;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import java.util.Map;
 import java.util.List;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
 import java.time.Instant;
 
 @Service
 public class SyncService {
 
+    private static final Logger log = LoggerFactory.getLogger(SyncService.class);
+    private static final int DELETE_CHUNK_SIZE = 500;
+
     private final GitHubClient gitHubClient;
     private final RepoRepository repoRepository;
     private final UserRepository userRepository;
     private final SkillService skillService;
+    private final SyncBulkRepository syncBulkRepository;
+    private final RecommendationPrecomputer recommendationPrecomputer;
+    private final PortfolioSnapshotService portfolioSnapshots;
+    private final UserCache userCache;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
 
     public SyncService(GitHubClient gitHubClient, RepoRepository repoRepository, UserRepository userRepository,
-            SkillService skillService) {
+            SkillService skillService, SyncBulkRepository syncBulkRepository,
+            RecommendationPrecomputer recommendationPrecomputer, PortfolioSnapshotService portfolioSnapshots,
+            UserCache userCache, EntityManager entityManager, PlatformTransactionManager transactionManager) {
         this.gitHubClient = gitHubClient;
         this.repoRepository = repoRepository;
         this.userRepository = userRepository;
         this.skillService = skillService;
+        this.syncBulkRepository = syncBulkRepository;
+        this.recommendationPrecomputer = recommendationPrecomputer;
+        this.portfolioSnapshots = portfolioSnapshots;
+        this.userCache = userCache;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
-    @Transactional
     public void syncUser(User user) {
+        syncUser(user, GitHubRequestPriority.INTERACTIVE, SyncProgressListener.NOOP);
+    }
+
+    /**
+     * Delta sync: repositories are bulk-upserted by (user, gh_repo_id), unchanged
+     * ones are skipped, vanished ones are deleted, and only the skills touched
+     * by those changes are rescored. Nothing is deleted unless every page
+     * parsed cleanly and the listing reached its last page, since a repo
+     * missing from a partial listing has not necessarily gone.
+     *
+     * Not one transaction: each page is written in its own, and the deletes,
+     * user update and rescoring in a final one, so no connection is held
+     * while a request waits for GitHub or its rate-limit budget. The page
+     * upserts are idempotent, so a failed sync is simply run again.
+     */
+    public void syncUser(User user, GitHubRequestPriority priority, SyncProgressListener progress) {
         if (user.getEncryptedAccessToken() == null) {
             throw new IllegalStateException("User has no access token");
         }
 
-        // 1. Fetch from GitHub
-        Map<String, Object> data = gitHubClient.fetchUserRepos(user.getEncryptedAccessToken()); // TODO: Decrypt token
+        Instant lastSync = user.getLastSync();
+        Set<Long> knownIds = new HashSet<>(repoRepository.findGhRepoIdsByUserId(user.getId()));
+        Set<Long> seenIds = new HashSet<>();
+        Set<String> touchedSkills = new HashSet<>();
+        SkillFeatureBuilder features = new SkillFeatureBuilder();
+        int[] processed = { 0 };
+        int[] changed = { 0 };
+        boolean[] complete = { true };
+
+        // 1. Stream pages from GitHub, upserting each one while the next page
+        // is in flight
+        progress.onStage("FETCHING");
+        try {
+            gitHubClient.fetchUserRepos(user.getEncryptedAccessToken(), priority, page -> { // TODO: Decrypt token
+                if (!page.errors().isEmpty() || (page.hasNextPage() && page.endCursor() == null)) {
+                    complete[0] = false;
+                }
+                List<RepositoryEntity> incoming = toEntities(page, user);
+                transactionTemplate.executeWithoutResult(status -> {
+                    List<RepositoryEntity> toSave = applyPage(user, incoming, lastSync, touchedSkills);
+                    syncBulkRepository.upsertRepositories(user.getId(), toSave);
+                    changed[0] += toSave.size();
 
-        // 2. Parse and Save Repos
-        List<RepositoryEntity> repos = parseRepos(data, user);
-        repoRepository.saveAll(repos);
+                    // Keep the persistence context from growing with the account size
+                    entityManager.clear();
+                });
+                incoming.forEach(repo -> {
+                    seenIds.add(repo.getGhRepoId());
+                    features.add(repo);
+                });
 
-        // 3. Update User Last Sync
+                processed[0] += incoming.size();
+                progress.onReposProcessed(processed[0]);
+            });
+        } catch (RuntimeException e) {
+            rescoreCommittedPages(user, touchedSkills);
+            throw e;
+        }
+
+        transactionTemplate.executeWithoutResult(status -> finish(user, complete[0], knownIds, seenIds,
+                touchedSkills, features, processed[0], changed[0], progress));
+    }
+
+    /**
+     * Apply what the fetch found to everything derived from the repositories.
+     */
+    private void finish(User user, boolean complete, Set<Long> knownIds, Set<Long> seenIds,
+            Set<String> touchedSkills, SkillFeatureBuilder features, int processed, int changed,
+            SyncProgressListener progress) {
+        // 2. Drop repositories that no longer exist on GitHub
+        knownIds.removeAll(seenIds);
+        if (complete) {
+            deleteRepos(user, knownIds, touchedSkills);
+        } else if (!knownIds.isEmpty()) {
+            log.warn("Listing for user {} was incomplete; keeping {} repos it did not include",
+                    user.getUsername(), knownIds.size());
+            knownIds.clear();
+        }
+
+        log.info("Synced {} repos for user {}: {} changed, {} removed, {} skills to rescore",
+                processed, user.getUsername(), changed, knownIds.size(), touchedSkills.size());
+
+        // 3. Update User Last Sync and the feature vector sent to the ML service;
+        // a partial listing keeps the previous vector rather than shrinking it
         user.setLastSync(Instant.now());
+        if (complete) {
+            user.setSkillFeatures(features.build());
+        }
         userRepository.save(user);
 
-        // 4. Calculate Skills
-        skillService.calculateSkills(user, repos);
+        // 4. Rescore touched skills
+        progress.onStage("SCORING");
+        skillService.rescoreSkills(user, touchedSkills);
+
+        // 5. Recompute recommendations and the public portfolio once the new
+        // rows are visible, and drop the cached user with its old features
+        String username = user.getUsername();
+        afterCommit(() -> {
+            userCache.invalidate(user.getGithubId());
+            recommendationPrecomputer.schedule(user.getId());
+            portfolioSnapshots.refresh(username);
+        });
     }
 
-    private List<RepositoryEntity> parseRepos(Map<String, Object> data, User user) {
-        List<RepositoryEntity> entities = new ArrayList<>();
+    /**
+     * Pages committed before a failure are not seen as changed by the next
+     * sync, so score the skills they touched now.
+     */
+    private void rescoreCommittedPages(User user, Set<String> touchedSkills) {
+        if (touchedSkills.isEmpty()) {
+            return;
+        }
         try {
-            Map<String, Object> viewer = (Map<String, Object>) ((Map<String, Object>) data.get("data")).get("viewer");
-            Map<String, Object> repositories = (Map<String, Object>) viewer.get("repositories");
-            List<Map<String, Object>> nodes = (List<Map<String, Object>>) repositories.get("nodes");
-
-            for (Map<String, Object> node : nodes) {
-                RepositoryEntity repo = new RepositoryEntity();
-                repo.setUser(user);
-                repo.setGhRepoId(Long.parseLong(node.get("databaseId").toString()));
-                repo.setFullName((String) node.get("nameWithOwner"));
-                repo.setDescription((String) node.get("description"));
-                repo.setStars((Integer) node.get("stargazerCount"));
-                repo.setForks((Integer) node.get("forkCount"));
-                repo.setLastPushedAt(Instant.parse((String) node.get("pushedAt")));
-
-                // Primary Language
-                Map<String, Object> primary = (Map<String, Object>) node.get("primaryLanguage");
-                if (primary != null) {
-                    repo.setPrimaryLanguage((String) primary.get("name"));
-                }
+            transactionTemplate.executeWithoutResult(status -> skillService.rescoreSkills(user, touchedSkills));
+        } catch (RuntimeException e) {
+            log.warn("Failed to rescore skills after a failed sync for user {}: {}", user.getUsername(),
+                    e.getMessage());
+        }
+    }
 
-                // Languages
-                Map<String, Double> languages = new HashMap<>();
-                Map<String, Object> langs = (Map<String, Object>) node.get("languages");
-                List<Map<String, Object>> edges = (List<Map<String, Object>>) langs.get("edges");
-                for (Map<String, Object> edge : edges) {
-                    Integer size = (Integer) edge.get("size");
-                    Map<String, Object> langNode = (Map<String, Object>) edge.get("node");
-                    languages.put((String) langNode.get("name"), size.doubleValue());
-                }
-                repo.setLanguages(languages);
-
-                // Topics
-                List<String> topics = new ArrayList<>();
-                Map<String, Object> repoTopics = (Map<String, Object>) node.get("repositoryTopics");
-                List<Map<String, Object>> topicNodes = (List<Map<String, Object>>) repoTopics.get("nodes");
-                for (Map<String, Object> topicNode : topicNodes) {
-                    Map<String, Object> topic = (Map<String, Object>) topicNode.get("topic");
-                    topics.add((String) topic.get("name"));
-                }
-                repo.setTopics(topics);
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
 
-                entities.add(repo);
+    /**
+     * Merge one page of fetched repositories into the stored rows and return
+     * the entities that need writing.
+     */
+    private List<RepositoryEntity> applyPage(User user, List<RepositoryEntity> incoming, Instant lastSync,
+            Set<String> touchedSkills) {
+        if (incoming.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> ids = incoming.stream().map(RepositoryEntity::getGhRepoId).toList();
+        Map<Long, RepositoryEntity> existing = new HashMap<>();
+        for (RepositoryEntity repo : repoRepository.findByUserIdAndGhRepoIdIn(user.getId(), ids)) {
+            existing.put(repo.getGhRepoId(), repo);
+        }
+
+        List<RepositoryEntity> toSave = new ArrayList<>();
+        for (RepositoryEntity repo : incoming) {
+            RepositoryEntity current = existing.get(repo.getGhRepoId());
+            if (current == null) {
+                SkillScores.collectSkillNames(repo, touchedSkills);
+                toSave.add(repo);
+            } else if (hasChanged(current, repo, lastSync)) {
+                if (affectsScores(current, repo)) {
+                    SkillScores.collectSkillNames(current, touchedSkills);
+                    SkillScores.collectSkillNames(repo, touchedSkills);
+                }
+                toSave.add(repo);
             }
-        } catch (Exception e) {
-            e.printStackTrace(); // Log error properly in prod
+        }
+        return toSave;
+    }
+
+    private void deleteRepos(User user, Set<Long> ghRepoIds, Set<String> touchedSkills) {
+        List<Long> ids = new ArrayList<>(ghRepoIds);
+        for (int i = 0; i < ids.size(); i += DELETE_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(i, Math.min(ids.size(), i + DELETE_CHUNK_SIZE));
+            List<RepositoryEntity> gone = repoRepository.findByUserIdAndGhRepoIdIn(user.getId(), chunk);
+            gone.forEach(repo -> SkillScores.collectSkillNames(repo, touchedSkills));
+            syncBulkRepository.deleteRepositories(user.getId(), chunk);
+            entityManager.clear();
+        }
+    }
+
+    private static boolean hasChanged(RepositoryEntity current, RepositoryEntity fetched, Instant lastSync) {
+        Instant pushedAt = fetched.getLastPushedAt();
+        Instant since = current.getLastPushedAt() != null ? current.getLastPushedAt() : lastSync;
+        boolean pushed = pushedAt != null && (since == null || pushedAt.isAfter(since));
+
+        return pushed
+                || !Objects.equals(current.getStars(), fetched.getStars())
+                || !Objects.equals(current.getForks(), fetched.getForks())
+                || !Objects.equals(current.getDescription(), fetched.getDescription())
+                || !Objects.equals(current.getFullName(), fetched.getFullName())
+                || !Objects.equals(current.getTopics(), fetched.getTopics());
+    }
+
+    private static boolean affectsScores(RepositoryEntity current, RepositoryEntity fetched) {
+        return !Objects.equals(current.getLanguages(), fetched.getLanguages())
+                || !Objects.equals(current.getTopics(), fetched.getTopics())
+                || !Objects.equals(current.getStars(), fetched.getStars());
+    }
+
+    private List<RepositoryEntity> toEntities(GitHubRepoPage page, User user) {
+        if (!page.errors().isEmpty()) {
+            log.warn("GitHub page for user {} had {} problems: {}", user.getUsername(), page.errors().size(),
+                    page.errors());
+        }
+
+        List<RepositoryEntity> entities = new ArrayList<>(page.repos().size());
+        for (GitHubRepo node : page.repos()) {
+            RepositoryEntity repo = new RepositoryEntity();
+            repo.setUser(user);
+            repo.setGhRepoId(node.databaseId());
+            repo.setFullName(node.nameWithOwner());
+            repo.setDescription(node.description());
+            repo.setStars(node.stars());
+            repo.setForks(node.forks());
+            repo.setLastPushedAt(node.pushedAt());
+            repo.setPrimaryLanguage(node.primaryLanguage());
+            repo.setLanguages(node.languages());
+            repo.setTopics(node.topics());
+            entities.add(repo);
         }
         return entities;
     }
@@ -0,0 +1,190 @@
+package com.yourorg.portfolio.service;
+
+import com.yourorg.portfolio.model.User;
+import com.yourorg.portfolio.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-instance near cache of {@link User} by GitHub id, so authenticated
+ * requests resolve their user without a query on warm paths.
+ *
+ * Bounded to {@code users.cache.max-size} entries, least recently used
+ * first out, each kept at most {@code users.cache.ttl}. Whoever writes a
+ * user calls {@link #invalidate}, which also tells every other instance
+ * through the {@code users:invalidate} channel.
+ *
+ * Every caller gets its own copy of the cached user, so a request changing
+ * the one it was handed can't leak into others. The copy shares the
+ * {@link com.yourorg.portfolio.model.SkillFeatures}, which a sync replaces
+ * rather than changes in place.
+ */
+@Component
+public class UserCache {
+
+    private static final Logger log = LoggerFactory.getLogger(UserCache.class);
+    private static final String INVALIDATE_CHANNEL = "users:invalidate";
+
+    private final UserRepository userRepository;
+    private final StringRedisTemplate redis;
+    private final RedisConnectionFactory connectionFactory;
+    private final Counter hits;
+    private final Counter misses;
+    private final Map<Long, Entry> entries;
+    /** Loads in flight by GitHub id, so one that raced an eviction is not cached. */
+    private final Map<Long, Load> loads = new HashMap<>();
+    private final long ttlNanos;
+    private RedisMessageListenerContainer listener;
+
+    private record Entry(User user, long loadedAt) {
+    }
+
+    /**
+     * The database reads of one user in progress; {@code evicted} is set if
+     * the user was evicted while any of them ran.
+     */
+    private static final class Load {
+        private int readers;
+        private boolean evicted;
+    }
+
+    public UserCache(UserRepository userRepository, StringRedisTemplate redis,
+            RedisConnectionFactory connectionFactory, MeterRegistry meterRegistry,
+            @Value("${users.cache.max-size:10000}") int maxSize,
+            @Value("${users.cache.ttl:5m}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.redis = redis;
+        this.connectionFactory = connectionFactory;
+        this.hits = meterRegistry.counter("users.cache", "result", "hit");
+        this.misses = meterRegistry.counter("users.cache", "result", "miss");
+        this.ttlNanos = ttl.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+        meterRegistry.gauge("users.cache.size", entries, map -> {
+            synchronized (map) {
+                return map.size();
+            }
+        });
+    }
+
+    @PostConstruct
+    void subscribe() {
+        listener = new RedisMessageListenerContainer();
+        listener.setConnectionFactory(connectionFactory);
+        listener.addMessageListener((message, pattern) -> {
+            try {
+                evictLocal(Long.valueOf(new String(message.getBody(), StandardCharsets.UTF_8)));
+            } catch (NumberFormatException e) {
+                log.warn("Ignoring malformed user invalidation: {}", e.getMessage());
+            }
+        }, new ChannelTopic(INVALIDATE_CHANNEL));
+        listener.afterPropertiesSet();
+        listener.start();
+    }
+
+    @PreDestroy
+    void shutdown() throws Exception {
+        if (listener != null) {
+            listener.destroy();
+        }
+    }
+
+    /**
+     * The user with this GitHub id, from the cache or the database.
+     *
+     * @return null if there is no such user
+     */
+    public User get(Long githubId) {
+        long now = System.nanoTime();
+        Entry entry;
+        Load load = null;
+        synchronized (entries) {
+            entry = entries.get(githubId);
+            if (entry == null || now - entry.loadedAt() >= ttlNanos) {
+                load = loads.computeIfAbsent(githubId, id -> new Load());
+                load.readers++;
+            }
+        }
+        if (load == null) {
+            hits.increment();
+            return copy(entry.user());
+        }
+
+        misses.increment();
+        User user = null;
+        try {
+            user = userRepository.findByGithubId(githubId).orElse(null);
+        } finally {
+            synchronized (entries) {
+                if (user != null && !load.evicted) {
+                    entries.put(githubId, new Entry(user, now));
+                }
+                if (--load.readers == 0) {
+                    loads.remove(githubId);
+                }
+            }
+        }
+        return user != null ? copy(user) : null;
+    }
+
+    /**
+     * Drop the user on every instance; call once the write is committed.
+     */
+    public void invalidate(Long githubId) {
+        if (githubId == null) {
+            return;
+        }
+        evictLocal(githubId);
+        try {
+            redis.convertAndSend(INVALIDATE_CHANNEL, githubId.toString());
+        } catch (Exception e) {
+            // Other instances catch up within users.cache.ttl
+            log.warn("Failed to publish invalidation for user {}: {}", githubId, e.getMessage());
+        }
+    }
+
+    private void evictLocal(Long githubId) {
+        synchronized (entries) {
+            entries.remove(githubId);
+            Load load = loads.get(githubId);
+            if (load != null) {
+                load.evicted = true;
+            }
+        }
+    }
+
+    private static User copy(User user) {
+        User copy = new User();
+        copy.setId(user.getId());
+        copy.setGithubId(user.getGithubId());
+        copy.setUsername(user.getUsername());
+        copy.setEmail(user.getEmail());
+        copy.setAvatarUrl(user.getAvatarUrl());
+        copy.setEncryptedAccessToken(user.getEncryptedAccessToken());
+        copy.setRoles(user.getRoles() != null ? user.getRoles().clone() : null);
+        copy.setCreatedAt(user.getCreatedAt());
+        copy.setLastSync(user.getLastSync());
+        copy.setSkillFeatures(user.getSkillFeatures());
+        return copy;
+    }
+}
@@ -1,62 +1,187 @@
 package com.yourorg.portfolio.service.github;
 
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientResponseException;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.HashMap;
 import java.util.Map;
-import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 @Service
 public class GitHubClient {
 
-    private final RestClient restClient;
-
-    public GitHubClient(RestClient.Builder builder) {
-        this.restClient = builder.baseUrl("https://api.github.com/graphql").build();
-    }
-
-    public Map<String, Object> fetchUserRepos(String accessToken) {
-        String query = """
-                query {
-                  viewer {
-                    repositories(first: 100, orderBy: {field: PUSHED_AT, direction: DESC}, ownerAffiliations: [OWNER, COLLABORATOR, ORGANIZATION_MEMBER]) {
-                      nodes {
-                        databaseId
-                        name
-                        nameWithOwner
-                        description
-                        stargazerCount
-                        forkCount
-                        pushedAt
-                        primaryLanguage {
+    private static final String REPOS_QUERY = """
+            query($first: Int!, $after: String) {
+              rateLimit {
+                cost
+                remaining
+                resetAt
+              }
+              viewer {
+                repositories(first: $first, after: $after, orderBy: {field: PUSHED_AT, direction: DESC}, ownerAffiliations: [OWNER, COLLABORATOR, ORGANIZATION_MEMBER]) {
+                  pageInfo {
+                    hasNextPage
+                    endCursor
+                  }
+                  nodes {
+                    databaseId
+                    name
+                    nameWithOwner
+                    description
+                    stargazerCount
+                    forkCount
+                    pushedAt
+                    primaryLanguage {
+                      name
+                    }
+                    languages(first: 10, orderBy: {field: SIZE, direction: DESC}) {
+                      edges {
+                        size
+                        node {
                           name
                         }
-                        languages(first: 10, orderBy: {field: SIZE, direction: DESC}) {
-                          edges {
-                            size
-                            node {
-                              name
-                            }
-                          }
-                        }
-                        repositoryTopics(first: 10) {
-                          nodes {
-                            topic {
-                              name
-                            }
-                          }
+                      }
+                    }
+                    repositoryTopics(first: 10) {
+                      nodes {
+                        topic {
+                          name
                         }
                       }
                     }
                   }
                 }
-                """;
+              }
+            }
+            """;
 
-        return restClient.post()
+    private final RestClient restClient;
+    private final GitHubRequestScheduler scheduler;
+    private final GitHubRepoPageParser pageParser;
+    private final ExecutorService prefetchExecutor;
+
+    @Value("${github.page-size:100}")
+    private int pageSize;
+
+    public GitHubClient(RestClient.Builder builder, GitHubRequestScheduler scheduler,
+            GitHubRepoPageParser pageParser,
+            @Value("${github.api-url:https://api.github.com/graphql}") String apiUrl,
+            @Value("${github.prefetch-threads:4}") int prefetchThreads) {
+        this.restClient = builder.baseUrl(apiUrl).build();
+        this.scheduler = scheduler;
+        this.pageParser = pageParser;
+        AtomicInteger counter = new AtomicInteger();
+        this.prefetchExecutor = Executors.newFixedThreadPool(prefetchThreads, r -> {
+            Thread t = new Thread(r, "github-prefetch-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Stream the viewer's repositories page by page, following
+     * {@code pageInfo.endCursor}. The next page is requested before
+     * {@code pageHandler} runs on the current one, so at most two pages are
+     * held in memory and the network round trip overlaps page processing.
+     * A page with errors is handled before the next one is requested, and a
+     * handler that throws interrupts the prefetch, so a failing sync spends
+     * no budget on pages it will not use. Every request goes through the
+     * {@link GitHubRequestScheduler}.
+     *
+     * @return number of pages fetched
+     */
+    public int fetchUserRepos(String accessToken, GitHubRequestPriority priority,
+            Consumer<GitHubRepoPage> pageHandler) {
+        GitHubRepoPage page = fetchReposPage(accessToken, priority, null);
+        int pages = 0;
+
+        while (page != null) {
+            pages++;
+            boolean more = page.hasNextPage() && page.endCursor() != null;
+            String cursor = page.endCursor();
+            Future<GitHubRepoPage> next = null;
+            if (more && page.errors().isEmpty()) {
+                next = prefetchExecutor.submit(() -> fetchReposPage(accessToken, priority, cursor));
+            }
+
+            try {
+                pageHandler.accept(page);
+            } catch (RuntimeException e) {
+                if (next != null) {
+                    next.cancel(true);
+                }
+                throw e;
+            }
+
+            if (next != null) {
+                page = await(next);
+            } else {
+                page = more ? fetchReposPage(accessToken, priority, cursor) : null;
+            }
+        }
+        return pages;
+    }
+
+    private GitHubRepoPage fetchReposPage(String accessToken, GitHubRequestPriority priority, String cursor) {
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("first", pageSize);
+        variables.put("after", cursor);
+
+        ResponseEntity<GitHubRepoPage> response = scheduler.execute(accessToken, priority, () -> restClient.post()
                 .header("Authorization", "Bearer " + accessToken)
                 .contentType(MediaType.APPLICATION_JSON)
-                .body(Map.of("query", query))
-                .retrieve()
-                .body(Map.class);
+                .body(Map.of("query", REPOS_QUERY, "variables", variables))
+                .exchange((request, res) -> {
+                    if (res.getStatusCode().isError()) {
+                        throw new RestClientResponseException("GitHub request failed: " + res.getStatusText(),
+                                res.getStatusCode(), res.getStatusText(), res.getHeaders(),
+                                res.getBody().readAllBytes(), StandardCharsets.UTF_8);
+                    }
+                    GitHubRepoPage page = pageParser.parse(res.getBody());
+                    if (page.rateLimited()) {
+                        // GraphQL reports an exhausted budget as a 200 with a RATE_LIMITED error
+                        throw new GitHubRateLimitException(String.join("; ", page.errors()),
+                                Instant.now().plusSeconds(60));
+                    }
+                    return ResponseEntity.status(res.getStatusCode()).headers(res.getHeaders()).body(page);
+                }));
+
+        GitHubRepoPage page = response.getBody();
+        GitHubRateLimit rateLimit = page.rateLimit();
+        if (rateLimit != null) {
+            scheduler.recordRateLimit(accessToken, rateLimit.cost(), rateLimit.remaining(), rateLimit.resetAt());
+        }
+        return page;
+    }
+
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for a GitHub page", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        prefetchExecutor.shutdownNow();
     }
 }
@@ -0,0 +1,9 @@
+package com.yourorg.portfolio.service.github;
+
+import java.time.Instant;
+
+/**
+ * The GraphQL {@code rateLimit} block returned alongside a query.
+ */
+public record GitHubRateLimit(int cost, int remaining, Instant resetAt) {
+}
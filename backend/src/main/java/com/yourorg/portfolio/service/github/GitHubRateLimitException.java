@@ -0,0 +1,21 @@
+package com.yourorg.portfolio.service.github;
+
+import java.time.Instant;
+
+/**
+ * Thrown when a GitHub request cannot be made within the allowed wait because
+ * the token (or the global budget) is out of rate-limit points.
+ */
+public class GitHubRateLimitException extends RuntimeException {
+
+    private final Instant retryAt;
+
+    public GitHubRateLimitException(String message, Instant retryAt) {
+        super(message);
+        this.retryAt = retryAt;
+    }
+
+    public Instant getRetryAt() {
+        return retryAt;
+    }
+}
@@ -0,0 +1,23 @@
+package com.yourorg.portfolio.service.github;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One repository node from the viewer repositories query, holding only the
+ * fields the sync uses.
+ *
+ * @param languages language name to bytes, largest first
+ */
+public record GitHubRepo(
+        long databaseId,
+        String nameWithOwner,
+        String description,
+        int stars,
+        int forks,
+        Instant pushedAt,
+        String primaryLanguage,
+        Map<String, Double> languages,
+        List<String> topics) {
+}
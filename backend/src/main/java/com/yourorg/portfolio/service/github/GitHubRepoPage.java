@@ -0,0 +1,19 @@
+package com.yourorg.portfolio.service.github;
+
+import java.util.List;
+
+/**
+ * One page of the viewer repositories connection.
+ *
+ * @param errors      per-node parse problems and GraphQL errors; nodes that
+ *                    could not be read are left out of {@code repos}
+ * @param rateLimited whether GraphQL reported a RATE_LIMITED error
+ */
+public record GitHubRepoPage(
+        List<GitHubRepo> repos,
+        boolean hasNextPage,
+        String endCursor,
+        GitHubRateLimit rateLimit,
+        List<String> errors,
+        boolean rateLimited) {
+}
@@ -0,0 +1,368 @@
+package com.yourorg.portfolio.service.github;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stream-parses a viewer repositories response straight into
+ * {@link GitHubRepoPage} without building an intermediate {@code Map} tree.
+ * Fields the sync does not use are skipped. A node with a bad field is
+ * reported in {@link GitHubRepoPage#errors()} and, if it lacks a usable id,
+ * dropped; the rest of the page is still returned. A response without
+ * {@code pageInfo} is reported as an error too, so callers never mistake it
+ * for an empty last page.
+ */
+@Component
+public class GitHubRepoPageParser {
+
+    private final JsonFactory jsonFactory;
+
+    public GitHubRepoPageParser(ObjectMapper objectMapper) {
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    public GitHubRepoPage parse(InputStream body) throws IOException {
+        try (JsonParser p = jsonFactory.createParser(body)) {
+            PageState page = new PageState();
+            if (p.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expected a JSON object from GitHub");
+            }
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                p.nextToken();
+                switch (field) {
+                    case "data" -> readData(p, page);
+                    case "errors" -> readErrors(p, page);
+                    default -> p.skipChildren();
+                }
+            }
+            if (!page.sawPageInfo) {
+                // data: null or a missing connection; the page says nothing about what exists
+                page.errors.add("data.viewer.repositories.pageInfo: missing");
+            }
+            return new GitHubRepoPage(page.repos, page.hasNextPage, page.endCursor, page.rateLimit,
+                    page.errors, page.rateLimited);
+        }
+    }
+
+    private void readData(JsonParser p, PageState page) throws IOException {
+        if (p.currentToken() != JsonToken.START_OBJECT) {
+            p.skipChildren();
+            return;
+        }
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+                case "rateLimit" -> page.rateLimit = readRateLimit(p, page.errors);
+                case "viewer" -> readObject(p, "repositories", () -> readRepositories(p, page));
+                default -> p.skipChildren();
+            }
+        }
+    }
+
+    private void readRepositories(JsonParser p, PageState page) throws IOException {
+        if (p.currentToken() != JsonToken.START_OBJECT) {
+            p.skipChildren();
+            return;
+        }
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+                case "pageInfo" -> readPageInfo(p, page);
+                case "nodes" -> readNodes(p, page);
+                default -> p.skipChildren();
+            }
+        }
+    }
+
+    private void readPageInfo(JsonParser p, PageState page) throws IOException {
+        if (p.currentToken() != JsonToken.START_OBJECT) {
+            p.skipChildren();
+            return;
+        }
+        page.sawPageInfo = true;
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            JsonToken value = p.nextToken();
+            switch (field) {
+                case "hasNextPage" -> page.hasNextPage = value == JsonToken.VALUE_TRUE;
+                case "endCursor" -> page.endCursor = value == JsonToken.VALUE_STRING ? p.getText() : null;
+                default -> p.skipChildren();
+            }
+        }
+    }
+
+    private void readNodes(JsonParser p, PageState page) throws IOException {
+        if (p.currentToken() != JsonToken.START_ARRAY) {
+            p.skipChildren();
+            return;
+        }
+        int index = 0;
+        while (p.nextToken() != JsonToken.END_ARRAY) {
+            if (p.currentToken() == JsonToken.START_OBJECT) {
+                GitHubRepo repo = readNode(p, index, page.errors);
+                if (repo != null) {
+                    page.repos.add(repo);
+                }
+            } else {
+                p.skipChildren();
+                page.errors.add("node[" + index + "]: expected an object");
+            }
+            index++;
+        }
+    }
+
+    private GitHubRepo readNode(JsonParser p, int index, List<String> errors) throws IOException {
+        String prefix = "node[" + index + "].";
+        Long databaseId = null;
+        String nameWithOwner = null;
+        String description = null;
+        Integer stars = null;
+        Integer forks = null;
+        Instant pushedAt = null;
+        String primaryLanguage = null;
+        Map<String, Double> languages = new LinkedHashMap<>();
+        List<String> topics = new ArrayList<>();
+
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+                case "databaseId" -> databaseId = readLong(p, prefix + field, errors);
+                case "nameWithOwner" -> nameWithOwner = readText(p, prefix + field, errors);
+                case "description" -> description = readText(p, prefix + field, errors);
+                case "stargazerCount" -> stars = readInt(p, prefix + field, errors);
+                case "forkCount" -> forks = readInt(p, prefix + field, errors);
+                case "pushedAt" -> pushedAt = readInstant(p, prefix + field, errors);
+                case "primaryLanguage" -> primaryLanguage = readName(p, prefix + field, errors);
+                case "languages" -> readLanguages(p, prefix + field, languages, errors);
+                case "repositoryTopics" -> readTopics(p, prefix + field, topics, errors);
+                default -> p.skipChildren();
+            }
+        }
+
+        if (databaseId == null) {
+            errors.add(prefix + "databaseId: missing, node skipped");
+            return null;
+        }
+        return new GitHubRepo(databaseId, nameWithOwner, description,
+                stars != null ? stars : 0, forks != null ? forks : 0,
+                pushedAt, primaryLanguage, languages, topics);
+    }
+
+    /**
+     * {@code languages { edges { size node { name } } }}
+     */
+    private void readLanguages(JsonParser p, String path, Map<String, Double> languages, List<String> errors)
+            throws IOException {
+        readObject(p, "edges", () -> readArray(p, () -> {
+            Integer size = null;
+            String name = null;
+            if (p.currentToken() != JsonToken.START_OBJECT) {
+                p.skipChildren();
+                return;
+            }
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                p.nextToken();
+                switch (field) {
+                    case "size" -> size = readInt(p, path + ".size", errors);
+                    case "node" -> name = readName(p, path + ".node", errors);
+                    default -> p.skipChildren();
+                }
+            }
+            if (name != null && size != null) {
+                languages.put(name, size.doubleValue());
+            }
+        }));
+    }
+
+    /**
+     * {@code repositoryTopics { nodes { topic { name } } }}
+     */
+    private void readTopics(JsonParser p, String path, List<String> topics, List<String> errors)
+            throws IOException {
+        readObject(p, "nodes", () -> readArray(p, () -> readObject(p, "topic", () -> {
+            String name = readName(p, path + ".topic", errors);
+            if (name != null) {
+                topics.add(name);
+            }
+        })));
+    }
+
+    private GitHubRateLimit readRateLimit(JsonParser p, List<String> errors) throws IOException {
+        if (p.currentToken() != JsonToken.START_OBJECT) {
+            p.skipChildren();
+            return null;
+        }
+        Integer cost = null;
+        Integer remaining = null;
+        Instant resetAt = null;
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+                case "cost" -> cost = readInt(p, "rateLimit.cost", errors);
+                case "remaining" -> remaining = readInt(p, "rateLimit.remaining", errors);
+                case "resetAt" -> resetAt = readInstant(p, "rateLimit.resetAt", errors);
+                default -> p.skipChildren();
+            }
+        }
+        return cost != null && remaining != null && resetAt != null
+                ? new GitHubRateLimit(cost, remaining, resetAt)
+                : null;
+    }
+
+    private void readErrors(JsonParser p, PageState page) throws IOException {
+        readArray(p, () -> {
+            if (p.currentToken() != JsonToken.START_OBJECT) {
+                p.skipChildren();
+                return;
+            }
+            String message = null;
+            String type = null;
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                p.nextToken();
+                switch (field) {
+                    case "message" -> message = readText(p, "errors.message", page.errors);
+                    case "type" -> type = readText(p, "errors.type", page.errors);
+                    default -> p.skipChildren();
+                }
+            }
+            if ("RATE_LIMITED".equals(type)) {
+                page.rateLimited = true;
+            }
+            page.errors.add("GraphQL " + (type != null ? type : "error") + ": " + message);
+        });
+    }
+
+    /**
+     * Read {@code { name: "..." }}, returning the name or {@code null}.
+     */
+    private String readName(JsonParser p, String path, List<String> errors) throws IOException {
+        String[] name = { null };
+        readObject(p, "name", () -> name[0] = readText(p, path + ".name", errors));
+        return name[0];
+    }
+
+    /**
+     * Walk an object, handing the value of {@code wanted} to {@code reader}
+     * and skipping every other field. Null and non-object values are skipped.
+     */
+    private static void readObject(JsonParser p, String wanted, TokenReader reader) throws IOException {
+        if (p.currentToken() != JsonToken.START_OBJECT) {
+            p.skipChildren();
+            return;
+        }
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            if (wanted.equals(field)) {
+                reader.read();
+            } else {
+                p.skipChildren();
+            }
+        }
+    }
+
+    private static void readArray(JsonParser p, TokenReader element) throws IOException {
+        if (p.currentToken() != JsonToken.START_ARRAY) {
+            p.skipChildren();
+            return;
+        }
+        while (p.nextToken() != JsonToken.END_ARRAY) {
+            element.read();
+        }
+    }
+
+    private static String readText(JsonParser p, String path, List<String> errors) throws IOException {
+        return switch (p.currentToken()) {
+            case VALUE_STRING -> p.getText();
+            case VALUE_NULL -> null;
+            default -> {
+                errors.add(path + ": expected a string");
+                p.skipChildren();
+                yield null;
+            }
+        };
+    }
+
+    private static Integer readInt(JsonParser p, String path, List<String> errors) throws IOException {
+        return switch (p.currentToken()) {
+            case VALUE_NUMBER_INT -> {
+                if (p.getNumberType() != JsonParser.NumberType.INT) {
+                    errors.add(path + ": integer out of range");
+                    yield null;
+                }
+                yield p.getIntValue();
+            }
+            case VALUE_NULL -> null;
+            default -> {
+                errors.add(path + ": expected an integer");
+                p.skipChildren();
+                yield null;
+            }
+        };
+    }
+
+    private static Long readLong(JsonParser p, String path, List<String> errors) throws IOException {
+        return switch (p.currentToken()) {
+            case VALUE_NUMBER_INT -> {
+                if (p.getNumberType() == JsonParser.NumberType.BIG_INTEGER) {
+                    errors.add(path + ": integer out of range");
+                    yield null;
+                }
+                yield p.getLongValue();
+            }
+            case VALUE_NULL -> null;
+            default -> {
+                errors.add(path + ": expected an integer");
+                p.skipChildren();
+                yield null;
+            }
+        };
+    }
+
+    private static Instant readInstant(JsonParser p, String path, List<String> errors) throws IOException {
+        String text = readText(p, path, errors);
+        if (text == null) {
+            return null;
+        }
+        try {
+            return Instant.parse(text);
+        } catch (DateTimeParseException e) {
+            errors.add(path + ": invalid timestamp '" + text + "'");
+            return null;
+        }
+    }
+
+    @FunctionalInterface
+    private interface TokenReader {
+        void read() throws IOException;
+    }
+
+    private static final class PageState {
+        private final List<GitHubRepo> repos = new ArrayList<>();
+        private final List<String> errors = new ArrayList<>();
+        private boolean sawPageInfo;
+        private boolean hasNextPage;
+        private String endCursor;
+        private GitHubRateLimit rateLimit;
+        private boolean rateLimited;
+    }
+}
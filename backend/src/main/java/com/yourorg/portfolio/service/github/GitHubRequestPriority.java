@@ -0,0 +1,11 @@
+package com.yourorg.portfolio.service.github;
+
+/**
+ * Scheduling class of a GitHub request. Interactive requests (a user waiting
+ * on a sync they triggered) are admitted ahead of background ones and may
+ * spend a token's reserved points.
+ */
+public enum GitHubRequestPriority {
+    INTERACTIVE,
+    BACKGROUND
+}
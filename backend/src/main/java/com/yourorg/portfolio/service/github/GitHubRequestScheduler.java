@@ -0,0 +1,375 @@
+package com.yourorg.portfolio.service.github;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientResponseException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Admits GitHub API requests against the rate limits GitHub reports back.
+ *
+ * Each access token gets a budget seeded from the {@code x-ratelimit-*}
+ * headers and GraphQL {@code rateLimit { cost remaining resetAt }} fields;
+ * requests that would overdraw it wait for the reset. A global token bucket
+ * caps the points spent across all tokens. Interactive requests are admitted
+ * before background ones, and background requests leave a per-token reserve
+ * untouched. Secondary rate limits (403/429 with {@code retry-after}) are
+ * retried with backoff. Budgets of tokens that have gone quiet are dropped
+ * once their reset has passed.
+ */
+@Component
+public class GitHubRequestScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(GitHubRequestScheduler.class);
+    private static final Duration MAX_BACKOFF = Duration.ofMinutes(1);
+
+    private final Map<String, TokenBudget> budgets = new ConcurrentHashMap<>();
+    private final GlobalBudget globalBudget;
+
+    private final ReentrantLock admission = new ReentrantLock();
+    private final Condition slotFreed = admission.newCondition();
+    private int inFlight;
+    private int interactiveWaiting;
+
+    @Value("${github.rate-limit.max-concurrent:8}")
+    private int maxConcurrent;
+
+    @Value("${github.rate-limit.background-reserve:500}")
+    private int backgroundReserve;
+
+    @Value("${github.rate-limit.max-retries:3}")
+    private int maxRetries;
+
+    @Value("${github.rate-limit.initial-backoff:1s}")
+    private Duration initialBackoff;
+
+    @Value("${github.rate-limit.interactive-max-wait:30s}")
+    private Duration interactiveMaxWait;
+
+    @Value("${github.rate-limit.background-max-wait:5m}")
+    private Duration backgroundMaxWait;
+
+    @Value("${github.rate-limit.budget-idle-after:10m}")
+    private Duration budgetIdleAfter;
+
+    public GitHubRequestScheduler(@Value("${github.rate-limit.global-points-per-hour:50000}") int globalPointsPerHour) {
+        this.globalBudget = new GlobalBudget(globalPointsPerHour);
+    }
+
+    /**
+     * Run {@code request} once the token and global budgets allow it,
+     * retrying on secondary rate limits.
+     */
+    public <T> ResponseEntity<T> execute(String accessToken, GitHubRequestPriority priority,
+            Supplier<ResponseEntity<T>> request) {
+        TokenBudget budget = budgets.computeIfAbsent(tokenKey(accessToken), k -> new TokenBudget());
+        Duration maxWait = priority == GitHubRequestPriority.INTERACTIVE ? interactiveMaxWait : backgroundMaxWait;
+        int reserve = priority == GitHubRequestPriority.BACKGROUND ? backgroundReserve : 0;
+
+        for (int attempt = 0;; attempt++) {
+            waitForBudget(budget, reserve, maxWait);
+            acquireSlot(priority);
+            try {
+                ResponseEntity<T> response = request.get();
+                budget.update(response.getHeaders());
+                return response;
+            } catch (RestClientResponseException e) {
+                if (!isRateLimited(e)) {
+                    throw e;
+                }
+                budget.update(e.getResponseHeaders());
+                Instant retryAt = retryAt(e.getResponseHeaders(), attempt);
+                budget.blockUntil(retryAt);
+                if (attempt >= maxRetries) {
+                    throw new GitHubRateLimitException("GitHub rate limit persisted after " + attempt + " retries",
+                            retryAt);
+                }
+                log.warn("GitHub rate limited ({}), retrying at {}", e.getStatusCode(), retryAt);
+            } catch (GitHubRateLimitException e) {
+                budget.blockUntil(e.getRetryAt());
+                if (attempt >= maxRetries) {
+                    throw e;
+                }
+                log.warn("GitHub rate limited ({}), retrying at {}", e.getMessage(), e.getRetryAt());
+            } finally {
+                releaseSlot();
+            }
+        }
+    }
+
+    /**
+     * Record the GraphQL {@code rateLimit} block of a response. The cost is
+     * used as the estimate for the token's next request.
+     */
+    public void recordRateLimit(String accessToken, int cost, int remaining, Instant resetAt) {
+        budgets.computeIfAbsent(tokenKey(accessToken), k -> new TokenBudget())
+                .update(cost, remaining, resetAt);
+    }
+
+    /**
+     * Drop the budgets of tokens that haven't been used for
+     * {@code budgetIdleAfter} and have nothing left to wait for. A token seen
+     * again starts over and learns its limits from the next response.
+     */
+    @Scheduled(fixedDelayString = "${github.rate-limit.budget-idle-after:10m}",
+            initialDelayString = "${github.rate-limit.budget-idle-after:10m}")
+    public void evictIdleBudgets() {
+        Instant now = Instant.now();
+        budgets.values().removeIf(budget -> budget.isIdle(now, budgetIdleAfter));
+    }
+
+    int budgetCount() {
+        return budgets.size();
+    }
+
+    private void waitForBudget(TokenBudget budget, int reserve, Duration maxWait) {
+        Instant deadline = Instant.now().plus(maxWait);
+        while (true) {
+            Instant ready = budget.reserve(reserve, globalBudget, Instant.now());
+            if (ready == null) {
+                return;
+            }
+            if (ready.isAfter(deadline)) {
+                throw new GitHubRateLimitException("GitHub rate-limit budget exhausted", ready);
+            }
+            sleepUntil(ready);
+        }
+    }
+
+    private void acquireSlot(GitHubRequestPriority priority) {
+        admission.lock();
+        try {
+            boolean interactive = priority == GitHubRequestPriority.INTERACTIVE;
+            if (interactive) {
+                interactiveWaiting++;
+            }
+            try {
+                while (inFlight >= maxConcurrent || (!interactive && interactiveWaiting > 0)) {
+                    slotFreed.await();
+                }
+            } finally {
+                if (interactive) {
+                    interactiveWaiting--;
+                }
+            }
+            inFlight++;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for a GitHub request slot", e);
+        } finally {
+            admission.unlock();
+        }
+    }
+
+    private void releaseSlot() {
+        admission.lock();
+        try {
+            inFlight--;
+            slotFreed.signalAll();
+        } finally {
+            admission.unlock();
+        }
+    }
+
+    private static boolean isRateLimited(RestClientResponseException e) {
+        int status = e.getStatusCode().value();
+        if (status == HttpStatus.TOO_MANY_REQUESTS.value()) {
+            return true;
+        }
+        if (status != HttpStatus.FORBIDDEN.value()) {
+            return false;
+        }
+        HttpHeaders headers = e.getResponseHeaders();
+        return (headers != null && (headers.containsKey(HttpHeaders.RETRY_AFTER)
+                || "0".equals(headers.getFirst("x-ratelimit-remaining"))))
+                || e.getResponseBodyAsString().toLowerCase().contains("rate limit");
+    }
+
+    private Instant retryAt(HttpHeaders headers, int attempt) {
+        Instant now = Instant.now();
+        if (headers != null) {
+            String retryAfter = headers.getFirst(HttpHeaders.RETRY_AFTER);
+            if (retryAfter != null) {
+                try {
+                    return now.plusSeconds(Long.parseLong(retryAfter.trim()));
+                } catch (NumberFormatException ignored) {
+                    // Fall through to exponential backoff
+                }
+            }
+            if ("0".equals(headers.getFirst("x-ratelimit-remaining"))) {
+                String reset = headers.getFirst("x-ratelimit-reset");
+                if (reset != null) {
+                    try {
+                        return Instant.ofEpochSecond(Long.parseLong(reset.trim()));
+                    } catch (NumberFormatException ignored) {
+                        // Fall through to exponential backoff
+                    }
+                }
+            }
+        }
+        long backoff = Math.min(MAX_BACKOFF.toMillis(), initialBackoff.toMillis() << Math.min(attempt, 10));
+        long jitter = ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+        return now.plusMillis(backoff / 2 + jitter);
+    }
+
+    private static void sleepUntil(Instant instant) {
+        long millis = Duration.between(Instant.now(), instant).toMillis();
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for GitHub rate limit", e);
+        }
+    }
+
+    private static String tokenKey(String accessToken) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(accessToken.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Remaining points of one access token as last reported by GitHub.
+     */
+    static final class TokenBudget {
+        private int remaining = -1;
+        private Instant resetAt;
+        private Instant blockedUntil;
+        private int lastCost = 1;
+        private Instant lastUsed = Instant.now();
+
+        /**
+         * Claim the estimated cost of the next request from this token and
+         * {@code global}, leaving {@code reserve} points untouched. Nothing is
+         * charged unless both have room.
+         *
+         * @return {@code null} if the request may proceed, otherwise when to retry
+         */
+        synchronized Instant reserve(int reserve, GlobalBudget global, Instant now) {
+            lastUsed = now;
+            if (blockedUntil != null && now.isBefore(blockedUntil)) {
+                return blockedUntil;
+            }
+            boolean known = remaining >= 0 && resetAt != null && now.isBefore(resetAt);
+            if (known && remaining - lastCost < reserve) {
+                return resetAt;
+            }
+            Instant globalReady = global.take(lastCost, now);
+            if (globalReady != null) {
+                return globalReady;
+            }
+            if (known) {
+                remaining -= lastCost;
+            }
+            return null;
+        }
+
+        synchronized int remaining() {
+            return remaining;
+        }
+
+        synchronized void update(int cost, int remaining, Instant resetAt) {
+            this.lastCost = Math.max(1, cost);
+            this.remaining = remaining;
+            this.resetAt = resetAt;
+            this.lastUsed = Instant.now();
+        }
+
+        synchronized void update(HttpHeaders headers) {
+            if (headers == null) {
+                return;
+            }
+            lastUsed = Instant.now();
+            String remainingHeader = headers.getFirst("x-ratelimit-remaining");
+            String resetHeader = headers.getFirst("x-ratelimit-reset");
+            try {
+                if (remainingHeader != null) {
+                    remaining = Integer.parseInt(remainingHeader.trim());
+                }
+                if (resetHeader != null) {
+                    resetAt = Instant.ofEpochSecond(Long.parseLong(resetHeader.trim()));
+                }
+            } catch (NumberFormatException e) {
+                log.debug("Ignoring malformed rate-limit headers: {} / {}", remainingHeader, resetHeader);
+            }
+        }
+
+        /**
+         * Whether this budget went unused for {@code idleAfter} and neither a
+         * reset nor a block is still ahead, so forgetting it loses nothing.
+         */
+        synchronized boolean isIdle(Instant now, Duration idleAfter) {
+            return lastUsed.plus(idleAfter).compareTo(now) <= 0
+                    && (resetAt == null || !now.isBefore(resetAt))
+                    && (blockedUntil == null || !now.isBefore(blockedUntil));
+        }
+
+        synchronized void blockUntil(Instant until) {
+            if (blockedUntil == null || until.isAfter(blockedUntil)) {
+                blockedUntil = until;
+            }
+        }
+    }
+
+    /**
+     * Token bucket shared by all access tokens, refilled continuously at
+     * {@code pointsPerHour}.
+     */
+    static final class GlobalBudget {
+        private final double capacity;
+        private final double pointsPerMilli;
+        private double available;
+        private Instant lastRefill = Instant.now();
+
+        GlobalBudget(int pointsPerHour) {
+            this.capacity = pointsPerHour;
+            this.pointsPerMilli = pointsPerHour / 3_600_000.0;
+            this.available = pointsPerHour;
+        }
+
+        /**
+         * @return {@code null} if {@code cost} points were taken, otherwise when
+         *         enough points will have accumulated
+         */
+        synchronized Instant take(int cost, Instant now) {
+            if (capacity <= 0) {
+                return null;
+            }
+            long elapsed = Duration.between(lastRefill, now).toMillis();
+            if (elapsed > 0) {
+                available = Math.min(capacity, available + elapsed * pointsPerMilli);
+                lastRefill = now;
+            }
+            if (available >= cost) {
+                available -= cost;
+                return null;
+            }
+            return now.plusMillis((long) Math.ceil((cost - available) / pointsPerMilli));
+        }
+    }
+}
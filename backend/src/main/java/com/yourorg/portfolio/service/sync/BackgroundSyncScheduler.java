@@ -0,0 +1,122 @@
+package com.yourorg.portfolio.service.sync;
+
+import com.yourorg.portfolio.repository.UserRepository;
+import com.yourorg.portfolio.service.github.GitHubRequestPriority;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps every user's repositories fresh without them pressing "sync".
+ *
+ * Each tick one instance (holding {@link SyncLocks#tryLockScheduler}) queues
+ * background jobs for the most overdue users. The number queued per tick is
+ * sized so that every user is visited about once per
+ * {@code sync.background.target-interval}, and is capped by
+ * {@code sync.background.max-queued} so a backlog never builds up faster
+ * than the workers drain it.
+ */
+@Component
+public class BackgroundSyncScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(BackgroundSyncScheduler.class);
+
+    private final UserRepository userRepository;
+    private final SyncJobQueue queue;
+    private final SyncLocks locks;
+    private final AtomicLong oldestSyncAgeSeconds = new AtomicLong();
+    private final AtomicLong staleUsers = new AtomicLong();
+
+    @Value("${sync.background.enabled:true}")
+    private boolean enabled;
+
+    @Value("${sync.background.tick:1m}")
+    private Duration tick;
+
+    @Value("${sync.background.target-interval:24h}")
+    private Duration targetInterval;
+
+    @Value("${sync.background.min-age:6h}")
+    private Duration minAge;
+
+    @Value("${sync.background.activity-window:30d}")
+    private Duration activityWindow;
+
+    @Value("${sync.background.max-queued:200}")
+    private int maxQueued;
+
+    public BackgroundSyncScheduler(UserRepository userRepository, SyncJobQueue queue, SyncLocks locks,
+            MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.queue = queue;
+        this.locks = locks;
+        Gauge.builder("sync.lag.oldest", oldestSyncAgeSeconds, AtomicLong::get)
+                .description("Seconds since the least recently synced user was synced")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("sync.lag.stale.users", staleUsers, AtomicLong::get)
+                .description("Users not synced within the target interval")
+                .register(meterRegistry);
+        Gauge.builder("sync.queue.pending", queue, q -> q.pending(GitHubRequestPriority.INTERACTIVE))
+                .tag("priority", GitHubRequestPriority.INTERACTIVE.name())
+                .register(meterRegistry);
+        Gauge.builder("sync.queue.pending", queue, q -> q.pending(GitHubRequestPriority.BACKGROUND))
+                .tag("priority", GitHubRequestPriority.BACKGROUND.name())
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${sync.background.tick:1m}", initialDelayString = "${sync.background.tick:1m}")
+    public void tick() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            Instant now = Instant.now();
+            refreshLag(now);
+            // Leave a little slack so this instance can win its own next tick
+            if (!locks.tryLockScheduler(tick.minus(tick.dividedBy(10)))) {
+                return;
+            }
+            scheduleDueUsers(now);
+        } catch (Exception e) {
+            log.error("Background sync tick failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private void scheduleDueUsers(Instant now) {
+        long room = maxQueued - queue.pending(GitHubRequestPriority.BACKGROUND);
+        if (room <= 0) {
+            log.debug("Background sync queue is full, skipping tick");
+            return;
+        }
+
+        long eligible = userRepository.countByEncryptedAccessTokenIsNotNull();
+        long perTick = (long) Math.ceil((double) eligible * tick.toMillis() / targetInterval.toMillis());
+        int limit = (int) Math.min(room, Math.max(1, perTick));
+
+        List<UUID> due = userRepository.findResyncCandidates(now.minus(minAge), now.minus(activityWindow), limit);
+        for (UUID userId : due) {
+            queue.enqueue(userId, GitHubRequestPriority.BACKGROUND);
+        }
+        if (!due.isEmpty()) {
+            log.info("Scheduled background sync for {} of {} eligible users", due.size(), eligible);
+        }
+    }
+
+    private void refreshLag(Instant now) {
+        oldestSyncAgeSeconds.set(userRepository.findOldestLastSync()
+                .map(oldest -> Duration.between(oldest, now).toSeconds())
+                .orElse(0L));
+        staleUsers.set(userRepository.countStale(now.minus(targetInterval)));
+    }
+}
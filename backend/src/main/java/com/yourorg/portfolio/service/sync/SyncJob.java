@@ -0,0 +1,146 @@
+package com.yourorg.portfolio.service.sync;
+
+import com.yourorg.portfolio.service.github.GitHubRequestPriority;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Snapshot of a sync job as stored in Redis.
+ */
+public class SyncJob {
+    private String id;
+    private UUID userId;
+    private GitHubRequestPriority priority;
+    private SyncJobStatus status;
+    private String stage;
+    private int reposProcessed;
+    private String error;
+    private Instant createdAt;
+    private Instant updatedAt;
+
+    public static SyncJob queued(UUID userId, GitHubRequestPriority priority) {
+        SyncJob job = new SyncJob();
+        job.setId(UUID.randomUUID().toString());
+        job.setUserId(userId);
+        job.setPriority(priority);
+        job.setStatus(SyncJobStatus.QUEUED);
+        job.setStage("QUEUED");
+        job.setCreatedAt(Instant.now());
+        job.setUpdatedAt(job.getCreatedAt());
+        return job;
+    }
+
+    /**
+     * Flatten to the string hash layout used in Redis.
+     */
+    public Map<String, String> toHash() {
+        Map<String, String> hash = new HashMap<>();
+        hash.put("id", id);
+        hash.put("userId", userId.toString());
+        hash.put("priority", priority.name());
+        hash.put("status", status.name());
+        hash.put("stage", stage != null ? stage : "");
+        hash.put("reposProcessed", Integer.toString(reposProcessed));
+        hash.put("error", error != null ? error : "");
+        hash.put("createdAt", createdAt.toString());
+        hash.put("updatedAt", updatedAt.toString());
+        return hash;
+    }
+
+    public static SyncJob fromHash(Map<Object, Object> hash) {
+        if (hash == null || hash.isEmpty()) {
+            return null;
+        }
+        SyncJob job = new SyncJob();
+        job.setId((String) hash.get("id"));
+        job.setUserId(UUID.fromString((String) hash.get("userId")));
+        job.setPriority(GitHubRequestPriority.valueOf(
+                (String) hash.getOrDefault("priority", GitHubRequestPriority.INTERACTIVE.name())));
+        job.setStatus(SyncJobStatus.valueOf((String) hash.get("status")));
+        job.setStage(emptyToNull((String) hash.get("stage")));
+        job.setReposProcessed(Integer.parseInt((String) hash.getOrDefault("reposProcessed", "0")));
+        job.setError(emptyToNull((String) hash.get("error")));
+        job.setCreatedAt(Instant.parse((String) hash.get("createdAt")));
+        job.setUpdatedAt(Instant.parse((String) hash.get("updatedAt")));
+        return job;
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public void setUserId(UUID userId) {
+        this.userId = userId;
+    }
+
+    public GitHubRequestPriority getPriority() {
+        return priority;
+    }
+
+    public void setPriority(GitHubRequestPriority priority) {
+        this.priority = priority;
+    }
+
+    public SyncJobStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(SyncJobStatus status) {
+        this.status = status;
+    }
+
+    public String getStage() {
+        return stage;
+    }
+
+    public void setStage(String stage) {
+        this.stage = stage;
+    }
+
+    public int getReposProcessed() {
+        return reposProcessed;
+    }
+
+    public void setReposProcessed(int reposProcessed) {
+        this.reposProcessed = reposProcessed;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,261 @@
+package com.yourorg.portfolio.service.sync;
+
+import com.yourorg.portfolio.service.github.GitHubRequestPriority;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Persistent sync job queue backed by Redis.
+ *
+ * Layout:
+ * - {@code sync:queue} list of pending interactive job ids (LPUSH / BRPOPLPUSH)
+ * - {@code sync:queue:background} list of pending background job ids, only
+ * drained while the interactive list is empty
+ * - {@code sync:processing} list of job ids currently claimed by a worker
+ * - {@code sync:queue:delayed} sorted set of job ids waiting to be queued
+ * again, scored by the epoch millis they are due
+ * - {@code sync:job:{id}} hash holding the {@link SyncJob} state
+ * - {@code sync:user:{userId}} id of the user's active job, used to collapse
+ * repeated requests into one job
+ */
+@Component
+public class SyncJobQueue {
+
+    private static final Logger log = LoggerFactory.getLogger(SyncJobQueue.class);
+
+    static final String QUEUE_KEY = "sync:queue";
+    static final String BACKGROUND_QUEUE_KEY = "sync:queue:background";
+    static final String PROCESSING_KEY = "sync:processing";
+    static final String DELAYED_KEY = "sync:queue:delayed";
+    private static final String JOB_KEY_PREFIX = "sync:job:";
+    private static final String USER_KEY_PREFIX = "sync:user:";
+
+    private final StringRedisTemplate redis;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${sync.queue.job-ttl:24h}")
+    private Duration jobTtl;
+
+    @Value("${sync.queue.stale-after:10m}")
+    private Duration staleAfter;
+
+    public SyncJobQueue(StringRedisTemplate redis, MeterRegistry meterRegistry) {
+        this.redis = redis;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public SyncJob enqueue(UUID userId) {
+        return enqueue(userId, GitHubRequestPriority.INTERACTIVE);
+    }
+
+    /**
+     * Queue a sync for the given user. If the user already has a queued or
+     * running job, that job is returned instead of creating a new one.
+     */
+    public SyncJob enqueue(UUID userId, GitHubRequestPriority priority) {
+        SyncJob job = SyncJob.queued(userId, priority);
+        String userKey = USER_KEY_PREFIX + userId;
+
+        Boolean claimed = redis.opsForValue().setIfAbsent(userKey, job.getId(), jobTtl);
+        if (!Boolean.TRUE.equals(claimed)) {
+            String activeId = redis.opsForValue().get(userKey);
+            SyncJob active = activeId != null ? getJob(activeId) : null;
+            if (active != null && !active.getStatus().isFinished()) {
+                log.debug("User {} already has active sync job {}", userId, activeId);
+                if (priority == GitHubRequestPriority.INTERACTIVE) {
+                    promote(active);
+                }
+                return active;
+            }
+            redis.opsForValue().set(userKey, job.getId(), jobTtl);
+        }
+
+        save(job);
+        redis.opsForList().leftPush(queueKey(priority), job.getId());
+        meterRegistry.counter("sync.jobs.enqueued", "priority", priority.name()).increment();
+        log.info("Queued {} sync job {} for user {}", priority, job.getId(), userId);
+        return job;
+    }
+
+    /**
+     * Move a still-queued background job onto the interactive list so a user
+     * waiting on it is not stuck behind the background backlog.
+     */
+    private void promote(SyncJob job) {
+        if (job.getPriority() != GitHubRequestPriority.BACKGROUND || job.getStatus() != SyncJobStatus.QUEUED) {
+            return;
+        }
+        Long removed = redis.opsForList().remove(BACKGROUND_QUEUE_KEY, 1, job.getId());
+        if (removed != null && removed > 0) {
+            update(job.getId(), Map.of("priority", GitHubRequestPriority.INTERACTIVE.name()));
+            redis.opsForList().leftPush(QUEUE_KEY, job.getId());
+            job.setPriority(GitHubRequestPriority.INTERACTIVE);
+            log.info("Promoted sync job {} to interactive", job.getId());
+        }
+    }
+
+    /**
+     * Take the next job id, interactive jobs first. Background jobs are only
+     * taken when {@code includeBackground} is set and no interactive job is
+     * waiting. When both are empty, blocks for up to {@code timeout} on the
+     * interactive list. The id is atomically moved to the processing list so
+     * it survives a worker crash.
+     */
+    public String take(Duration timeout, boolean includeBackground) {
+        String jobId = redis.opsForList().rightPopAndLeftPush(QUEUE_KEY, PROCESSING_KEY);
+        if (jobId == null && includeBackground) {
+            jobId = redis.opsForList().rightPopAndLeftPush(BACKGROUND_QUEUE_KEY, PROCESSING_KEY);
+        }
+        if (jobId != null) {
+            return jobId;
+        }
+        return redis.opsForList().rightPopAndLeftPush(QUEUE_KEY, PROCESSING_KEY,
+                timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public long pending(GitHubRequestPriority priority) {
+        Long size = redis.opsForList().size(queueKey(priority));
+        return size != null ? size : 0;
+    }
+
+    public SyncJob getJob(String jobId) {
+        Map<Object, Object> hash = redis.opsForHash().entries(JOB_KEY_PREFIX + jobId);
+        return SyncJob.fromHash(hash);
+    }
+
+    public void markRunning(String jobId) {
+        update(jobId, Map.of("status", SyncJobStatus.RUNNING.name(), "stage", "STARTED"));
+    }
+
+    public void updateStage(String jobId, String stage) {
+        update(jobId, Map.of("stage", stage));
+    }
+
+    public void updateReposProcessed(String jobId, int count) {
+        update(jobId, Map.of("reposProcessed", Integer.toString(count)));
+    }
+
+    /**
+     * Mark a running job as alive, so {@link #requeueStale} leaves it alone
+     * while it waits, e.g. for GitHub rate-limit budget.
+     */
+    public void heartbeat(String jobId) {
+        update(jobId, Map.of());
+    }
+
+    public void complete(SyncJob job) {
+        finish(job, SyncJobStatus.COMPLETED, null);
+    }
+
+    public void fail(SyncJob job, String error) {
+        finish(job, SyncJobStatus.FAILED, error);
+    }
+
+    /**
+     * Hand a claimed job back to be queued again after {@code delay}. The job
+     * stays active, so new requests for the user keep collapsing into it.
+     */
+    public void retryLater(SyncJob job, Duration delay) {
+        update(job.getId(), Map.of("status", SyncJobStatus.QUEUED.name(), "stage", "WAITING_FOR_LOCK"));
+        redis.opsForZSet().add(DELAYED_KEY, job.getId(), Instant.now().plus(delay).toEpochMilli());
+        redis.opsForList().remove(PROCESSING_KEY, 1, job.getId());
+    }
+
+    /**
+     * Queue delayed jobs that are due again.
+     */
+    public int requeueDelayed() {
+        Set<String> due = redis.opsForZSet().rangeByScore(DELAYED_KEY, 0, Instant.now().toEpochMilli());
+        if (due == null || due.isEmpty()) {
+            return 0;
+        }
+
+        int requeued = 0;
+        for (String jobId : due) {
+            Long removed = redis.opsForZSet().remove(DELAYED_KEY, jobId);
+            SyncJob job = getJob(jobId);
+            if (removed == null || removed == 0 || job == null || job.getStatus().isFinished()) {
+                continue;
+            }
+            redis.opsForList().rightPush(queueKey(job.getPriority()), jobId);
+            requeued++;
+        }
+        return requeued;
+    }
+
+    /**
+     * Return jobs left in the processing list by a crashed worker back to the
+     * queue once they have not been updated for {@code sync.queue.stale-after}.
+     */
+    public int requeueStale() {
+        List<String> processing = redis.opsForList().range(PROCESSING_KEY, 0, -1);
+        if (processing == null || processing.isEmpty()) {
+            return 0;
+        }
+
+        Instant cutoff = Instant.now().minus(staleAfter);
+        int requeued = 0;
+        for (String jobId : processing) {
+            SyncJob job = getJob(jobId);
+            if (job == null || job.getStatus().isFinished()) {
+                redis.opsForList().remove(PROCESSING_KEY, 1, jobId);
+                continue;
+            }
+            if (job.getUpdatedAt().isBefore(cutoff)) {
+                Long removed = redis.opsForList().remove(PROCESSING_KEY, 1, jobId);
+                if (removed != null && removed > 0) {
+                    update(jobId, Map.of("status", SyncJobStatus.QUEUED.name(), "stage", "REQUEUED"));
+                    redis.opsForList().rightPush(queueKey(job.getPriority()), jobId);
+                    requeued++;
+                }
+            }
+        }
+        if (requeued > 0) {
+            log.warn("Requeued {} stale sync jobs", requeued);
+        }
+        return requeued;
+    }
+
+    private void finish(SyncJob job, SyncJobStatus status, String error) {
+        update(job.getId(), Map.of(
+                "status", status.name(),
+                "stage", status.name(),
+                "error", error != null ? error : ""));
+        redis.opsForList().remove(PROCESSING_KEY, 1, job.getId());
+
+        String userKey = USER_KEY_PREFIX + job.getUserId();
+        if (job.getId().equals(redis.opsForValue().get(userKey))) {
+            redis.delete(userKey);
+        }
+    }
+
+    private static String queueKey(GitHubRequestPriority priority) {
+        return priority == GitHubRequestPriority.BACKGROUND ? BACKGROUND_QUEUE_KEY : QUEUE_KEY;
+    }
+
+    private void save(SyncJob job) {
+        String key = JOB_KEY_PREFIX + job.getId();
+        redis.opsForHash().putAll(key, job.toHash());
+        redis.expire(key, jobTtl);
+    }
+
+    private void update(String jobId, Map<String, String> fields) {
+        String key = JOB_KEY_PREFIX + jobId;
+        Map<String, String> values = new java.util.HashMap<>(fields);
+        values.put("updatedAt", Instant.now().toString());
+        redis.opsForHash().putAll(key, values);
+        redis.expire(key, jobTtl);
+    }
+}
@@ -0,0 +1,15 @@
+package com.yourorg.portfolio.service.sync;
+
+/**
+ * Lifecycle states of a queued sync job.
+ */
+public enum SyncJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED;
+
+    public boolean isFinished() {
+        return this == COMPLETED || this == FAILED;
+    }
+}
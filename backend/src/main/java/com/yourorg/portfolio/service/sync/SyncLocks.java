@@ -0,0 +1,77 @@
+package com.yourorg.portfolio.service.sync;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Redis leases shared by every backend instance.
+ *
+ * - {@code sync:lock:user:{userId}} held while a worker syncs that user, so
+ * two instances never fetch and write the same user's repositories at once
+ * - {@code sync:lock:scheduler} held for one tick by the instance that picks
+ * the users to resync in the background
+ *
+ * Leases expire on their own if the holder dies and are only renewed or
+ * released by the holder that set them.
+ */
+@Component
+public class SyncLocks {
+
+    private static final String USER_LOCK_PREFIX = "sync:lock:user:";
+    private static final String SCHEDULER_LOCK_KEY = "sync:lock:scheduler";
+
+    private static final RedisScript<Long> RELEASE = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private static final RedisScript<Long> RENEW = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('pexpire', KEYS[1], ARGV[2]) "
+                    + "else return 0 end",
+            Long.class);
+
+    private final StringRedisTemplate redis;
+    private final String instanceId = UUID.randomUUID().toString();
+
+    public SyncLocks(StringRedisTemplate redis) {
+        this.redis = redis;
+    }
+
+    /**
+     * @return the lease token to pass to {@link #releaseUser}, or {@code null}
+     *         if another worker holds the user
+     */
+    public String tryLockUser(UUID userId, Duration ttl) {
+        String token = instanceId + ":" + UUID.randomUUID();
+        Boolean acquired = redis.opsForValue().setIfAbsent(USER_LOCK_PREFIX + userId, token, ttl);
+        return Boolean.TRUE.equals(acquired) ? token : null;
+    }
+
+    /**
+     * Extend a held user lease to {@code ttl} from now.
+     *
+     * @return {@code false} if the lease already expired or was taken over
+     */
+    public boolean renewUser(UUID userId, String token, Duration ttl) {
+        Long renewed = redis.execute(RENEW, List.of(USER_LOCK_PREFIX + userId), token,
+                Long.toString(ttl.toMillis()));
+        return renewed != null && renewed == 1;
+    }
+
+    public void releaseUser(UUID userId, String token) {
+        redis.execute(RELEASE, List.of(USER_LOCK_PREFIX + userId), token);
+    }
+
+    /**
+     * Claim the scheduler for one tick. The lease is left to expire rather
+     * than released so no other instance schedules again within {@code ttl}.
+     */
+    public boolean tryLockScheduler(Duration ttl) {
+        return Boolean.TRUE.equals(redis.opsForValue().setIfAbsent(SCHEDULER_LOCK_KEY, instanceId, ttl));
+    }
+}
@@ -0,0 +1,23 @@
+package com.yourorg.portfolio.service.sync;
+
+/**
+ * Receives progress callbacks from {@link com.yourorg.portfolio.service.SyncService}
+ * while a sync is running.
+ */
+public interface SyncProgressListener {
+
+    SyncProgressListener NOOP = new SyncProgressListener() {
+    };
+
+    /**
+     * Called when the sync moves to a new stage (e.g. FETCHING, PERSISTING, SCORING).
+     */
+    default void onStage(String stage) {
+    }
+
+    /**
+     * Called with the running total of repositories processed so far.
+     */
+    default void onReposProcessed(int count) {
+    }
+}
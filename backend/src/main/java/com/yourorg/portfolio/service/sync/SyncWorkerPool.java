@@ -0,0 +1,231 @@
+package com.yourorg.portfolio.service.sync;
+
+import com.yourorg.portfolio.model.User;
+import com.yourorg.portfolio.repository.UserRepository;
+import com.yourorg.portfolio.service.SyncService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fixed-size pool of workers draining the {@link SyncJobQueue}.
+ * Keeps GitHub fetches and skill scoring off the servlet threads.
+ * At most {@code sync.background.max-concurrent} workers per instance run
+ * background jobs, so interactive syncs always find a free worker.
+ */
+@Component
+public class SyncWorkerPool implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(SyncWorkerPool.class);
+
+    private final SyncJobQueue queue;
+    private final SyncService syncService;
+    private final UserRepository userRepository;
+    private final SyncLocks locks;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${sync.workers:4}")
+    private int workerCount;
+
+    @Value("${sync.queue.poll-timeout:5s}")
+    private Duration pollTimeout;
+
+    @Value("${sync.queue.reap-interval:1m}")
+    private Duration reapInterval;
+
+    @Value("${sync.queue.heartbeat:1m}")
+    private Duration heartbeatInterval;
+
+    @Value("${sync.lock-ttl:3m}")
+    private Duration lockTtl;
+
+    @Value("${sync.queue.lock-retry-delay:1m}")
+    private Duration lockRetryDelay;
+
+    @Value("${sync.background.max-concurrent:2}")
+    private int maxBackgroundConcurrent;
+
+    private volatile boolean running;
+    private ExecutorService workers;
+    private ScheduledExecutorService reaper;
+    private Semaphore backgroundSlots;
+
+    public SyncWorkerPool(SyncJobQueue queue, SyncService syncService, UserRepository userRepository,
+            SyncLocks locks, MeterRegistry meterRegistry) {
+        this.queue = queue;
+        this.syncService = syncService;
+        this.userRepository = userRepository;
+        this.locks = locks;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void start() {
+        AtomicInteger counter = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(workerCount, r -> {
+            Thread t = new Thread(r, "sync-worker-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        reaper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "sync-reaper");
+            t.setDaemon(true);
+            return t;
+        });
+
+        backgroundSlots = new Semaphore(Math.min(maxBackgroundConcurrent, workerCount));
+        running = true;
+        for (int i = 0; i < workerCount; i++) {
+            workers.submit(this::pollLoop);
+        }
+        reaper.scheduleWithFixedDelay(this::reapStaleJobs, 0, reapInterval.toMillis(), TimeUnit.MILLISECONDS);
+        log.info("Started {} sync workers", workerCount);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        reaper.shutdownNow();
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(pollTimeout.toMillis() * 2, TimeUnit.MILLISECONDS)) {
+                workers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        log.info("Stopped sync workers");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void pollLoop() {
+        while (running) {
+            boolean backgroundSlot = backgroundSlots.tryAcquire();
+            try {
+                String jobId = queue.take(pollTimeout, backgroundSlot);
+                if (jobId != null) {
+                    process(jobId);
+                }
+            } catch (Exception e) {
+                if (!running) {
+                    return;
+                }
+                log.error("Sync worker poll failed: {}", e.getMessage());
+                sleepQuietly(pollTimeout);
+            } finally {
+                if (backgroundSlot) {
+                    backgroundSlots.release();
+                }
+            }
+        }
+    }
+
+    private void process(String jobId) {
+        SyncJob job = queue.getJob(jobId);
+        if (job == null) {
+            log.warn("Sync job {} expired before it was picked up", jobId);
+            return;
+        }
+
+        String lease = locks.tryLockUser(job.getUserId(), lockTtl);
+        if (lease == null) {
+            // Usually the lease of a worker that died running this job, which lapses
+            // within sync.lock-ttl now that nothing renews it
+            log.info("User {} is still locked, retrying sync job {} in {}", job.getUserId(), jobId, lockRetryDelay);
+            queue.retryLater(job, lockRetryDelay);
+            return;
+        }
+
+        String priority = job.getPriority().name();
+        meterRegistry.timer("sync.job.queue.wait", "priority", priority)
+                .record(Duration.between(job.getCreatedAt(), Instant.now()));
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "completed";
+
+        queue.markRunning(jobId);
+        ScheduledFuture<?> heartbeat = null;
+        try {
+            heartbeat = reaper.scheduleWithFixedDelay(() -> heartbeat(jobId, job.getUserId(), lease),
+                    heartbeatInterval.toMillis(), heartbeatInterval.toMillis(), TimeUnit.MILLISECONDS);
+            Optional<User> user = userRepository.findById(job.getUserId());
+            if (user.isEmpty()) {
+                outcome = "failed";
+                queue.fail(job, "User not found");
+                return;
+            }
+
+            syncService.syncUser(user.get(), job.getPriority(), new SyncProgressListener() {
+                @Override
+                public void onStage(String stage) {
+                    queue.updateStage(jobId, stage);
+                }
+
+                @Override
+                public void onReposProcessed(int count) {
+                    queue.updateReposProcessed(jobId, count);
+                }
+            });
+            queue.complete(job);
+            log.info("Sync job {} completed for user {}", jobId, job.getUserId());
+        } catch (Exception e) {
+            outcome = "failed";
+            log.error("Sync job {} failed: {}", jobId, e.getMessage(), e);
+            queue.fail(job, e.getMessage());
+        } finally {
+            if (heartbeat != null) {
+                heartbeat.cancel(false);
+            }
+            locks.releaseUser(job.getUserId(), lease);
+            sample.stop(meterRegistry.timer("sync.job.duration", "priority", priority, "outcome", outcome));
+        }
+    }
+
+    private void heartbeat(String jobId, UUID userId, String lease) {
+        try {
+            queue.heartbeat(jobId);
+            if (!locks.renewUser(userId, lease, lockTtl)) {
+                log.warn("Lost the lock on user {} while running sync job {}", userId, jobId);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to heartbeat sync job {}: {}", jobId, e.getMessage());
+        }
+    }
+
+    private void reapStaleJobs() {
+        try {
+            queue.requeueStale();
+            queue.requeueDelayed();
+        } catch (Exception e) {
+            log.warn("Failed to requeue stale or delayed sync jobs: {}", e.getMessage());
+        }
+    }
+
+    private static void sleepQuietly(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
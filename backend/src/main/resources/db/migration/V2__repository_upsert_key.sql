@@ -0,0 +1,17 @@
+-- Earlier syncs inserted a new row per repository on every run. Keep one row
+-- per (user_id, gh_repo_id), preferring the most recently pushed copy.
+DELETE FROM repositories r
+USING repositories d
+WHERE r.user_id = d.user_id
+  AND r.gh_repo_id = d.gh_repo_id
+  AND (r.last_pushed_at, r.id) < (d.last_pushed_at, d.id);
+
+DELETE FROM repositories r
+USING repositories d
+WHERE r.user_id = d.user_id
+  AND r.gh_repo_id = d.gh_repo_id
+  AND r.id < d.id;
+
+-- Conflict target for bulk INSERT ... ON CONFLICT upserts
+ALTER TABLE repositories
+  ADD CONSTRAINT uq_repositories_user_gh_repo UNIQUE (user_id, gh_repo_id);
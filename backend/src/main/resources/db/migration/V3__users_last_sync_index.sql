@@ -0,0 +1,3 @@
+-- The background resync scheduler selects users by last_sync age.
+CREATE INDEX IF NOT EXISTS idx_users_last_sync ON users (last_sync NULLS FIRST)
+  WHERE encrypted_access_token IS NOT NULL;
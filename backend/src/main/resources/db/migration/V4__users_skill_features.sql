@@ -0,0 +1,3 @@
+-- Per-skill aggregates of the user's repositories, written by every sync and
+-- sent to the ML service instead of the repositories themselves.
+ALTER TABLE users ADD COLUMN IF NOT EXISTS skill_features JSONB;
@@ -0,0 +1,70 @@
+package com.yourorg.portfolio.controller;
+
+import com.yourorg.portfolio.service.PortfolioSnapshotService;
+import com.yourorg.portfolio.service.PortfolioSnapshotService.Snapshot;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Content negotiation over a prepared snapshot.
+ */
+class PublicPortfolioControllerTest {
+
+    private static final byte[] IDENTITY = "{}".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] GZIP = "gzip".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] BROTLI = "br".getBytes(StandardCharsets.UTF_8);
+
+    private final PortfolioSnapshotService snapshots = mock(PortfolioSnapshotService.class);
+    private final PublicPortfolioController controller = new PublicPortfolioController(snapshots,
+            Duration.ofSeconds(60), Duration.ofMinutes(5), Duration.ofHours(1));
+
+    private ResponseEntity<byte[]> get(String acceptEncoding) {
+        ServletWebRequest request = new ServletWebRequest(new MockHttpServletRequest("GET", "/api/v1/portfolio/octo"),
+                new MockHttpServletResponse());
+        return controller.getPublicPortfolio("octo", acceptEncoding, request);
+    }
+
+    @Test
+    void brotliIsPreferredWhenAccepted() {
+        when(snapshots.get("octo")).thenReturn(new Snapshot("abc", -1, IDENTITY, GZIP, BROTLI));
+
+        ResponseEntity<byte[]> response = get("gzip, deflate, br");
+
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("br");
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"abc-br\"");
+        assertThat(response.getBody()).isEqualTo(BROTLI);
+    }
+
+    @Test
+    void explicitlyRefusedCodingIsNotChosenThroughTheWildcard() {
+        when(snapshots.get("octo")).thenReturn(new Snapshot("abc", -1, IDENTITY, GZIP, BROTLI));
+
+        ResponseEntity<byte[]> response = get("br;q=0, *");
+
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"abc-gzip\"");
+        assertThat(response.getBody()).isEqualTo(GZIP);
+    }
+
+    @Test
+    void snapshotWithoutBrotliIsServedGzipped() {
+        when(snapshots.get("octo")).thenReturn(new Snapshot("abc", -1, IDENTITY, GZIP, new byte[0]));
+
+        assertThat(get("br, gzip").getBody()).isEqualTo(GZIP);
+        ResponseEntity<byte[]> identity = get("br");
+        assertThat(identity.getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)).isFalse();
+        assertThat(identity.getHeaders().getETag()).isEqualTo("\"abc\"");
+        assertThat(identity.getBody()).isEqualTo(IDENTITY);
+    }
+}
@@ -0,0 +1,297 @@
+package com.yourorg.portfolio.loadtest;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process stand-in for the GitHub GraphQL endpoint, imported by
+ * {@link SyncLoadTest}. Answers the viewer repositories query that
+ * {@code GitHubClient} sends, for synthetic accounts identified by bearer
+ * tokens of the form {@code loadtest-{n}}.
+ *
+ * Account {@code n} always gets the same repositories, languages and topics.
+ * Every full listing of an account starts a new generation in which about
+ * {@code churn} of its repositories get a newer {@code pushedAt}, so repeated
+ * syncs exercise the delta path. Latency, 5xx errors and secondary rate
+ * limits can be injected per request.
+ */
+public class FakeGitHubServer {
+
+    private static final Logger log = LoggerFactory.getLogger(FakeGitHubServer.class);
+    static final String TOKEN_PREFIX = "loadtest-";
+    private static final Instant BASE_PUSHED_AT = Instant.parse("2024-01-01T00:00:00Z");
+
+    private final ObjectMapper objectMapper;
+    private final Map<Integer, AtomicInteger> generations = new ConcurrentHashMap<>();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong injectedFailures = new AtomicLong();
+
+    @Value("${loadtest.github.port:8089}")
+    private int port;
+
+    @Value("${loadtest.github.threads:32}")
+    private int threads;
+
+    @Value("${loadtest.github.repos-per-account:200}")
+    private int reposPerAccount;
+
+    @Value("${loadtest.github.language-pool:40}")
+    private int languagePool;
+
+    @Value("${loadtest.github.topic-pool:200}")
+    private int topicPool;
+
+    @Value("${loadtest.github.churn:0.05}")
+    private double churn;
+
+    @Value("${loadtest.github.latency:50ms}")
+    private Duration latency;
+
+    @Value("${loadtest.github.latency-jitter:50ms}")
+    private Duration latencyJitter;
+
+    @Value("${loadtest.github.error-rate:0.0}")
+    private double errorRate;
+
+    @Value("${loadtest.github.rate-limit-rate:0.0}")
+    private double rateLimitRate;
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public FakeGitHubServer(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @PostConstruct
+    void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+        AtomicInteger counter = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "fake-github-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        server.setExecutor(executor);
+        server.createContext("/graphql", this::handle);
+        server.start();
+        log.info("Fake GitHub GraphQL server listening on http://127.0.0.1:{}/graphql ({} repos per account)",
+                port, reposPerAccount);
+    }
+
+    @PreDestroy
+    void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    public long getRequests() {
+        return requests.get();
+    }
+
+    public long getInjectedFailures() {
+        return injectedFailures.get();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            requests.incrementAndGet();
+            JsonNode body = objectMapper.readTree(exchange.getRequestBody());
+            Integer account = account(exchange.getRequestHeaders().getFirst("Authorization"));
+            if (account == null) {
+                send(exchange, 401, "{\"message\":\"Bad credentials\"}");
+                return;
+            }
+
+            simulateLatency();
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            if (random.nextDouble() < rateLimitRate) {
+                injectedFailures.incrementAndGet();
+                exchange.getResponseHeaders().add("Retry-After", "1");
+                send(exchange, 403, "{\"message\":\"You have exceeded a secondary rate limit\"}");
+                return;
+            }
+            if (random.nextDouble() < errorRate) {
+                injectedFailures.incrementAndGet();
+                send(exchange, 502, "{\"message\":\"Server Error\"}");
+                return;
+            }
+
+            JsonNode variables = body.path("variables");
+            int first = variables.path("first").asInt(100);
+            String after = variables.path("after").isTextual() ? variables.path("after").asText() : null;
+            int offset = after != null ? Integer.parseInt(after) : 0;
+            AtomicInteger generation = generations.computeIfAbsent(account, k -> new AtomicInteger());
+            int gen = offset == 0 ? generation.incrementAndGet() : generation.get();
+
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream out = exchange.getResponseBody();
+                    JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+                writePage(json, account, gen, offset, Math.max(1, first));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Fake GitHub request failed: {}", e.getMessage());
+        }
+    }
+
+    private void writePage(JsonGenerator json, int account, int gen, int offset, int first) throws IOException {
+        int end = Math.min(reposPerAccount, offset + first);
+        boolean hasNextPage = end < reposPerAccount;
+
+        json.writeStartObject();
+        json.writeObjectFieldStart("data");
+
+        json.writeObjectFieldStart("rateLimit");
+        json.writeNumberField("cost", 1);
+        json.writeNumberField("remaining", 5000);
+        json.writeStringField("resetAt", Instant.now().plusSeconds(3600).toString());
+        json.writeEndObject();
+
+        json.writeObjectFieldStart("viewer");
+        json.writeObjectFieldStart("repositories");
+        json.writeObjectFieldStart("pageInfo");
+        json.writeBooleanField("hasNextPage", hasNextPage);
+        if (hasNextPage) {
+            json.writeStringField("endCursor", Integer.toString(end));
+        } else {
+            json.writeNullField("endCursor");
+        }
+        json.writeEndObject();
+
+        json.writeArrayFieldStart("nodes");
+        for (int r = offset; r < end; r++) {
+            writeRepo(json, account, r, gen);
+        }
+        json.writeEndArray();
+
+        json.writeEndObject();
+        json.writeEndObject();
+        json.writeEndObject();
+        json.writeEndObject();
+    }
+
+    private void writeRepo(JsonGenerator json, int account, int r, int gen) throws IOException {
+        Random random = new Random(((long) account << 32) | r);
+        String name = "repo-" + r;
+
+        json.writeStartObject();
+        json.writeNumberField("databaseId", (long) account * 1_000_000L + r);
+        json.writeStringField("name", name);
+        json.writeStringField("nameWithOwner", "loaduser" + account + "/" + name);
+        json.writeStringField("description", "Synthetic repository " + r + " of account " + account);
+        json.writeNumberField("stargazerCount", random.nextInt(500));
+        json.writeNumberField("forkCount", random.nextInt(50));
+        json.writeStringField("pushedAt", BASE_PUSHED_AT.plus(Duration.ofHours(lastTouched(r, gen))).toString());
+
+        int languageCount = 1 + random.nextInt(4);
+        String primary = "Lang" + random.nextInt(languagePool);
+        json.writeObjectFieldStart("primaryLanguage");
+        json.writeStringField("name", primary);
+        json.writeEndObject();
+
+        json.writeObjectFieldStart("languages");
+        json.writeArrayFieldStart("edges");
+        writeLanguage(json, primary, 10_000 + random.nextInt(200_000));
+        for (int i = 1; i < languageCount; i++) {
+            writeLanguage(json, "Lang" + random.nextInt(languagePool), 100 + random.nextInt(10_000));
+        }
+        json.writeEndArray();
+        json.writeEndObject();
+
+        json.writeObjectFieldStart("repositoryTopics");
+        json.writeArrayFieldStart("nodes");
+        int topicCount = random.nextInt(6);
+        for (int i = 0; i < topicCount; i++) {
+            json.writeStartObject();
+            json.writeObjectFieldStart("topic");
+            json.writeStringField("name", "topic-" + random.nextInt(topicPool));
+            json.writeEndObject();
+            json.writeEndObject();
+        }
+        json.writeEndArray();
+        json.writeEndObject();
+
+        json.writeEndObject();
+    }
+
+    private static void writeLanguage(JsonGenerator json, String name, int size) throws IOException {
+        json.writeStartObject();
+        json.writeNumberField("size", size);
+        json.writeObjectFieldStart("node");
+        json.writeStringField("name", name);
+        json.writeEndObject();
+        json.writeEndObject();
+    }
+
+    /**
+     * Latest generation (in hours past the base timestamp) in which repo
+     * {@code r} was pushed. Repos take turns, {@code 1/churn} generations apart.
+     */
+    private long lastTouched(int r, int gen) {
+        if (churn <= 0 || gen <= 1) {
+            return 0;
+        }
+        int period = Math.max(1, (int) Math.round(1 / churn));
+        int last = gen - Math.floorMod(gen - r, period);
+        return Math.max(0, last);
+    }
+
+    private void simulateLatency() {
+        long millis = latency.toMillis();
+        if (latencyJitter.toMillis() > 0) {
+            millis += ThreadLocalRandom.current().nextLong(latencyJitter.toMillis() + 1);
+        }
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Integer account(String authorization) {
+        if (authorization == null || !authorization.startsWith("Bearer " + TOKEN_PREFIX)) {
+            return null;
+        }
+        try {
+            return Integer.parseInt(authorization.substring(("Bearer " + TOKEN_PREFIX).length()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static void send(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
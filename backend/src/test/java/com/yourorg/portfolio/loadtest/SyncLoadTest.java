@@ -0,0 +1,179 @@
+package com.yourorg.portfolio.loadtest;
+
+import com.yourorg.portfolio.model.User;
+import com.yourorg.portfolio.repository.UserRepository;
+import com.yourorg.portfolio.service.SyncService;
+import com.yourorg.portfolio.service.github.GitHubRequestPriority;
+import com.yourorg.portfolio.service.sync.SyncProgressListener;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives {@link SyncService#syncUser} for {@code loadtest.users} synthetic
+ * accounts served by {@link FakeGitHubServer}, {@code loadtest.concurrency}
+ * at a time, and logs throughput, latency percentiles and the resulting row
+ * counts for each round. The first round is a full import; later rounds
+ * measure the delta path.
+ *
+ * Needs the Postgres and Redis from docker-compose and is skipped unless
+ * {@code -Dloadtest=true} is set:
+ * {@code mvn test -Dtest=SyncLoadTest -Dloadtest=true}. Settings are in
+ * {@code application-loadtest.yml} and can be overridden the same way, e.g.
+ * {@code -Dloadtest.users=500}. Synthetic users get negative GitHub ids so
+ * they never collide with real accounts.
+ */
+@SpringBootTest
+@ActiveProfiles("loadtest")
+@Import(FakeGitHubServer.class)
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class SyncLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(SyncLoadTest.class);
+
+    @Autowired
+    private SyncService syncService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private FakeGitHubServer fakeGitHub;
+
+    @Value("${loadtest.users:50}")
+    private int users;
+
+    @Value("${loadtest.concurrency:8}")
+    private int concurrency;
+
+    @Value("${loadtest.rounds:2}")
+    private int rounds;
+
+    @Value("${loadtest.priority:INTERACTIVE}")
+    private GitHubRequestPriority priority;
+
+    @Value("${loadtest.github.error-rate:0.0}")
+    private double errorRate;
+
+    @Test
+    void syncsSyntheticAccountsConcurrently() throws Exception {
+        List<User> accounts = prepareUsers();
+        log.info("Load test: {} users, concurrency {}, {} rounds", users, concurrency, rounds);
+
+        int failures = 0;
+        for (int round = 1; round <= rounds; round++) {
+            failures += runRound(round, accounts);
+        }
+
+        if (errorRate == 0) {
+            assertThat(failures).as("failed syncs").isZero();
+        }
+    }
+
+    private int runRound(int round, List<User> accounts) throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(concurrency);
+        long[] latenciesNanos = new long[accounts.size()];
+        AtomicInteger failures = new AtomicInteger();
+        long requestsBefore = fakeGitHub.getRequests();
+        long started = System.nanoTime();
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < accounts.size(); i++) {
+            int index = i;
+            User account = accounts.get(i);
+            futures.add(pool.submit(() -> {
+                long t0 = System.nanoTime();
+                try {
+                    User user = userRepository.findById(account.getId()).orElseThrow();
+                    syncService.syncUser(user, priority, SyncProgressListener.NOOP);
+                } catch (Exception e) {
+                    failures.incrementAndGet();
+                    log.warn("Load test sync for {} failed: {}", account.getUsername(), e.getMessage());
+                } finally {
+                    latenciesNanos[index] = System.nanoTime() - t0;
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (Exception e) {
+                failures.incrementAndGet();
+            }
+        }
+        pool.shutdown();
+        pool.awaitTermination(1, TimeUnit.MINUTES);
+
+        double elapsedSeconds = (System.nanoTime() - started) / 1e9;
+        Arrays.sort(latenciesNanos);
+        Long repoRows = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM repositories r JOIN users u ON u.id = r.user_id WHERE u.github_id < 0",
+                Long.class);
+        Long skillRows = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM user_skills s JOIN users u ON u.id = s.user_id WHERE u.github_id < 0",
+                Long.class);
+
+        log.info("""
+                Load test round {}:
+                  syncs        {} ok, {} failed in {} s ({} syncs/s)
+                  latency ms   p50 {} | p95 {} | p99 {} | max {}
+                  github       {} requests, {} injected failures so far
+                  rows         {} repositories, {} user_skills""",
+                round,
+                accounts.size() - failures.get(), failures.get(),
+                String.format("%.2f", elapsedSeconds),
+                String.format("%.1f", accounts.size() / elapsedSeconds),
+                percentileMillis(latenciesNanos, 0.50), percentileMillis(latenciesNanos, 0.95),
+                percentileMillis(latenciesNanos, 0.99), percentileMillis(latenciesNanos, 1.0),
+                fakeGitHub.getRequests() - requestsBefore, fakeGitHub.getInjectedFailures(),
+                repoRows, skillRows);
+        return failures.get();
+    }
+
+    private List<User> prepareUsers() {
+        List<User> accounts = new ArrayList<>(users);
+        for (int i = 1; i <= users; i++) {
+            long githubId = -i;
+            int account = i;
+            User user = userRepository.findByGithubId(githubId).orElseGet(() -> {
+                User created = new User();
+                created.setGithubId(githubId);
+                created.setUsername("loaduser" + account);
+                created.setRoles(new String[] { "USER" });
+                return created;
+            });
+            user.setEncryptedAccessToken(FakeGitHubServer.TOKEN_PREFIX + account);
+            accounts.add(userRepository.save(user));
+        }
+        return accounts;
+    }
+
+    private static long percentileMillis(long[] sortedNanos, double percentile) {
+        if (sortedNanos.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+        return TimeUnit.NANOSECONDS.toMillis(sortedNanos[Math.max(0, Math.min(index, sortedNanos.length - 1))]);
+    }
+}
@@ -0,0 +1,199 @@
+package com.yourorg.portfolio.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yourorg.portfolio.model.RepositoryEntity;
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rows per second written by a sync, before and after {@link SyncBulkRepository}.
+ *
+ * The {@code perRow} benchmarks issue what the JPA path did: one INSERT per
+ * repository ({@code saveAll} with generated ids and no batching), and a
+ * lookup plus INSERT or UPDATE per user skill. Every invocation writes 500
+ * new rows in one transaction.
+ *
+ * Needs a Postgres, by default the docker-compose one:
+ * {@code mvn test-compile exec:exec -Pbench -Dbench=SyncBulkRepositoryBenchmark}
+ * (JMH options such as {@code -p url=...} can be appended to the regex).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SyncBulkRepositoryBenchmark {
+
+    private static final int ROWS = 500;
+
+    @Param("jdbc:postgresql://127.0.0.1:5433/skill_platform?reWriteBatchedInserts=true")
+    public String url;
+
+    @Param("user")
+    public String username;
+
+    @Param("password")
+    public String password;
+
+    private HikariDataSource dataSource;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate tx;
+    private SyncBulkRepository bulk;
+    private ObjectMapper objectMapper;
+
+    private UUID userId;
+    private List<UUID> skillIds;
+    private List<RepositoryEntity> repos;
+    private Map<UUID, Double> scores;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        Flyway.configure().dataSource(dataSource).load().migrate();
+
+        jdbc = new JdbcTemplate(dataSource);
+        tx = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        objectMapper = new ObjectMapper();
+        bulk = new SyncBulkRepository(jdbc, objectMapper);
+        ReflectionTestUtils.setField(bulk, "batchSize", 500);
+
+        userId = jdbc.queryForObject("INSERT INTO users (github_id, username) VALUES (?, ?) RETURNING id",
+                UUID.class, -ThreadLocalRandom.current().nextLong(1, Long.MAX_VALUE), "bench-" + UUID.randomUUID());
+        skillIds = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            skillIds.add(jdbc.queryForObject(
+                    "INSERT INTO skills (name, category) VALUES (?, 'bench') RETURNING id",
+                    UUID.class, "bench-" + UUID.randomUUID()));
+        }
+
+        repos = new ArrayList<>(ROWS);
+        scores = new LinkedHashMap<>();
+        for (int i = 0; i < ROWS; i++) {
+            repos.add(repo(i));
+            scores.put(skillIds.get(i), (double) i);
+        }
+    }
+
+    /**
+     * Start every invocation from an empty account, so all variants write
+     * the same new rows; this is cheap next to the writes it precedes.
+     */
+    @Setup(Level.Invocation)
+    public void clearRows() {
+        jdbc.update("DELETE FROM repositories WHERE user_id = ?", userId);
+        jdbc.update("DELETE FROM user_skills WHERE user_id = ?", userId);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        jdbc.update("DELETE FROM users WHERE id = ?", userId);
+        jdbc.update("DELETE FROM skills WHERE category = 'bench'");
+        dataSource.close();
+    }
+
+    /**
+     * One INSERT per repository, as {@code repoRepository.saveAll} issued.
+     */
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void repositoriesPerRow() {
+        tx.executeWithoutResult(status -> {
+            for (RepositoryEntity repo : repos) {
+                jdbc.update("""
+                        INSERT INTO repositories (id, user_id, gh_repo_id, full_name, description,
+                                                  primary_language, languages, topics, stars, forks,
+                                                  last_pushed_at)
+                        VALUES (?, ?, ?, ?, ?, ?, ?::jsonb, ?::jsonb, ?, ?, ?)
+                        """,
+                        UUID.randomUUID(), userId, repo.getGhRepoId(), repo.getFullName(), repo.getDescription(),
+                        repo.getPrimaryLanguage(), json(repo.getLanguages()), json(repo.getTopics()),
+                        repo.getStars(), repo.getForks(), Timestamp.from(repo.getLastPushedAt()));
+            }
+        });
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void repositoriesBatchedUpsert() {
+        tx.executeWithoutResult(status -> bulk.upsertRepositories(userId, repos));
+    }
+
+    /**
+     * A lookup then an UPDATE or INSERT per skill, as
+     * {@code findByUserIdAndSkillId} plus {@code save} issued.
+     */
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void userSkillsPerRow() {
+        tx.executeWithoutResult(status -> scores.forEach((skillId, score) -> {
+            List<UUID> existing = jdbc.queryForList(
+                    "SELECT id FROM user_skills WHERE user_id = ? AND skill_id = ?", UUID.class, userId, skillId);
+            if (existing.isEmpty()) {
+                jdbc.update("INSERT INTO user_skills (id, user_id, skill_id, score) VALUES (?, ?, ?, ?)",
+                        UUID.randomUUID(), userId, skillId, score);
+            } else {
+                jdbc.update("UPDATE user_skills SET score = ? WHERE id = ?", score, existing.get(0));
+            }
+        }));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void userSkillsBatchedUpsert() {
+        tx.executeWithoutResult(status -> bulk.upsertUserSkills(userId, scores));
+    }
+
+    private RepositoryEntity repo(int i) {
+        RepositoryEntity repo = new RepositoryEntity();
+        repo.setGhRepoId(1_000_000L + i);
+        repo.setFullName("bench/repo-" + i);
+        repo.setDescription("Benchmark repository " + i);
+        repo.setPrimaryLanguage("Java");
+        repo.setLanguages(Map.of("Java", 120_000.0, "Kotlin", 8_000.0, "Shell", 300.0));
+        repo.setTopics(List.of("spring-boot", "postgres", "benchmark"));
+        repo.setStars(i % 50);
+        repo.setForks(i % 7);
+        repo.setLastPushedAt(Instant.parse("2024-01-01T00:00:00Z").plusSeconds(i * 3600L));
+        return repo;
+    }
+
+    private String json(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.yourorg.portfolio.repository;
+
+import com.yourorg.portfolio.dto.PublicSkillView;
+import com.yourorg.portfolio.dto.UserSkillView;
+import com.yourorg.portfolio.model.Skill;
+import com.yourorg.portfolio.model.User;
+import com.yourorg.portfolio.model.UserSkill;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Counts the statements behind the skill reads, against the docker-compose
+ * Postgres (skipped when it is not running). Each test rolls back.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@EnabledIf("postgresAvailable")
+class UserSkillRepositoryTest {
+
+    @Autowired
+    private UserSkillRepository userSkillRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private UUID userId;
+    private Statistics statistics;
+
+    static boolean postgresAvailable() {
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress("127.0.0.1", 5433), 500);
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString();
+        User user = new User();
+        user.setUsername("stats-" + suffix);
+        entityManager.persist(user);
+        for (String name : List.of("Java", "Go", "SQL")) {
+            Skill skill = new Skill();
+            skill.setName(name + "-" + suffix);
+            skill.setCategory("Language");
+            entityManager.persist(skill);
+
+            UserSkill userSkill = new UserSkill();
+            userSkill.setUser(user);
+            userSkill.setSkill(skill);
+            userSkill.setScore(50.0);
+            userSkill.setEvidence(Map.of("repositories", List.of("a", "b")));
+            entityManager.persist(userSkill);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        userId = user.getId();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void viewsAreReadInOneStatement() {
+        List<UserSkillView> views = userSkillRepository.findViewsByUserId(userId);
+
+        assertThat(views).hasSize(3);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void publicViewsAreReadInOneStatement() {
+        List<PublicSkillView> views = userSkillRepository.findPublicViewsByUserId(userId);
+
+        assertThat(views).extracting(PublicSkillView::category).containsOnly("Language");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+}
@@ -0,0 +1,96 @@
+package com.yourorg.portfolio.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.yourorg.portfolio.dto.RecommendationDto.RecommendationResponse;
+import com.yourorg.portfolio.dto.RecommendationSection;
+import com.yourorg.portfolio.model.SkillFeatures;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the cases in {@code recommender/parity-cases.json} through the
+ * embedded engine and compares the result with what the Python
+ * {@code RecommenderSystem} returned for the same features, read the way
+ * {@link MLClient} reads the ML service's responses.
+ *
+ * After changing the Python engine or its knowledge base, regenerate the
+ * expected results with {@code ml-service/export_parity_fixtures.py}.
+ */
+class EmbeddedRecommendationEngineTest {
+
+    private static final ObjectMapper SNAKE_CASE = JsonMapper.builder()
+            .propertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE)
+            .build();
+
+    private final EmbeddedRecommendationEngine engine = new EmbeddedRecommendationEngine(
+            new DefaultResourceLoader(), new SimpleMeterRegistry(), "classpath:recommender/knowledge-base.json");
+    private final MLResponseReader reader = new MLResponseReader();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    static Stream<Arguments> cases() throws IOException {
+        try (InputStream in = EmbeddedRecommendationEngineTest.class
+                .getResourceAsStream("/recommender/parity-cases.json")) {
+            JsonNode cases = SNAKE_CASE.readTree(in).get("cases");
+            return StreamSupport.stream(cases.spliterator(), false)
+                    .map(node -> Arguments.of(node.get("name").asText(), node));
+        }
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("cases")
+    void matchesThePythonEngine(String name, JsonNode testCase) throws IOException {
+        SkillFeatures features = SNAKE_CASE.treeToValue(testCase.get("features"), SkillFeatures.class);
+        Set<RecommendationSection> sections = sections(testCase.get("sections"));
+
+        RecommendationResponse expected = reader.read(
+                new ByteArrayInputStream(SNAKE_CASE.writeValueAsBytes(testCase.get("expected"))), sections);
+        RecommendationResponse actual = engine.recommend(features, sections);
+
+        JsonNode actualTree = objectMapper.valueToTree(actual);
+        JsonNode expectedTree = objectMapper.valueToTree(expected);
+        assertThat(actualTree).isEqualTo(expectedTree);
+    }
+
+    @Test
+    void onlyLoadedInEmbeddedMode() {
+        ApplicationContextRunner runner = new ApplicationContextRunner()
+                .withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+                .withUserConfiguration(EmbeddedRecommendationEngine.class);
+
+        runner.run(context -> assertThat(context).doesNotHaveBean(EmbeddedRecommendationEngine.class));
+        runner.withPropertyValues("ml-service.mode=embedded")
+                .run(context -> assertThat(context).hasSingleBean(EmbeddedRecommendationEngine.class));
+    }
+
+    private static Set<RecommendationSection> sections(JsonNode names) {
+        if (names == null || names.isNull()) {
+            return RecommendationSection.ALL;
+        }
+        Set<RecommendationSection> sections = EnumSet.noneOf(RecommendationSection.class);
+        names.forEach(name -> sections.add(Arrays.stream(RecommendationSection.values())
+                .filter(section -> section.getMlName().equals(name.asText()))
+                .findFirst()
+                .orElseThrow()));
+        return sections;
+    }
+}
@@ -0,0 +1,280 @@
+package com.yourorg.portfolio.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yourorg.portfolio.dto.RecommendationDto.*;
+import com.yourorg.portfolio.dto.RecommendationSection;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Reading a {@code /recommend} response with {@link MLResponseReader}
+ * against the {@code Map<String, Object>} tree and hand-written copy it
+ * replaced. Every list in the response holds {@code items} entries.
+ *
+ * Run with the GC profiler to compare allocation per response:
+ * {@code mvn test-compile exec:exec -Pbench -Dbench="MLResponseReaderBenchmark -prof gc"}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MLResponseReaderBenchmark {
+
+    @Param("200")
+    public int items;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final MLResponseReader reader = new MLResponseReader();
+    private byte[] body;
+
+    @Setup
+    public void setUp() throws IOException {
+        body = objectMapper.writeValueAsBytes(fixture(items));
+    }
+
+    @Benchmark
+    public RecommendationResponse direct() throws IOException {
+        return reader.read(new ByteArrayInputStream(body), RecommendationSection.ALL);
+    }
+
+    /**
+     * The previous read: bind the body to a {@code Map} tree, then copy
+     * every field by hand, boxing every number.
+     */
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public RecommendationResponse mapTree() throws IOException {
+        Map<String, Object> response = objectMapper.readValue(new ByteArrayInputStream(body), Map.class);
+        RecommendationResponse result = new RecommendationResponse();
+        result.setCareerPaths(list(response.get("career_paths"), raw -> {
+            CareerPath cp = new CareerPath();
+            cp.setTitle((String) raw.get("title"));
+            cp.setScore(parseDouble(raw.get("score")));
+            cp.setConfidence(parseDouble(raw.get("confidence")));
+            cp.setDescription((String) raw.get("description"));
+            cp.setMatchedSkills(parseStringList(raw.get("matched_skills")));
+            cp.setSalaryRange((String) raw.get("salary_range"));
+            cp.setDemand((String) raw.get("demand"));
+            return cp;
+        }));
+        result.setSkillGaps(list(response.get("skill_gaps"), raw -> {
+            SkillGap sg = new SkillGap();
+            sg.setCareer((String) raw.get("career"));
+            sg.setMissingSkills(parseStringList(raw.get("missing_skills")));
+            sg.setNiceToHave(parseStringList(raw.get("nice_to_have")));
+            sg.setPriority((String) raw.get("priority"));
+            sg.setCompletionPercentage(parseInteger(raw.get("completion_percentage")));
+            return sg;
+        }));
+        result.setProjectIdeas(list(response.get("project_ideas"), raw -> {
+            ProjectIdea pi = new ProjectIdea();
+            pi.setTitle((String) raw.get("title"));
+            pi.setSkills(parseStringList(raw.get("skills")));
+            pi.setDifficulty((String) raw.get("difficulty"));
+            pi.setDescription((String) raw.get("description"));
+            pi.setEstimatedTime((String) raw.get("estimated_time"));
+            pi.setLearningGoals(parseStringList(raw.get("learning_goals")));
+            pi.setSkillsYouHave(parseStringList(raw.get("skills_you_have")));
+            pi.setSkillsToLearn(parseStringList(raw.get("skills_to_learn")));
+            pi.setMatchPercentage(parseInteger(raw.get("match_percentage")));
+            pi.setReason((String) raw.get("reason"));
+            return pi;
+        }));
+        result.setTechnologies(list(response.get("technologies"), raw -> {
+            Technology t = new Technology();
+            t.setTechnology((String) raw.get("technology"));
+            t.setCategory((String) raw.get("category"));
+            t.setDifficulty((String) raw.get("difficulty"));
+            t.setLearningTime((String) raw.get("learning_time"));
+            t.setJobRelevance((String) raw.get("job_relevance"));
+            t.setPrerequisitesMet(parseStringList(raw.get("prerequisites_met")));
+            t.setReason((String) raw.get("reason"));
+            return t;
+        }));
+        result.setLearningResources(list(response.get("learning_resources"), raw -> {
+            LearningResource lr = new LearningResource();
+            lr.setTitle((String) raw.get("title"));
+            lr.setProvider((String) raw.get("provider"));
+            lr.setSkills(parseStringList(raw.get("skills")));
+            lr.setDifficulty((String) raw.get("difficulty"));
+            lr.setDuration((String) raw.get("duration"));
+            lr.setUrl((String) raw.get("url"));
+            lr.setType((String) raw.get("type"));
+            lr.setRelevantSkills(parseStringList(raw.get("relevant_skills")));
+            lr.setRelevanceScore(parseInteger(raw.get("relevance_score")));
+            return lr;
+        }));
+
+        Map<String, Object> analysis = (Map<String, Object>) response.get("skill_analysis");
+        SkillAnalysis sa = new SkillAnalysis();
+        sa.setStrengths(list(analysis == null ? null : analysis.get("strengths"), raw -> {
+            Strength s = new Strength();
+            s.setSkill((String) raw.get("skill"));
+            s.setScore(parseDouble(raw.get("score")));
+            s.setReposCount(parseInteger(raw.get("repos_count")));
+            s.setCategory((String) raw.get("category"));
+            return s;
+        }));
+        sa.setWeaknesses(list(analysis == null ? null : analysis.get("weaknesses"), raw -> {
+            Weakness w = new Weakness();
+            w.setSkill((String) raw.get("skill"));
+            w.setReason((String) raw.get("reason"));
+            w.setSuggestion((String) raw.get("suggestion"));
+            return w;
+        }));
+        sa.setSkills(list(analysis == null ? null : analysis.get("skills"), raw -> {
+            SkillInfo s = new SkillInfo();
+            s.setSkill((String) raw.get("skill"));
+            s.setProficiency(parseInteger(raw.get("proficiency")));
+            s.setReposCount(parseInteger(raw.get("repos_count")));
+            s.setCategory((String) raw.get("category"));
+            return s;
+        }));
+        result.setSkillAnalysis(sa);
+
+        result.setRepoImprovements(list(response.get("repo_improvements"), raw -> {
+            RepoImprovement ri = new RepoImprovement();
+            ri.setRepo((String) raw.get("repo"));
+            ri.setCurrentStars(parseInteger(raw.get("current_stars")));
+            ri.setImprovements((List<Map<String, String>>) raw.get("improvements"));
+            return ri;
+        }));
+
+        Map<String, Object> stats = (Map<String, Object>) response.get("profile_stats");
+        ProfileStats ps = new ProfileStats();
+        if (stats != null) {
+            ps.setLanguageDiversity(parseInteger(stats.get("language_diversity")));
+            ps.setTopicDiversity(parseInteger(stats.get("topic_diversity")));
+            ps.setTotalRepos(parseInteger(stats.get("total_repos")));
+            ps.setTotalStars(parseInteger(stats.get("total_stars")));
+            ps.setAvgLanguagesPerRepo(parseDouble(stats.get("avg_languages_per_repo")));
+        }
+        result.setProfileStats(ps);
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> List<T> list(Object raw, Function<Map<String, Object>, T> parse) {
+        if (raw == null) {
+            return new ArrayList<>();
+        }
+        return ((List<Map<String, Object>>) raw).stream().map(parse).collect(Collectors.toList());
+    }
+
+    private static Double parseDouble(Object value) {
+        if (value == null) {
+            return 0.0;
+        }
+        if (value instanceof Number number) {
+            return number.doubleValue();
+        }
+        try {
+            return Double.parseDouble(value.toString());
+        } catch (NumberFormatException e) {
+            return 0.0;
+        }
+    }
+
+    private static Integer parseInteger(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof Number number) {
+            return number.intValue();
+        }
+        try {
+            return Integer.parseInt(value.toString());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static List<String> parseStringList(Object value) {
+        if (value instanceof List<?> values) {
+            return values.stream().map(Object::toString).collect(Collectors.toList());
+        }
+        return new ArrayList<>();
+    }
+
+    /**
+     * A {@code /recommend} response shaped like the ML service's, with
+     * {@code count} entries in every list and up to eight skills per entry.
+     */
+    static Map<String, Object> fixture(int count) {
+        String[] skills = { "Java", "Spring Boot", "PostgreSQL", "Redis", "Docker", "Kubernetes", "React",
+                "TypeScript", "Python", "GraphQL", "AWS", "Terraform" };
+        IntFunction<List<String>> skillList = i -> IntStream.range(0, 1 + i % 8)
+                .mapToObj(s -> skills[(i + s) % skills.length])
+                .toList();
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("career_paths", entries(count, i -> Map.of(
+                "title", "Career path " + i, "score", 0.25 + (i % 70) / 100.0, "confidence", (i % 100) / 100.0,
+                "description", "Build and operate services end to end, option " + i,
+                "matched_skills", skillList.apply(i), "salary_range", "$90k - $150k", "demand", "High")));
+        response.put("skill_gaps", entries(count, i -> Map.of(
+                "career", "Career path " + i, "missing_skills", skillList.apply(i + 3),
+                "nice_to_have", skillList.apply(i + 5), "priority", i % 3 == 0 ? "high" : "medium",
+                "completion_percentage", i % 100)));
+        response.put("project_ideas", entries(count, i -> Map.of(
+                "title", "Project idea " + i, "skills", skillList.apply(i), "difficulty", "Intermediate",
+                "description", "A realistic project that exercises several of your skills, number " + i,
+                "estimated_time", "2-3 weeks", "learning_goals", skillList.apply(i + 1),
+                "skills_you_have", skillList.apply(i + 2), "skills_to_learn", skillList.apply(i + 4),
+                "match_percentage", i % 100, "reason", "Builds on what you already use")));
+        response.put("technologies", entries(count, i -> Map.of(
+                "technology", skills[i % skills.length] + " " + i, "category", "Backend",
+                "difficulty", "Medium", "learning_time", "1-2 months", "job_relevance", "High",
+                "prerequisites_met", skillList.apply(i), "reason", "Commonly paired with your stack")));
+        response.put("learning_resources", entries(count, i -> Map.of(
+                "title", "Course " + i, "provider", "Provider " + i % 7, "skills", skillList.apply(i),
+                "difficulty", "Beginner", "duration", "10 hours", "url", "https://example.com/courses/" + i,
+                "type", "course", "relevant_skills", skillList.apply(i + 6), "relevance_score", i % 100)));
+        response.put("skill_analysis", Map.of(
+                "strengths", entries(count, i -> Map.of(
+                        "skill", skills[i % skills.length], "score", (i % 100) / 10.0,
+                        "repos_count", i % 40, "category", "Backend")),
+                "weaknesses", entries(count, i -> Map.of(
+                        "skill", skills[(i + 7) % skills.length], "reason", "Seen in few repositories",
+                        "suggestion", "Add tests and a small project using it")),
+                "skills", entries(count, i -> Map.of(
+                        "skill", skills[i % skills.length] + " " + i, "proficiency", i % 100,
+                        "repos_count", i % 40, "category", "Backend"))));
+        response.put("repo_improvements", entries(count, i -> Map.of(
+                "repo", "octo/repo-" + i, "current_stars", i % 500,
+                "improvements", List.of(
+                        Map.of("type", "readme", "suggestion", "Describe how to run the project"),
+                        Map.of("type", "tests", "suggestion", "Add a CI workflow running the tests")))));
+        response.put("profile_stats", Map.of(
+                "language_diversity", 12, "topic_diversity", 40, "total_repos", count,
+                "total_stars", count * 3, "avg_languages_per_repo", 2.7));
+        return response;
+    }
+
+    private static List<Map<String, Object>> entries(int count, IntFunction<Map<String, Object>> entry) {
+        return IntStream.range(0, count).mapToObj(entry).toList();
+    }
+}
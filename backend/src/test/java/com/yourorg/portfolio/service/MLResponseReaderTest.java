@@ -0,0 +1,83 @@
+package com.yourorg.portfolio.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yourorg.portfolio.dto.RecommendationDto.*;
+import com.yourorg.portfolio.dto.RecommendationSection;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MLResponseReaderTest {
+
+    private final MLResponseReader reader = new MLResponseReader();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private RecommendationResponse read(String json, Set<RecommendationSection> sections) throws IOException {
+        return reader.read(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), sections);
+    }
+
+    @Test
+    void mistypedNumbersAndListsFallBackToDefaults() throws IOException {
+        RecommendationResponse response = read("""
+                {"career_paths": [
+                   {"title": "Backend", "score": "0.75", "confidence": "high",
+                    "matched_skills": "Java", "unknown": {"nested": true}},
+                   null],
+                 "skill_gaps": [{"career": "Backend", "completion_percentage": 42.9,
+                                 "missing_skills": ["Go", null]}],
+                 "repo_improvements": "none"}
+                """, RecommendationSection.ALL);
+
+        CareerPath path = response.getCareerPaths().get(0);
+        assertThat(response.getCareerPaths()).hasSize(1);
+        assertThat(path.getScore()).isEqualTo(0.75);
+        assertThat(path.getConfidence()).isZero();
+        assertThat(path.getMatchedSkills()).isEmpty();
+        SkillGap gap = response.getSkillGaps().get(0);
+        assertThat(gap.getCompletionPercentage()).isEqualTo(42);
+        assertThat(gap.getMissingSkills()).containsExactly("Go");
+        assertThat(gap.getNiceToHave()).isEmpty();
+        assertThat(response.getRepoImprovements()).isEmpty();
+    }
+
+    @Test
+    void missingBlocksBecomeEmptyValues() throws IOException {
+        RecommendationResponse response = read("{}", RecommendationSection.ALL);
+
+        assertThat(response.getProjectIdeas()).isEmpty();
+        assertThat(response.getSkillAnalysis().getStrengths()).isEmpty();
+        assertThat(response.getSkillAnalysis().getWeaknesses()).isEmpty();
+        assertThat(response.getSkillAnalysis().getSkills()).isEmpty();
+        assertThat(response.getProfileStats()).isNotNull();
+        assertThat(response.getProfileStats().getTotalRepos()).isNull();
+    }
+
+    @Test
+    void sectionsNotRequestedAreDropped() throws IOException {
+        RecommendationResponse response = read("""
+                {"career_paths": [{"title": "Backend"}], "technologies": [{"technology": "Go"}]}
+                """, EnumSet.of(RecommendationSection.CAREER_PATHS));
+
+        assertThat(response.getCareerPaths()).extracting(CareerPath::getTitle).containsExactly("Backend");
+        assertThat(response.getTechnologies()).isNull();
+        assertThat(response.getSkillAnalysis()).isNull();
+    }
+
+    @Test
+    void readsTheBenchmarkFixtureLikeTheMapWalk() throws IOException {
+        MLResponseReaderBenchmark benchmark = new MLResponseReaderBenchmark();
+        benchmark.items = 50;
+        benchmark.setUp();
+
+        JsonNode direct = objectMapper.valueToTree(benchmark.direct());
+        JsonNode mapTree = objectMapper.valueToTree(benchmark.mapTree());
+        assertThat(direct).isEqualTo(mapTree);
+    }
+}
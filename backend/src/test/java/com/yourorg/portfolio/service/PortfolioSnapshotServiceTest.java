@@ -0,0 +1,78 @@
+package com.yourorg.portfolio.service;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.decoder.Decoder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yourorg.portfolio.dto.PublicSkillView;
+import com.yourorg.portfolio.repository.UserRepository;
+import com.yourorg.portfolio.repository.UserRepository.PortfolioVersion;
+import com.yourorg.portfolio.repository.UserSkillRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Snapshots built from the database; Redis is mocked to always miss.
+ */
+class PortfolioSnapshotServiceTest {
+
+    private static final UUID USER_ID = UUID.randomUUID();
+    private static final Instant LAST_SYNC = Instant.parse("2024-05-01T12:00:00Z");
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final UserSkillRepository userSkillRepository = mock(UserSkillRepository.class);
+    private final PortfolioSnapshotService service = new PortfolioSnapshotService(mock(StringRedisTemplate.class),
+            userRepository, userSkillRepository, new ObjectMapper());
+
+    @BeforeEach
+    void setUp() {
+        PortfolioVersion version = mock(PortfolioVersion.class);
+        when(version.getId()).thenReturn(USER_ID);
+        when(version.getUsername()).thenReturn("octo");
+        when(version.getLastSync()).thenReturn(LAST_SYNC);
+        when(userRepository.findPortfolioVersionByUsername("octo")).thenReturn(Optional.of(version));
+    }
+
+    @Test
+    void etagChangesWithTheDocumentEvenWithoutANewSync() {
+        when(userSkillRepository.findPublicViewsByUserId(USER_ID))
+                .thenReturn(List.of(new PublicSkillView("Java", 80.0, "Language")))
+                .thenReturn(List.of(new PublicSkillView("Java", 80.0, "Language")))
+                .thenReturn(List.of(new PublicSkillView("Java", 75.0, "Language")));
+
+        PortfolioSnapshotService.Snapshot first = service.get("octo");
+        PortfolioSnapshotService.Snapshot same = service.get("octo");
+        PortfolioSnapshotService.Snapshot rescored = service.get("octo");
+
+        assertThat(same.etag()).isEqualTo(first.etag());
+        assertThat(rescored.etag()).isNotEqualTo(first.etag());
+        assertThat(rescored.lastModified()).isEqualTo(first.lastModified()).isEqualTo(LAST_SYNC.toEpochMilli());
+    }
+
+    @Test
+    void encodingsDecodeToTheDocument() throws IOException {
+        assumeTrue(Brotli4jLoader.isAvailable(), "brotli native library not available");
+        when(userSkillRepository.findPublicViewsByUserId(USER_ID))
+                .thenReturn(List.of(new PublicSkillView("Java", 80.0, "Language")));
+
+        PortfolioSnapshotService.Snapshot snapshot = service.get("octo");
+
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(snapshot.gzip()))) {
+            assertThat(gzip.readAllBytes()).isEqualTo(snapshot.identity());
+        }
+        assertThat(Decoder.decompress(snapshot.brotli()).getDecompressedData()).isEqualTo(snapshot.identity());
+    }
+}
@@ -0,0 +1,84 @@
+package com.yourorg.portfolio.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yourorg.portfolio.dto.RecommendationSection;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Reads of cached sections, with Redis returning prepared hash fields.
+ */
+class RecommendationCacheTest {
+
+    private static final String FINGERPRINT = "fp-1";
+    private static final Set<RecommendationSection> SECTIONS =
+            EnumSet.of(RecommendationSection.CAREER_PATHS, RecommendationSection.SKILL_GAPS);
+
+    private final StringRedisTemplate redis = mock(StringRedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final HashOperations<String, Object, Object> hash = mock(HashOperations.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RecommendationCache cache = new RecommendationCache(redis, new ObjectMapper(), meterRegistry);
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(cache, "ttl", Duration.ofHours(6));
+        when(redis.opsForHash()).thenReturn(hash);
+    }
+
+    /**
+     * Fields as {@code fields} lists them: fingerprint, then each section in
+     * {@link #SECTIONS} order with its computedAt.
+     */
+    private void stored(Instant careerPathsAt, Instant skillGapsAt) {
+        when(hash.multiGet(eq("recommendations:" + userId), anyCollection())).thenReturn(Arrays.asList(
+                FINGERPRINT,
+                "{}", careerPathsAt.toString(),
+                "{}", skillGapsAt.toString()));
+    }
+
+    @Test
+    void sectionOlderThanTheTtlIsAMissEvenIfOthersAreFresh() {
+        stored(Instant.now().minus(Duration.ofHours(7)), Instant.now());
+
+        assertThat(cache.get(userId, FINGERPRINT, SECTIONS)).isNull();
+        assertThat(meterRegistry.counter("recommendations.cache", "result", "miss").count()).isEqualTo(1);
+    }
+
+    @Test
+    void hitRecordsTheAgeOfItsOldestSection() {
+        stored(Instant.now().minus(Duration.ofHours(5)), Instant.now());
+
+        assertThat(cache.get(userId, FINGERPRINT, SECTIONS)).isNotNull();
+        Timer staleness = meterRegistry.timer("recommendations.staleness");
+        assertThat(staleness.count()).isEqualTo(1);
+        assertThat(staleness.max(TimeUnit.HOURS)).isGreaterThanOrEqualTo(4.99);
+    }
+
+    @Test
+    void otherFingerprintIsAMiss() {
+        stored(Instant.now(), Instant.now());
+
+        assertThat(cache.get(userId, "fp-2", SECTIONS)).isNull();
+    }
+}
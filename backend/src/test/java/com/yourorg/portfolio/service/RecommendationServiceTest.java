@@ -0,0 +1,258 @@
+package com.yourorg.portfolio.service;
+
+import com.yourorg.portfolio.dto.RecommendationDto.CareerPath;
+import com.yourorg.portfolio.dto.RecommendationDto.RecommendationResponse;
+import com.yourorg.portfolio.dto.RecommendationSection;
+import com.yourorg.portfolio.model.RepositoryEntity;
+import com.yourorg.portfolio.model.User;
+import com.yourorg.portfolio.repository.RepoRepository;
+import com.yourorg.portfolio.repository.RepoRepository.UserFingerprint;
+import com.yourorg.portfolio.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Coalescing of concurrent recommendation requests, with the ML client held
+ * inside its call until every caller has joined, and batch precomputation.
+ */
+class RecommendationServiceTest {
+
+    private static final String FINGERPRINT = "fp-1";
+
+    private final MLClient mlClient = mock(MLClient.class);
+    private final RepoRepository repoRepository = mock(RepoRepository.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final RecommendationCache cache = mock(RecommendationCache.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RecommendationService service = new RecommendationService(mlClient, repoRepository,
+            userRepository, cache, meterRegistry);
+
+    private final User user = new User();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+
+    @BeforeEach
+    void setUp() {
+        user.setId(UUID.randomUUID());
+        user.setUsername("octo");
+        when(repoRepository.findFingerprintByUserId(user.getId())).thenReturn(FINGERPRINT);
+        when(repoRepository.findByUserId(user.getId())).thenReturn(List.of(new RepositoryEntity()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        callers.shutdownNow();
+    }
+
+    private void mlAnswers(RecommendationResponse response) {
+        when(mlClient.getRecommendations(eq(user), anyList(), anySet())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return response;
+        });
+    }
+
+    private Future<RecommendationResponse> request(Set<RecommendationSection> sections) {
+        return callers.submit(() -> service.getRecommendations(user, sections));
+    }
+
+    private void awaitJoined(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.counter("recommendations.coalesced").count() < expected
+                && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(meterRegistry.counter("recommendations.coalesced").count()).isEqualTo(expected);
+    }
+
+    private static RecommendationResponse response(String careerPath, boolean fallback) {
+        CareerPath path = new CareerPath();
+        path.setTitle(careerPath);
+        RecommendationResponse response = new RecommendationResponse();
+        response.setCareerPaths(List.of(path));
+        response.setFallback(fallback);
+        return response;
+    }
+
+    @Test
+    void joinedCallersAlsoGetTheLastKnownGoodResult() throws Exception {
+        mlAnswers(response("Placeholder", true));
+        when(cache.getLastKnownGood(user.getId())).thenReturn(response("Backend Engineer", false));
+
+        Future<RecommendationResponse> first = request(RecommendationSection.ALL);
+        awaitMlCalls(1);
+        Future<RecommendationResponse> joined = request(RecommendationSection.ALL);
+        awaitJoined(1);
+        release.countDown();
+
+        for (Future<RecommendationResponse> result : List.of(first, joined)) {
+            RecommendationResponse recommendations = result.get(5, TimeUnit.SECONDS);
+            assertThat(recommendations.isFallback()).isFalse();
+            assertThat(recommendations.getCareerPaths()).extracting(CareerPath::getTitle)
+                    .containsExactly("Backend Engineer");
+        }
+        verify(mlClient, times(1)).getRecommendations(eq(user), anyList(), any());
+    }
+
+    @Test
+    void narrowerRequestJoinsARunningWiderComputation() throws Exception {
+        RecommendationResponse full = response("Backend Engineer", false);
+        full.setSkillGaps(List.of());
+        mlAnswers(full);
+
+        Future<RecommendationResponse> first = request(RecommendationSection.ALL);
+        awaitMlCalls(1);
+        Future<RecommendationResponse> joined = request(EnumSet.of(RecommendationSection.CAREER_PATHS));
+        awaitJoined(1);
+        release.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS).getSkillGaps()).isEmpty();
+        RecommendationResponse narrow = joined.get(5, TimeUnit.SECONDS);
+        assertThat(narrow.getCareerPaths()).extracting(CareerPath::getTitle).containsExactly("Backend Engineer");
+        assertThat(narrow.getSkillGaps()).isNull();
+        verify(mlClient, times(1)).getRecommendations(eq(user), anyList(), any());
+    }
+
+    @Test
+    void widerRequestDoesNotWaitForANarrowerComputation() throws Exception {
+        mlAnswers(response("Backend Engineer", false));
+
+        Future<RecommendationResponse> narrow = request(EnumSet.of(RecommendationSection.CAREER_PATHS));
+        awaitMlCalls(1);
+        Future<RecommendationResponse> wide = request(RecommendationSection.ALL);
+        awaitMlCalls(2);
+        release.countDown();
+
+        narrow.get(5, TimeUnit.SECONDS);
+        wide.get(5, TimeUnit.SECONDS);
+        assertThat(meterRegistry.counter("recommendations.coalesced").count()).isZero();
+    }
+
+    @Test
+    void requestJoinsARunningPrecompute() throws Exception {
+        mlAnswers(response("Backend Engineer", false));
+
+        Future<Boolean> precompute = callers.submit(() -> service.precompute(user, 7));
+        awaitMlCalls(1);
+        Future<RecommendationResponse> joined = request(RecommendationSection.ALL);
+        awaitJoined(1);
+        release.countDown();
+
+        assertThat(precompute.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(joined.get(5, TimeUnit.SECONDS).getCareerPaths()).extracting(CareerPath::getTitle)
+                .containsExactly("Backend Engineer");
+        verify(mlClient, times(1)).getRecommendations(eq(user), anyList(), any());
+        verify(cache).putIfCurrent(eq(user.getId()), eq(FINGERPRINT), eq(7L), any(), eq(RecommendationSection.ALL));
+        verify(cache, never()).put(any(), any(), any(), any());
+    }
+
+    @Test
+    void precomputeJoinsARunningRequest() throws Exception {
+        mlAnswers(response("Backend Engineer", false));
+
+        Future<RecommendationResponse> first = request(RecommendationSection.ALL);
+        awaitMlCalls(1);
+        Future<Boolean> precompute = callers.submit(() -> service.precompute(user, 7));
+        awaitJoined(1);
+        release.countDown();
+
+        first.get(5, TimeUnit.SECONDS);
+        assertThat(precompute.get(5, TimeUnit.SECONDS)).isTrue();
+        verify(mlClient, times(1)).getRecommendations(eq(user), anyList(), any());
+        verify(cache).put(eq(user.getId()), eq(FINGERPRINT), any(), eq(RecommendationSection.ALL));
+    }
+
+    @Test
+    void batchSkipsUsersWithCurrentResultsUnlessRefreshing() {
+        batchAnswers();
+        when(cache.contains(user.getId(), FINGERPRINT)).thenReturn(true);
+        when(cache.putIfCurrent(eq(user.getId()), eq(FINGERPRINT), eq(4L), any(), eq(RecommendationSection.ALL)))
+                .thenReturn(true);
+
+        assertThat(service.precomputeBatch(List.of(user.getId()), false)).isZero();
+        verify(mlClient, never()).getRecommendationsBatch(any(), any());
+
+        assertThat(service.precomputeBatch(List.of(user.getId()), true)).isEqualTo(1);
+        verify(cache).putIfCurrent(eq(user.getId()), eq(FINGERPRINT), eq(4L), any(), eq(RecommendationSection.ALL));
+        verify(cache, never()).put(any(), any(), any(), any());
+    }
+
+    @Test
+    void batchResultsAreCheckedAgainstTheGenerationReadBeforeTheFingerprints() {
+        batchAnswers();
+        when(cache.putIfCurrent(any(), any(), eq(4L), any(), any())).thenReturn(false);
+
+        // A sync landed while the batch ran, so its result is not stored
+        assertThat(service.precomputeBatch(List.of(user.getId()), false)).isZero();
+
+        InOrder order = inOrder(cache, repoRepository);
+        order.verify(cache).generations(List.of(user.getId()));
+        order.verify(repoRepository).findFingerprintsByUserIdIn(List.of(user.getId()));
+        order.verify(cache).putIfCurrent(eq(user.getId()), eq(FINGERPRINT), eq(4L), any(),
+                eq(RecommendationSection.ALL));
+    }
+
+    private void batchAnswers() {
+        when(cache.generations(List.of(user.getId()))).thenReturn(Map.of(user.getId(), 4L));
+        when(repoRepository.findFingerprintsByUserIdIn(List.of(user.getId())))
+                .thenReturn(List.of(fingerprint(user.getId(), FINGERPRINT)));
+        when(userRepository.findAllById(Set.of(user.getId()))).thenReturn(List.of(user));
+        when(mlClient.getRecommendationsBatch(eq(List.of(user)), any()))
+                .thenReturn(Map.of(user.getId(), response("Backend Engineer", false)));
+    }
+
+    private static UserFingerprint fingerprint(UUID userId, String fingerprint) {
+        return new UserFingerprint() {
+            @Override
+            public String getUserId() {
+                return userId.toString();
+            }
+
+            @Override
+            public String getFingerprint() {
+                return fingerprint;
+            }
+        };
+    }
+
+    private void awaitMlCalls(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (mlCalls() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(mlCalls()).isEqualTo(expected);
+    }
+
+    private long mlCalls() {
+        return mockingDetails(mlClient).getInvocations().stream()
+                .filter(invocation -> invocation.getMethod().getName().equals("getRecommendations"))
+                .count();
+    }
+}
@@ -0,0 +1,108 @@
+package com.yourorg.portfolio.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.yourorg.portfolio.dto.RecommendationDto.RecommendationResponse;
+import com.yourorg.portfolio.dto.RecommendationSection;
+import com.yourorg.portfolio.model.RepositoryEntity;
+import com.yourorg.portfolio.model.SkillFeatures;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the repositories in {@code recommender/feature-route-cases.json}
+ * through {@link SkillFeatureBuilder} and recommends from the result, which
+ * must match what the Python {@code RecommenderSystem} returned for the same
+ * repositories on the {@code /recommend} route. The engine used here is
+ * checked against the Python feature route by
+ * {@link EmbeddedRecommendationEngineTest}.
+ *
+ * After changing the scoring on either side, regenerate the expected results
+ * with {@code ml-service/export_parity_fixtures.py}.
+ */
+class SkillFeatureBuilderTest {
+
+    private static final ObjectMapper SNAKE_CASE = JsonMapper.builder()
+            .propertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE)
+            .build();
+
+    private final EmbeddedRecommendationEngine engine = new EmbeddedRecommendationEngine(
+            new DefaultResourceLoader(), new SimpleMeterRegistry(), "classpath:recommender/knowledge-base.json");
+    private final MLResponseReader reader = new MLResponseReader();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    static Stream<Arguments> cases() throws IOException {
+        try (InputStream in = SkillFeatureBuilderTest.class
+                .getResourceAsStream("/recommender/feature-route-cases.json")) {
+            JsonNode cases = SNAKE_CASE.readTree(in).get("cases");
+            return StreamSupport.stream(cases.spliterator(), false)
+                    .map(node -> Arguments.of(node.get("name").asText(), node));
+        }
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("cases")
+    void featuresRecommendLikeTheRepositories(String name, JsonNode testCase) throws IOException {
+        SkillFeatureBuilder builder = new SkillFeatureBuilder();
+        testCase.get("repos").forEach(repo -> builder.add(repository(repo)));
+        SkillFeatures features = builder.build();
+        Set<RecommendationSection> sections = sections(testCase.get("sections"));
+
+        RecommendationResponse expected = reader.read(
+                new ByteArrayInputStream(SNAKE_CASE.writeValueAsBytes(testCase.get("expected"))), sections);
+        RecommendationResponse actual = engine.recommend(features, sections);
+
+        JsonNode actualTree = objectMapper.valueToTree(actual);
+        JsonNode expectedTree = objectMapper.valueToTree(expected);
+        assertThat(actualTree).isEqualTo(expectedTree);
+    }
+
+    /**
+     * The entity MLClient would have sent as {@code repo} to {@code /recommend}.
+     */
+    private static RepositoryEntity repository(JsonNode repo) {
+        RepositoryEntity entity = new RepositoryEntity();
+        entity.setFullName(repo.get("name").asText());
+        entity.setDescription(repo.get("description").asText());
+        entity.setStars(repo.get("stars").asInt());
+        entity.setForks(repo.get("forks").asInt());
+        Map<String, Double> languages = new LinkedHashMap<>();
+        repo.get("languages").fields().forEachRemaining(e -> languages.put(e.getKey(), e.getValue().asDouble()));
+        entity.setLanguages(languages);
+        entity.setTopics(StreamSupport.stream(repo.get("topics").spliterator(), false)
+                .map(JsonNode::asText)
+                .toList());
+        return entity;
+    }
+
+    private static Set<RecommendationSection> sections(JsonNode names) {
+        if (names == null || names.isNull()) {
+            return RecommendationSection.ALL;
+        }
+        Set<RecommendationSection> sections = EnumSet.noneOf(RecommendationSection.class);
+        names.forEach(name -> sections.add(Arrays.stream(RecommendationSection.values())
+                .filter(section -> section.getMlName().equals(name.asText()))
+                .findFirst()
+                .orElseThrow()));
+        return sections;
+    }
+}
@@ -0,0 +1,174 @@
+package com.yourorg.portfolio.service;
+
+import com.yourorg.portfolio.model.Skill;
+import com.yourorg.portfolio.repository.SyncBulkRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link SkillSuggestIndex} lookup over {@code skills} skills against a
+ * scan of every name and alias, for prefixes of different breadth. One-letter
+ * prefixes match thousands of keys and are answered from the index's cache
+ * after the first call.
+ *
+ * {@code mvn test-compile exec:exec -Pbench -Dbench=SkillSuggestIndexBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SkillSuggestIndexBenchmark {
+
+    private static final String[] SYLLABLES = {
+            "ja", "va", "py", "ru", "go", "re", "act", "no", "de", "ko", "tlin", "sca", "la", "swi", "ft",
+            "ty", "pe", "script", "mon", "gre", "sql", "spa", "rk", "ka", "fka", "ter", "ra", "form", "vue",
+    };
+    static final int LIMIT = 10;
+
+    @Param("20000")
+    public int skills;
+
+    @Param({"r", "re", "react"})
+    public String prefix;
+
+    private List<Skill> fixture;
+    private Map<UUID, Long> users;
+    private SkillSuggestIndex index;
+
+    @Setup
+    public void setUp() {
+        fixture = fixture(skills);
+        users = users(fixture);
+        index = new SkillSuggestIndex(repository(users));
+        index.rebuild(fixture);
+    }
+
+    @Benchmark
+    public List<SkillSuggestIndex.Suggestion> index() {
+        return index.suggest(prefix, LIMIT);
+    }
+
+    @Benchmark
+    public List<Skill> scan() {
+        return scan(fixture, users, prefix, LIMIT);
+    }
+
+    /**
+     * Skills with made-up one- or two-word names, a few with aliases.
+     */
+    static List<Skill> fixture(int count) {
+        Random random = new Random(42);
+        Set<String> names = new LinkedHashSet<>();
+        while (names.size() < count) {
+            String name = word(random);
+            if (random.nextInt(4) == 0) {
+                name += " " + word(random);
+            }
+            names.add(name);
+        }
+        List<Skill> skills = new ArrayList<>(count);
+        for (String name : names) {
+            Skill skill = new Skill();
+            skill.setId(UUID.nameUUIDFromBytes(name.getBytes()));
+            skill.setName(name);
+            skill.setCategory("Language");
+            if (random.nextInt(5) == 0) {
+                skill.setAliases(List.of(word(random).toLowerCase(Locale.ROOT)));
+            }
+            skills.add(skill);
+        }
+        return skills;
+    }
+
+    /**
+     * Users per skill, skewed so a few skills are held widely and many tie.
+     */
+    static Map<UUID, Long> users(List<Skill> skills) {
+        Random random = new Random(7);
+        Map<UUID, Long> users = new HashMap<>();
+        for (Skill skill : skills) {
+            int bucket = random.nextInt(100);
+            users.put(skill.getId(), bucket < 50 ? 0L : bucket < 90 ? random.nextInt(10) : random.nextInt(10_000));
+        }
+        return users;
+    }
+
+    static SyncBulkRepository repository(Map<UUID, Long> users) {
+        return new SyncBulkRepository(null, null) {
+            @Override
+            public Map<UUID, Long> countUsersBySkill() {
+                return users;
+            }
+        };
+    }
+
+    /**
+     * The ranking the index promises, by checking every key of every skill:
+     * exact matches first, then by users, shorter names, and name.
+     */
+    static List<Skill> scan(List<Skill> skills, Map<UUID, Long> users, String prefix, int limit) {
+        String key = prefix.trim().toLowerCase(Locale.ROOT);
+        Map<Skill, Boolean> matches = new HashMap<>();
+        for (Skill skill : skills) {
+            for (String candidate : keys(skill)) {
+                if (candidate.startsWith(key)) {
+                    matches.merge(skill, candidate.equals(key), Boolean::logicalOr);
+                }
+            }
+        }
+        Comparator<Skill> ranking = Comparator.<Skill, Boolean>comparing(matches::get).reversed()
+                .thenComparing(skill -> users.getOrDefault(skill.getId(), 0L), Comparator.reverseOrder())
+                .thenComparingInt(skill -> skill.getName().length())
+                .thenComparing(Skill::getName);
+        return matches.keySet().stream().sorted(ranking).limit(limit).toList();
+    }
+
+    private static List<String> keys(Skill skill) {
+        List<String> keys = new ArrayList<>();
+        List<String> values = new ArrayList<>();
+        values.add(skill.getName());
+        if (skill.getAliases() != null) {
+            values.addAll(skill.getAliases());
+        }
+        for (String value : values) {
+            String[] words = value.toLowerCase(Locale.ROOT).split(" ");
+            for (int i = 0; i < words.length; i++) {
+                keys.add(String.join(" ", List.of(words).subList(i, words.length)));
+            }
+        }
+        return keys;
+    }
+
+    private static String word(Random random) {
+        StringBuilder word = new StringBuilder();
+        int syllables = 1 + random.nextInt(3);
+        for (int i = 0; i < syllables; i++) {
+            word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        word.setCharAt(0, Character.toUpperCase(word.charAt(0)));
+        return word.toString();
+    }
+}
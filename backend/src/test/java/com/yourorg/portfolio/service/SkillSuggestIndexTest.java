@@ -0,0 +1,118 @@
+package com.yourorg.portfolio.service;
+
+import com.yourorg.portfolio.model.Skill;
+import com.yourorg.portfolio.repository.SyncBulkRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SkillSuggestIndexTest {
+
+    private final SyncBulkRepository syncBulkRepository = mock(SyncBulkRepository.class);
+    private final SkillSuggestIndex index = new SkillSuggestIndex(syncBulkRepository);
+    private final Map<UUID, Long> users = new HashMap<>();
+
+    private Skill skill(String name, long holders, String... aliases) {
+        Skill skill = new Skill();
+        skill.setId(UUID.randomUUID());
+        skill.setName(name);
+        skill.setAliases(aliases.length == 0 ? null : List.of(aliases));
+        users.put(skill.getId(), holders);
+        return skill;
+    }
+
+    private void rebuild(Skill... skills) {
+        when(syncBulkRepository.countUsersBySkill()).thenReturn(Map.copyOf(users));
+        index.rebuild(List.of(skills));
+    }
+
+    private List<String> suggest(String prefix, int limit) {
+        return index.suggest(prefix, limit).stream().map(s -> s.skill().getName()).toList();
+    }
+
+    @Test
+    void exactMatchLeadsThenMostUsed() {
+        rebuild(skill("GORM", 5), skill("Go", 1), skill("Google Cloud", 50), skill("Gopher", 5));
+
+        assertThat(suggest("go", 10)).containsExactly("Go", "Google Cloud", "GORM", "Gopher");
+    }
+
+    @Test
+    void exactMatchesAreRankedByUsersAmongThemselves() {
+        rebuild(skill("JavaScript", 10, "js"), skill("Node.js", 100), skill("JSON", 1_000));
+
+        assertThat(suggest("js", 10)).containsExactly("Node.js", "JavaScript", "JSON");
+        assertThat(suggest("js", 1)).containsExactly("Node.js");
+    }
+
+    @Test
+    void tiesGoToShorterNamesThenByName() {
+        rebuild(skill("Rust", 3), skill("Ruby", 3), skill("Ruby on Rails", 3), skill("Rubocop", 4));
+
+        assertThat(suggest("ru", 10)).containsExactly("Rubocop", "Ruby", "Rust", "Ruby on Rails");
+    }
+
+    @Test
+    void limitKeepsTheBestRatherThanTheFirstKeys() {
+        rebuild(skill("Kafka", 1), skill("Kanban", 2), skill("Karma", 3), skill("Kali", 4), skill("Kaniko", 5));
+
+        assertThat(suggest("ka", 2)).containsExactly("Kaniko", "Kali");
+    }
+
+    @Test
+    void eachSkillIsSuggestedOnceWhicheverKeysMatch() {
+        rebuild(skill("Machine Learning", 20, "ml", "machine-learning"), skill("Markdown", 10));
+
+        assertThat(suggest("m", 10)).containsExactly("Machine Learning", "Markdown");
+        assertThat(suggest("learn", 10)).containsExactly("Machine Learning");
+        assertThat(suggest(" ML ", 10)).containsExactly("Machine Learning");
+        assertThat(suggest("", 10)).isEmpty();
+    }
+
+    @Test
+    void addedSkillsAreMergedInAndRankedOnceCounted() {
+        Skill python = skill("Python", 30);
+        rebuild(skill("PHP", 40), python, skill("Perl", 2));
+
+        Skill pytorch = skill("PyTorch", 100);
+        index.add(List.of(pytorch, python));
+        assertThat(suggest("p", 10)).containsExactly("PHP", "Python", "Perl", "PyTorch");
+        assertThat(suggest("pyt", 10)).containsExactly("Python", "PyTorch");
+
+        when(syncBulkRepository.countUsersBySkill()).thenReturn(Map.copyOf(users));
+        index.refreshPopularity();
+        assertThat(suggest("p", 10)).containsExactly("PyTorch", "PHP", "Python", "Perl");
+    }
+
+    @Test
+    void matchesAScanOfTheBenchmarkFixture() {
+        List<Skill> fixture = SkillSuggestIndexBenchmark.fixture(10_000);
+        Map<UUID, Long> fixtureUsers = SkillSuggestIndexBenchmark.users(fixture);
+        when(syncBulkRepository.countUsersBySkill()).thenReturn(fixtureUsers);
+
+        // Half loaded at startup, the rest merged in by later syncs
+        index.rebuild(fixture.subList(0, 5_000));
+        for (int from = 5_000; from < fixture.size(); from += 1_000) {
+            index.add(fixture.subList(from, from + 1_000));
+        }
+        index.refreshPopularity();
+
+        List<String> prefixes = new ArrayList<>(List.of("r", "re", "react", "ja", "javasc", "sql", "zz"));
+        fixture.stream().limit(200)
+                .map(skill -> skill.getName().substring(0, Math.min(3, skill.getName().length())))
+                .forEach(prefixes::add);
+        for (String prefix : prefixes) {
+            List<String> expected = SkillSuggestIndexBenchmark.scan(fixture, fixtureUsers, prefix,
+                    SkillSuggestIndexBenchmark.LIMIT).stream().map(Skill::getName).toList();
+            assertThat(suggest(prefix, SkillSuggestIndexBenchmark.LIMIT)).as(prefix).isEqualTo(expected);
+        }
+    }
+}
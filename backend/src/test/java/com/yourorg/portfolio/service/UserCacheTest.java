@@ -0,0 +1,76 @@
+package com.yourorg.portfolio.service;
+
+import com.yourorg.portfolio.model.User;
+import com.yourorg.portfolio.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Loads racing evictions, with a mocked repository and no Redis listener.
+ */
+class UserCacheTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final UserCache cache = new UserCache(userRepository, mock(StringRedisTemplate.class),
+            mock(RedisConnectionFactory.class), new SimpleMeterRegistry(), 100, Duration.ofMinutes(5));
+
+    private static User user(long githubId, String username) {
+        User user = new User();
+        user.setGithubId(githubId);
+        user.setUsername(username);
+        user.setRoles(new String[] { "ROLE_USER" });
+        return user;
+    }
+
+    @Test
+    void evictingAnotherUserDuringALoadStillCaches() {
+        when(userRepository.findByGithubId(1L)).thenAnswer(invocation -> {
+            cache.invalidate(2L);
+            return Optional.of(user(1L, "octocat"));
+        });
+
+        cache.get(1L);
+        cache.get(1L);
+
+        verify(userRepository, times(1)).findByGithubId(1L);
+    }
+
+    @Test
+    void evictingTheUserDuringItsLoadSkipsCaching() {
+        when(userRepository.findByGithubId(1L)).thenAnswer(invocation -> {
+            cache.invalidate(1L);
+            return Optional.of(user(1L, "octocat"));
+        });
+
+        cache.get(1L);
+        cache.get(1L);
+
+        verify(userRepository, times(2)).findByGithubId(1L);
+    }
+
+    @Test
+    void callersGetTheirOwnCopy() {
+        when(userRepository.findByGithubId(1L)).thenReturn(Optional.of(user(1L, "octocat")));
+
+        User first = cache.get(1L);
+        first.setUsername("changed");
+        first.getRoles()[0] = "ROLE_ADMIN";
+        User second = cache.get(1L);
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getUsername()).isEqualTo("octocat");
+        assertThat(second.getRoles()).containsExactly("ROLE_USER");
+        verify(userRepository, times(1)).findByGithubId(1L);
+    }
+}
@@ -0,0 +1,145 @@
+package com.yourorg.portfolio.service.github;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing a page of {@code repos} repositories with {@link GitHubRepoPageParser}
+ * against the {@code Map<String, Object>} tree walk it replaced.
+ *
+ * Run with the GC profiler to compare allocation per page:
+ * {@code mvn test-compile exec:exec -Pbench -Dbench="GitHubRepoPageBenchmark -prof gc"}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GitHubRepoPageBenchmark {
+
+    @Param("1000")
+    public int repos;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private GitHubRepoPageParser parser;
+    private byte[] body;
+
+    @Setup
+    public void setUp() {
+        parser = new GitHubRepoPageParser(objectMapper);
+        body = fixture(repos).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public GitHubRepoPage streaming() throws IOException {
+        return parser.parse(new ByteArrayInputStream(body));
+    }
+
+    /**
+     * The previous parse: bind the body to a {@code Map} tree, then walk it
+     * with casts, boxing every number.
+     */
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public List<GitHubRepo> mapTree() throws IOException {
+        Map<String, Object> data = objectMapper.readValue(new ByteArrayInputStream(body), Map.class);
+        Map<String, Object> viewer = (Map<String, Object>) ((Map<String, Object>) data.get("data")).get("viewer");
+        Map<String, Object> repositories = (Map<String, Object>) viewer.get("repositories");
+        List<Map<String, Object>> nodes = (List<Map<String, Object>>) repositories.get("nodes");
+
+        List<GitHubRepo> result = new ArrayList<>();
+        for (Map<String, Object> node : nodes) {
+            Map<String, Object> primary = (Map<String, Object>) node.get("primaryLanguage");
+
+            Map<String, Double> languages = new HashMap<>();
+            Map<String, Object> langs = (Map<String, Object>) node.get("languages");
+            for (Map<String, Object> edge : (List<Map<String, Object>>) langs.get("edges")) {
+                Integer size = (Integer) edge.get("size");
+                Map<String, Object> langNode = (Map<String, Object>) edge.get("node");
+                languages.put((String) langNode.get("name"), size.doubleValue());
+            }
+
+            List<String> topics = new ArrayList<>();
+            Map<String, Object> repoTopics = (Map<String, Object>) node.get("repositoryTopics");
+            for (Map<String, Object> topicNode : (List<Map<String, Object>>) repoTopics.get("nodes")) {
+                topics.add((String) ((Map<String, Object>) topicNode.get("topic")).get("name"));
+            }
+
+            result.add(new GitHubRepo(Long.parseLong(node.get("databaseId").toString()),
+                    (String) node.get("nameWithOwner"), (String) node.get("description"),
+                    (Integer) node.get("stargazerCount"), (Integer) node.get("forkCount"),
+                    Instant.parse((String) node.get("pushedAt")),
+                    primary != null ? (String) primary.get("name") : null, languages, topics));
+        }
+        return result;
+    }
+
+    /**
+     * A viewer repositories response shaped like GitHub's, with up to ten
+     * languages and topics per repository.
+     */
+    static String fixture(int count) {
+        String[] languages = { "Java", "Kotlin", "TypeScript", "Python", "Go", "Shell", "HTML", "CSS",
+                "Dockerfile", "SQL" };
+        String[] topics = { "spring-boot", "react", "postgres", "redis", "docker", "kubernetes", "graphql",
+                "machine-learning", "cli", "api" };
+
+        StringBuilder json = new StringBuilder(count * 1200);
+        json.append("{\"data\":{\"rateLimit\":{\"cost\":1,\"remaining\":4990,\"resetAt\":\"2024-05-01T12:00:00Z\"},")
+                .append("\"viewer\":{\"repositories\":{\"pageInfo\":{\"hasNextPage\":false,\"endCursor\":\"Y3Vyc29y\"},")
+                .append("\"nodes\":[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            int languageCount = 1 + i % languages.length;
+            json.append("{\"databaseId\":").append(100_000_000L + i)
+                    .append(",\"name\":\"repo-").append(i)
+                    .append("\",\"nameWithOwner\":\"octo/repo-").append(i)
+                    .append("\",\"description\":\"Synthetic repository number ").append(i)
+                    .append(" used to measure parsing\",\"stargazerCount\":").append(i % 500)
+                    .append(",\"forkCount\":").append(i % 40)
+                    .append(",\"pushedAt\":\"2024-0").append(1 + i % 9).append("-1").append(i % 10)
+                    .append("T10:00:00Z\",\"primaryLanguage\":{\"name\":\"").append(languages[i % languages.length])
+                    .append("\"},\"languages\":{\"edges\":[");
+            for (int l = 0; l < languageCount; l++) {
+                if (l > 0) {
+                    json.append(',');
+                }
+                json.append("{\"size\":").append((languageCount - l) * 1000 + i)
+                        .append(",\"node\":{\"name\":\"").append(languages[(i + l) % languages.length]).append("\"}}");
+            }
+            json.append("]},\"repositoryTopics\":{\"nodes\":[");
+            for (int t = 0; t < i % topics.length; t++) {
+                if (t > 0) {
+                    json.append(',');
+                }
+                json.append("{\"topic\":{\"name\":\"").append(topics[(i + t) % topics.length]).append("\"}}");
+            }
+            json.append("]}}");
+        }
+        json.append("]}}}}");
+        return json.toString();
+    }
+}
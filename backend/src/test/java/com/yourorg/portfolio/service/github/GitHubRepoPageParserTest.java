@@ -0,0 +1,179 @@
+package com.yourorg.portfolio.service.github;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GitHubRepoPageParserTest {
+
+    private final GitHubRepoPageParser parser = new GitHubRepoPageParser(new ObjectMapper());
+
+    private GitHubRepoPage parse(String json) throws IOException {
+        return parser.parse(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String page(String nodes) {
+        return """
+                {"data": {
+                  "rateLimit": {"cost": 1, "remaining": 4999, "resetAt": "2024-05-01T12:00:00Z"},
+                  "viewer": {"repositories": {
+                    "pageInfo": {"hasNextPage": true, "endCursor": "Y3Vyc29yOjEw"},
+                    "nodes": [%s]
+                  }}
+                }}
+                """.formatted(nodes);
+    }
+
+    private static final String GOOD_NODE = """
+            {"databaseId": 42, "name": "app", "nameWithOwner": "octo/app", "description": "An app",
+             "stargazerCount": 7, "forkCount": 2, "pushedAt": "2024-04-30T08:15:00Z",
+             "primaryLanguage": {"name": "Java"},
+             "languages": {"edges": [
+               {"size": 1200, "node": {"name": "Java"}},
+               {"size": 300, "node": {"name": "Shell"}}]},
+             "repositoryTopics": {"nodes": [
+               {"topic": {"name": "spring"}}, {"topic": {"name": "api"}}]}}
+            """;
+
+    @Test
+    void readsNodesPageInfoAndRateLimit() throws IOException {
+        GitHubRepoPage page = parse(page(GOOD_NODE));
+
+        assertThat(page.errors()).isEmpty();
+        assertThat(page.hasNextPage()).isTrue();
+        assertThat(page.endCursor()).isEqualTo("Y3Vyc29yOjEw");
+        assertThat(page.rateLimit()).isEqualTo(new GitHubRateLimit(1, 4999, Instant.parse("2024-05-01T12:00:00Z")));
+        assertThat(page.repos()).containsExactly(new GitHubRepo(42, "octo/app", "An app", 7, 2,
+                Instant.parse("2024-04-30T08:15:00Z"), "Java",
+                Map.of("Java", 1200.0, "Shell", 300.0), List.of("spring", "api")));
+        assertThat(page.repos().get(0).languages().keySet()).containsExactly("Java", "Shell");
+    }
+
+    @Test
+    void nullableFieldsDefault() throws IOException {
+        GitHubRepoPage page = parse(page("""
+                {"databaseId": 1, "nameWithOwner": "octo/empty", "description": null,
+                 "stargazerCount": null, "pushedAt": null, "primaryLanguage": null,
+                 "languages": {"edges": []}, "repositoryTopics": {"nodes": []}}
+                """));
+
+        assertThat(page.errors()).isEmpty();
+        GitHubRepo repo = page.repos().get(0);
+        assertThat(repo.stars()).isZero();
+        assertThat(repo.forks()).isZero();
+        assertThat(repo.pushedAt()).isNull();
+        assertThat(repo.primaryLanguage()).isNull();
+        assertThat(repo.languages()).isEmpty();
+        assertThat(repo.topics()).isEmpty();
+    }
+
+    @Test
+    void badFieldIsReportedAndTheNodeKept() throws IOException {
+        GitHubRepoPage page = parse(page("""
+                {"databaseId": 1, "nameWithOwner": "octo/one", "stargazerCount": "many",
+                 "pushedAt": "yesterday", "languages": {"edges": [{"size": "big", "node": {"name": "Go"}}]}},
+                """ + GOOD_NODE));
+
+        assertThat(page.repos()).extracting(GitHubRepo::databaseId).containsExactly(1L, 42L);
+        GitHubRepo bad = page.repos().get(0);
+        assertThat(bad.stars()).isZero();
+        assertThat(bad.pushedAt()).isNull();
+        assertThat(bad.languages()).isEmpty();
+        assertThat(page.errors()).containsExactly(
+                "node[0].stargazerCount: expected an integer",
+                "node[0].pushedAt: invalid timestamp 'yesterday'",
+                "node[0].languages.size: expected an integer");
+    }
+
+    @Test
+    void outOfRangeNumbersAreReportedAndTheNodeKept() throws IOException {
+        GitHubRepoPage page = parse(page("""
+                {"databaseId": 1, "nameWithOwner": "octo/huge", "stargazerCount": 3000000000,
+                 "forkCount": 99999999999999999999},
+                {"databaseId": 123456789012345678901234567890, "nameWithOwner": "octo/bad-id"},
+                """ + GOOD_NODE));
+
+        assertThat(page.repos()).extracting(GitHubRepo::databaseId).containsExactly(1L, 42L);
+        GitHubRepo huge = page.repos().get(0);
+        assertThat(huge.stars()).isZero();
+        assertThat(huge.forks()).isZero();
+        assertThat(page.errors()).containsExactly(
+                "node[0].stargazerCount: integer out of range",
+                "node[0].forkCount: integer out of range",
+                "node[1].databaseId: integer out of range",
+                "node[1].databaseId: missing, node skipped");
+    }
+
+    @Test
+    void nodeWithoutIdIsDroppedAndTheRestKept() throws IOException {
+        GitHubRepoPage page = parse(page("""
+                {"databaseId": "x", "nameWithOwner": "octo/bad-id"},
+                {"nameWithOwner": "octo/no-id"},
+                "not a node",
+                """ + GOOD_NODE));
+
+        assertThat(page.repos()).extracting(GitHubRepo::databaseId).containsExactly(42L);
+        assertThat(page.errors()).containsExactly(
+                "node[0].databaseId: expected an integer",
+                "node[0].databaseId: missing, node skipped",
+                "node[1].databaseId: missing, node skipped",
+                "node[2]: expected an object");
+    }
+
+    @Test
+    void unknownFieldsAreSkipped() throws IOException {
+        GitHubRepoPage page = parse(page("""
+                {"databaseId": 5, "extra": {"nested": [1, 2, {"deep": true}]}, "owner": {"login": "octo"}}
+                """));
+
+        assertThat(page.errors()).isEmpty();
+        assertThat(page.repos()).extracting(GitHubRepo::databaseId).containsExactly(5L);
+    }
+
+    @Test
+    void graphQlErrorsAreReportedAndRateLimitFlagged() throws IOException {
+        GitHubRepoPage page = parse("""
+                {"data": null, "errors": [
+                  {"type": "RATE_LIMITED", "message": "API rate limit exceeded"}]}
+                """);
+
+        assertThat(page.rateLimited()).isTrue();
+        assertThat(page.repos()).isEmpty();
+        assertThat(page.hasNextPage()).isFalse();
+        assertThat(page.errors()).contains("GraphQL RATE_LIMITED: API rate limit exceeded");
+    }
+
+    @Test
+    void responseWithoutConnectionIsAnErrorNotAnEmptyLastPage() throws IOException {
+        GitHubRepoPage page = parse("{\"data\": {\"viewer\": null}}");
+
+        assertThat(page.repos()).isEmpty();
+        assertThat(page.errors()).containsExactly("data.viewer.repositories.pageInfo: missing");
+    }
+
+    @Test
+    void parsesTheBenchmarkFixtureLikeTheMapWalk() throws IOException {
+        GitHubRepoPageBenchmark benchmark = new GitHubRepoPageBenchmark();
+        benchmark.repos = 1000;
+        benchmark.setUp();
+
+        GitHubRepoPage page = benchmark.streaming();
+
+        assertThat(page.errors()).isEmpty();
+        assertThat(page.repos()).hasSize(1000).isEqualTo(benchmark.mapTree());
+    }
+
+    @Test
+    void nonObjectBodyIsRejected() {
+        assertThatThrownBy(() -> parse("[]")).isInstanceOf(IOException.class);
+    }
+}
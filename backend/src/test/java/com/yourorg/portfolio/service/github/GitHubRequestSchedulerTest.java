@@ -0,0 +1,269 @@
+package com.yourorg.portfolio.service.github;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Drives {@link GitHubRequestScheduler} against a local stub server that
+ * answers with scripted statuses and synthetic rate-limit headers.
+ */
+class GitHubRequestSchedulerTest {
+
+    private static final String TOKEN = "test-token";
+
+    private HttpServer server;
+    private RestClient restClient;
+    private final Queue<StubResponse> responses = new ConcurrentLinkedQueue<>();
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+    private final AtomicInteger hits = new AtomicInteger();
+    private volatile CountDownLatch release;
+
+    private record StubResponse(int status, Map<String, String> headers) {
+    }
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/", this::handle);
+        server.start();
+        restClient = RestClient.builder()
+                .baseUrl("http://127.0.0.1:" + server.getAddress().getPort())
+                .build();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        hits.incrementAndGet();
+        requests.add(exchange.getRequestURI().getPath());
+        CountDownLatch latch = release;
+        if (latch != null) {
+            try {
+                latch.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        StubResponse response = responses.poll();
+        if (response == null) {
+            response = new StubResponse(200, Map.of());
+        }
+        response.headers().forEach((name, value) -> exchange.getResponseHeaders().add(name, value));
+        byte[] body = (response.status() == 200 ? "{}" : "{\"message\":\"slow down\"}")
+                .getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(response.status(), body.length);
+        exchange.getResponseBody().write(body);
+        exchange.close();
+    }
+
+    private static GitHubRequestScheduler scheduler(int globalPointsPerHour) {
+        GitHubRequestScheduler scheduler = new GitHubRequestScheduler(globalPointsPerHour);
+        ReflectionTestUtils.setField(scheduler, "maxConcurrent", 8);
+        ReflectionTestUtils.setField(scheduler, "backgroundReserve", 500);
+        ReflectionTestUtils.setField(scheduler, "maxRetries", 3);
+        ReflectionTestUtils.setField(scheduler, "initialBackoff", Duration.ofMillis(10));
+        ReflectionTestUtils.setField(scheduler, "interactiveMaxWait", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(scheduler, "backgroundMaxWait", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(scheduler, "budgetIdleAfter", Duration.ofMinutes(10));
+        return scheduler;
+    }
+
+    private ResponseEntity<String> call(GitHubRequestScheduler scheduler, GitHubRequestPriority priority,
+            String path) {
+        return scheduler.execute(TOKEN, priority, () -> restClient.post().uri(path)
+                .retrieve()
+                .toEntity(String.class));
+    }
+
+    private static Map<String, String> rateLimitHeaders(int remaining, Instant reset) {
+        return Map.of("x-ratelimit-remaining", Integer.toString(remaining),
+                "x-ratelimit-reset", Long.toString(reset.getEpochSecond()));
+    }
+
+    @Test
+    void exhaustedTokenWaitsForResetWithoutCallingGitHub() {
+        GitHubRequestScheduler scheduler = scheduler(0);
+        ReflectionTestUtils.setField(scheduler, "interactiveMaxWait", Duration.ofMillis(200));
+        responses.add(new StubResponse(200, rateLimitHeaders(0, Instant.now().plusSeconds(3600))));
+
+        call(scheduler, GitHubRequestPriority.INTERACTIVE, "/graphql");
+
+        assertThatThrownBy(() -> call(scheduler, GitHubRequestPriority.INTERACTIVE, "/graphql"))
+                .isInstanceOf(GitHubRateLimitException.class);
+        assertThat(hits).hasValue(1);
+    }
+
+    @Test
+    void backgroundRequestsLeaveTheReserve() {
+        GitHubRequestScheduler scheduler = scheduler(0);
+        ReflectionTestUtils.setField(scheduler, "backgroundMaxWait", Duration.ofMillis(200));
+        scheduler.recordRateLimit(TOKEN, 1, 400, Instant.now().plusSeconds(3600));
+
+        assertThatThrownBy(() -> call(scheduler, GitHubRequestPriority.BACKGROUND, "/graphql"))
+                .isInstanceOf(GitHubRateLimitException.class);
+        assertThat(call(scheduler, GitHubRequestPriority.INTERACTIVE, "/graphql").getStatusCode().value())
+                .isEqualTo(200);
+        assertThat(hits).hasValue(1);
+    }
+
+    @Test
+    void secondaryRateLimitIsRetriedAfterRetryAfter() {
+        GitHubRequestScheduler scheduler = scheduler(0);
+        responses.add(new StubResponse(429, Map.of("retry-after", "1")));
+        responses.add(new StubResponse(200, Map.of()));
+
+        long started = System.nanoTime();
+        ResponseEntity<String> response = call(scheduler, GitHubRequestPriority.INTERACTIVE, "/graphql");
+
+        assertThat(response.getStatusCode().value()).isEqualTo(200);
+        assertThat(hits).hasValue(2);
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isGreaterThanOrEqualTo(Duration.ofMillis(900));
+    }
+
+    @Test
+    void persistentRateLimitGivesUpAfterMaxRetries() {
+        GitHubRequestScheduler scheduler = scheduler(0);
+        for (int i = 0; i < 10; i++) {
+            responses.add(new StubResponse(403, Map.of("retry-after", "0")));
+        }
+
+        assertThatThrownBy(() -> call(scheduler, GitHubRequestPriority.INTERACTIVE, "/graphql"))
+                .isInstanceOf(GitHubRateLimitException.class);
+        assertThat(hits).hasValue(4);
+    }
+
+    @Test
+    void malformedResetFallsBackToBackoff() {
+        GitHubRequestScheduler scheduler = scheduler(0);
+        responses.add(new StubResponse(403, Map.of("x-ratelimit-remaining", "0", "x-ratelimit-reset", "soon")));
+        responses.add(new StubResponse(200, Map.of()));
+
+        ResponseEntity<String> response = call(scheduler, GitHubRequestPriority.INTERACTIVE, "/graphql");
+
+        assertThat(response.getStatusCode().value()).isEqualTo(200);
+        assertThat(hits).hasValue(2);
+    }
+
+    @Test
+    void idleBudgetsAreEvictedOncePastTheirReset() {
+        GitHubRequestScheduler scheduler = scheduler(0);
+        ReflectionTestUtils.setField(scheduler, "budgetIdleAfter", Duration.ZERO);
+        scheduler.recordRateLimit("reset-token", 1, 0, Instant.now().minusSeconds(1));
+        scheduler.recordRateLimit("waiting-token", 1, 0, Instant.now().plusSeconds(3600));
+
+        scheduler.evictIdleBudgets();
+
+        assertThat(scheduler.budgetCount()).isEqualTo(1);
+        ReflectionTestUtils.setField(scheduler, "budgetIdleAfter", Duration.ofMinutes(10));
+        scheduler.recordRateLimit("reset-token", 1, 0, Instant.now().minusSeconds(1));
+        scheduler.evictIdleBudgets();
+        assertThat(scheduler.budgetCount()).isEqualTo(2);
+    }
+
+    @Test
+    void otherErrorsAreNotRetried() {
+        GitHubRequestScheduler scheduler = scheduler(0);
+        responses.add(new StubResponse(500, Map.of()));
+
+        assertThatThrownBy(() -> call(scheduler, GitHubRequestPriority.INTERACTIVE, "/graphql"))
+                .isNotInstanceOf(GitHubRateLimitException.class);
+        assertThat(hits).hasValue(1);
+    }
+
+    @Test
+    void interactiveRequestsAreAdmittedBeforeWaitingBackgroundOnes() throws Exception {
+        GitHubRequestScheduler scheduler = scheduler(0);
+        ReflectionTestUtils.setField(scheduler, "maxConcurrent", 1);
+        release = new CountDownLatch(1);
+        ExecutorService callers = Executors.newFixedThreadPool(3);
+        try {
+            Future<?> first = callers.submit(() -> call(scheduler, GitHubRequestPriority.INTERACTIVE, "/first"));
+            awaitHits(1);
+            Future<?> background = callers.submit(
+                    () -> call(scheduler, GitHubRequestPriority.BACKGROUND, "/background"));
+            Thread.sleep(100);
+            Future<?> interactive = callers.submit(
+                    () -> call(scheduler, GitHubRequestPriority.INTERACTIVE, "/interactive"));
+            Thread.sleep(100);
+
+            release.countDown();
+            first.get(5, TimeUnit.SECONDS);
+            background.get(5, TimeUnit.SECONDS);
+            interactive.get(5, TimeUnit.SECONDS);
+        } finally {
+            callers.shutdownNow();
+        }
+
+        assertThat(requests).containsExactly("/first", "/interactive", "/background");
+    }
+
+    @Test
+    void refusedGlobalBudgetDoesNotChargeTheToken() {
+        GitHubRequestScheduler.GlobalBudget global = new GitHubRequestScheduler.GlobalBudget(3600);
+        Instant now = Instant.now();
+        assertThat(global.take(3600, now)).isNull();
+
+        GitHubRequestScheduler.TokenBudget token = new GitHubRequestScheduler.TokenBudget();
+        token.update(10, 100, now.plusSeconds(3600));
+        for (int i = 0; i < 5; i++) {
+            assertThat(token.reserve(0, global, now)).isAfter(now);
+        }
+        assertThat(token.remaining()).isEqualTo(100);
+
+        // 10 points refill in 10 seconds at 3600 per hour
+        assertThat(token.reserve(0, global, now.plusSeconds(10))).isNull();
+        assertThat(token.remaining()).isEqualTo(90);
+    }
+
+    @Test
+    void globalBudgetCapsPointsAcrossTokens() {
+        GitHubRequestScheduler scheduler = scheduler(3600);
+        ReflectionTestUtils.setField(scheduler, "interactiveMaxWait", Duration.ofMillis(100));
+        scheduler.recordRateLimit(TOKEN, 1800, 5000, Instant.now().plusSeconds(3600));
+
+        call(scheduler, GitHubRequestPriority.INTERACTIVE, "/graphql");
+        call(scheduler, GitHubRequestPriority.INTERACTIVE, "/graphql");
+
+        assertThatThrownBy(() -> call(scheduler, GitHubRequestPriority.INTERACTIVE, "/graphql"))
+                .isInstanceOf(GitHubRateLimitException.class);
+        assertThat(hits).hasValue(2);
+    }
+
+    private void awaitHits(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (hits.get() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(hits).hasValue(expected);
+    }
+}
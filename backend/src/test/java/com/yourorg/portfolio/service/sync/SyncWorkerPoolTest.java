@@ -0,0 +1,106 @@
+package com.yourorg.portfolio.service.sync;
+
+import com.yourorg.portfolio.model.User;
+import com.yourorg.portfolio.repository.UserRepository;
+import com.yourorg.portfolio.service.SyncService;
+import com.yourorg.portfolio.service.github.GitHubRequestPriority;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * One worker taking a single job from a mocked queue.
+ */
+class SyncWorkerPoolTest {
+
+    private static final Duration LOCK_TTL = Duration.ofSeconds(3);
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(30);
+
+    private final SyncJobQueue queue = mock(SyncJobQueue.class);
+    private final SyncService syncService = mock(SyncService.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final SyncLocks locks = mock(SyncLocks.class);
+    private final SyncWorkerPool pool = new SyncWorkerPool(queue, syncService, userRepository, locks,
+            new SimpleMeterRegistry());
+
+    private final SyncJob job = SyncJob.queued(UUID.randomUUID(), GitHubRequestPriority.INTERACTIVE);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(pool, "workerCount", 1);
+        ReflectionTestUtils.setField(pool, "pollTimeout", Duration.ofMillis(50));
+        ReflectionTestUtils.setField(pool, "reapInterval", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(pool, "heartbeatInterval", Duration.ofMillis(20));
+        ReflectionTestUtils.setField(pool, "lockTtl", LOCK_TTL);
+        ReflectionTestUtils.setField(pool, "lockRetryDelay", RETRY_DELAY);
+        ReflectionTestUtils.setField(pool, "maxBackgroundConcurrent", 1);
+
+        AtomicBoolean taken = new AtomicBoolean();
+        when(queue.take(any(), anyBoolean())).thenAnswer(invocation -> {
+            if (taken.compareAndSet(false, true)) {
+                return job.getId();
+            }
+            Thread.sleep(50);
+            return null;
+        });
+        when(queue.getJob(job.getId())).thenReturn(job);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.stop();
+    }
+
+    @Test
+    void jobForALockedUserIsRetriedLaterInsteadOfFailed() {
+        when(locks.tryLockUser(job.getUserId(), LOCK_TTL)).thenReturn(null);
+
+        pool.start();
+
+        verify(queue, timeout(2_000)).retryLater(job, RETRY_DELAY);
+        verify(queue, never()).fail(any(), anyString());
+        verify(queue, never()).markRunning(anyString());
+    }
+
+    @Test
+    void heartbeatRenewsTheUserLeaseWhileTheSyncRuns() throws InterruptedException {
+        CountDownLatch renewed = new CountDownLatch(2);
+        when(locks.tryLockUser(job.getUserId(), LOCK_TTL)).thenReturn("lease");
+        when(locks.renewUser(job.getUserId(), "lease", LOCK_TTL)).thenAnswer(invocation -> {
+            renewed.countDown();
+            return true;
+        });
+        when(userRepository.findById(job.getUserId())).thenReturn(Optional.of(new User()));
+        // The sync outlasts a few heartbeats
+        doAnswer(invocation -> renewed.await(5, TimeUnit.SECONDS))
+                .when(syncService).syncUser(any(), eq(GitHubRequestPriority.INTERACTIVE), any());
+
+        pool.start();
+
+        assertThat(renewed.await(2, TimeUnit.SECONDS)).isTrue();
+        verify(queue, timeout(2_000)).complete(job);
+        verify(locks, timeout(2_000)).releaseUser(job.getUserId(), "lease");
+        verify(queue, never()).fail(any(), anyString());
+    }
+}
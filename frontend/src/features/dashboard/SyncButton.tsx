@@ -2,13 +2,30 @@ import { useMutation, useQueryClient } from '@tanstack/react-query';
 import { api } from '../../services/api';
 import { RefreshCw } from 'lucide-react';
 import { cn } from '../../utils/cn';
+import type { SyncJob, SyncJobStatus } from '../../types';
+
+const POLL_INTERVAL_MS = 1500;
+
+async function waitForJob(jobId: string): Promise<SyncJob> {
+    for (;;) {
+        const { data } = await api.get<SyncJob>(`/sync/${jobId}`);
+        if (data.status === 'COMPLETED') {
+            return data;
+        }
+        if (data.status === 'FAILED') {
+            throw new Error(data.error ?? 'Sync failed');
+        }
+        await new Promise((resolve) => setTimeout(resolve, POLL_INTERVAL_MS));
+    }
+}
 
 export function SyncButton() {
     const queryClient = useQueryClient();
 
     const { mutate, isPending } = useMutation({
         mutationFn: async () => {
-            await api.post('/sync');
+            const { data } = await api.post<{ jobId: string; status: SyncJobStatus }>('/sync');
+            return waitForJob(data.jobId);
         },
         onSuccess: () => {
             queryClient.invalidateQueries({ queryKey: ['skills'] });
@@ -7,6 +7,16 @@ export interface User {
     roles: string[];
 }
 
+export type SyncJobStatus = 'QUEUED' | 'RUNNING' | 'COMPLETED' | 'FAILED';
+
+export interface SyncJob {
+    id: string;
+    status: SyncJobStatus;
+    stage: string | null;
+    reposProcessed: number;
+    error: string | null;
+}
+
 export interface Skill {
     id: string;
     name: string;
@@ -0,0 +1,32 @@
+"""
+Export the KnowledgeBase as JSON for the backend's embedded recommendation
+engine.
+
+Usage: python export_knowledge_base.py ../backend/src/main/resources/recommender/knowledge-base.json
+"""
+
+import json
+import sys
+
+from recommender import KnowledgeBase
+
+
+def export(path: str) -> None:
+    data = {
+        "version": KnowledgeBase.VERSION,
+        "career_paths": KnowledgeBase.CAREER_PATHS,
+        "technology_paths": KnowledgeBase.TECHNOLOGY_PATHS,
+        "learning_resources": KnowledgeBase.LEARNING_RESOURCES,
+        "project_templates": KnowledgeBase.PROJECT_TEMPLATES,
+        "skill_aliases": KnowledgeBase.SKILL_ALIASES,
+    }
+    with open(path, "w", encoding="utf-8") as f:
+        json.dump(data, f, indent=2, ensure_ascii=False)
+        f.write("\n")
+
+
+if __name__ == "__main__":
+    if len(sys.argv) != 2:
+        print(__doc__)
+        sys.exit(1)
+    export(sys.argv[1])
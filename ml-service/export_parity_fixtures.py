@@ -0,0 +1,43 @@
+"""
+Record what RecommenderSystem returns for the backend's parity cases, so the
+backend's feature aggregation and embedded recommendation engine can be
+checked against it.
+
+Each case holds either the features the backend would send to
+/recommend/features or the repositories it would send to /recommend, and
+optionally the sections to compute; this fills in its "expected" result.
+
+Usage:
+    python export_parity_fixtures.py ../backend/src/test/resources/recommender/parity-cases.json
+    python export_parity_fixtures.py ../backend/src/test/resources/recommender/feature-route-cases.json
+"""
+
+import json
+import sys
+
+from recommender import RecommenderSystem
+
+
+def export(path: str) -> None:
+    with open(path, encoding="utf-8") as f:
+        data = json.load(f)
+
+    recommender = RecommenderSystem()
+    for case in data["cases"]:
+        if "repos" in case:
+            case["expected"] = recommender.generate_recommendations(
+                {"user_id": case["name"], "repos": case["repos"]}, case.get("sections"))
+        else:
+            case["expected"] = recommender.generate_recommendations_from_features(
+                case["features"], case.get("sections"))
+
+    with open(path, "w", encoding="utf-8") as f:
+        json.dump(data, f, indent=2, ensure_ascii=False)
+        f.write("\n")
+
+
+if __name__ == "__main__":
+    if len(sys.argv) != 2:
+        print(__doc__)
+        sys.exit(1)
+    export(sys.argv[1])
@@ -47,6 +47,41 @@ class UserProfile(BaseModel):
     """User profile with repository data."""
     user_id: str
     repos: List[Repository]
+    sections: Optional[List[str]] = None
+
+
+class LanguageFeature(BaseModel):
+    """Totals for one language across a user's repositories."""
+    bytes: int = 0
+    repos_count: int = 0
+    score: float = 0.0
+
+
+class TopicFeature(BaseModel):
+    """Totals for one topic across a user's repositories."""
+    repos_count: int = 0
+    score: float = 0.0
+
+
+class RepoHint(BaseModel):
+    """Repository fields used for improvement suggestions."""
+    name: str = ""
+    description_length: int = 0
+    topic_count: int = 0
+    language_count: int = 0
+    testing_topic: bool = False
+    stars: int = 0
+
+
+class FeatureProfile(BaseModel):
+    """User profile as per-skill totals aggregated by the backend."""
+    user_id: str
+    total_repos: int = 0
+    total_stars: int = 0
+    languages: Dict[str, LanguageFeature] = Field(default_factory=dict)
+    topics: Dict[str, TopicFeature] = Field(default_factory=dict)
+    repo_hints: List[RepoHint] = Field(default_factory=list)
+    sections: Optional[List[str]] = None
 
 
 class CareerPath(BaseModel):
@@ -154,15 +189,78 @@ class ProfileStats(BaseModel):
 
 
 class RecommendationResponse(BaseModel):
-    """Complete recommendation response."""
-    career_paths: List[CareerPath]
-    skill_gaps: List[SkillGap]
-    project_ideas: List[ProjectIdea]
-    technologies: List[Technology]
-    learning_resources: List[LearningResource]
-    skill_analysis: SkillAnalysis
-    repo_improvements: List[RepoImprovement]
-    profile_stats: ProfileStats
+    """Recommendation response; sections that were not requested are None."""
+    career_paths: Optional[List[CareerPath]] = None
+    skill_gaps: Optional[List[SkillGap]] = None
+    project_ideas: Optional[List[ProjectIdea]] = None
+    technologies: Optional[List[Technology]] = None
+    learning_resources: Optional[List[LearningResource]] = None
+    skill_analysis: Optional[SkillAnalysis] = None
+    repo_improvements: Optional[List[RepoImprovement]] = None
+    profile_stats: Optional[ProfileStats] = None
+
+
+class BatchRequest(BaseModel):
+    """Several user profiles scored in one call, in either form."""
+    profiles: List[UserProfile] = Field(default_factory=list)
+    feature_profiles: List[FeatureProfile] = Field(default_factory=list)
+
+
+class BatchResult(BaseModel):
+    """Outcome for one profile of a batch; exactly one of the fields is set."""
+    user_id: str
+    recommendations: Optional[RecommendationResponse] = None
+    error: Optional[str] = None
+
+
+class BatchResponse(BaseModel):
+    """Per-user results, in request order."""
+    results: List[BatchResult]
+
+
+# ==================== Helpers ====================
+
+def build_recommendations(profile: UserProfile) -> RecommendationResponse:
+    """Run the recommender for one profile and shape the result."""
+    # Convert Pydantic models to dict
+    profile_dict = {
+        "user_id": profile.user_id,
+        "repos": [repo.dict() for repo in profile.repos]
+    }
+
+    return to_response(recommender.generate_recommendations(profile_dict, profile.sections))
+
+
+def build_recommendations_from_features(profile: FeatureProfile) -> RecommendationResponse:
+    """Run the recommender for one feature profile and shape the result."""
+    return to_response(recommender.generate_recommendations_from_features(profile.dict(), profile.sections))
+
+
+def to_response(recommendations: Dict[str, Any]) -> RecommendationResponse:
+    """Shape raw recommender output into the response model."""
+    response = RecommendationResponse(**{
+        key: value for key, value in recommendations.items()
+        if key not in ("skill_analysis", "profile_stats")
+    })
+
+    # Ensure all fields have proper structure
+    if "skill_analysis" in recommendations:
+        skill_analysis = recommendations["skill_analysis"]
+        if not isinstance(skill_analysis, dict):
+            skill_analysis = {"strengths": [], "weaknesses": [], "skills": []}
+        response.skill_analysis = SkillAnalysis(
+            strengths=skill_analysis.get("strengths", []),
+            weaknesses=skill_analysis.get("weaknesses", []),
+            skills=skill_analysis.get("skills", [])
+        )
+
+    if "profile_stats" in recommendations:
+        profile_stats = recommendations["profile_stats"]
+        if not isinstance(profile_stats, dict):
+            profile_stats = {}
+        response.profile_stats = ProfileStats(**profile_stats) if profile_stats else ProfileStats()
+
+    return response
 
 
 # ==================== API Endpoints ====================
@@ -177,7 +275,7 @@ async def health_check():
     }
 
 
-@app.post("/recommend", response_model=RecommendationResponse)
+@app.post("/recommend", response_model=RecommendationResponse, response_model_exclude_none=True)
 async def get_recommendations(profile: UserProfile):
     """
     Generate comprehensive recommendations based on user's GitHub profile.
@@ -190,39 +288,11 @@ async def get_recommendations(profile: UserProfile):
     - Learning resources
     - Strength/weakness analysis
     - Repository improvement suggestions
+    
+    `sections` limits the response, and the work behind it, to those keys.
     """
     try:
-        # Convert Pydantic models to dict
-        profile_dict = {
-            "user_id": profile.user_id,
-            "repos": [repo.dict() for repo in profile.repos]
-        }
-        
-        recommendations = recommender.generate_recommendations(profile_dict)
-        
-        # Ensure all fields have proper structure
-        skill_analysis = recommendations.get("skill_analysis", {})
-        if not isinstance(skill_analysis, dict):
-            skill_analysis = {"strengths": [], "weaknesses": [], "skills": []}
-        
-        profile_stats = recommendations.get("profile_stats", {})
-        if not isinstance(profile_stats, dict):
-            profile_stats = {}
-        
-        return RecommendationResponse(
-            career_paths=recommendations.get("career_paths", []),
-            skill_gaps=recommendations.get("skill_gaps", []),
-            project_ideas=recommendations.get("project_ideas", []),
-            technologies=recommendations.get("technologies", []),
-            learning_resources=recommendations.get("learning_resources", []),
-            skill_analysis=SkillAnalysis(
-                strengths=skill_analysis.get("strengths", []),
-                weaknesses=skill_analysis.get("weaknesses", []),
-                skills=skill_analysis.get("skills", [])
-            ),
-            repo_improvements=recommendations.get("repo_improvements", []),
-            profile_stats=ProfileStats(**profile_stats) if profile_stats else ProfileStats()
-        )
+        return build_recommendations(profile)
     except Exception as e:
         print(f"Error generating recommendations: {e}")
         import traceback
@@ -230,6 +300,51 @@ async def get_recommendations(profile: UserProfile):
         raise HTTPException(status_code=500, detail=str(e))
 
 
+@app.post(
+    "/recommend/features", response_model=RecommendationResponse, response_model_exclude_none=True
+)
+async def get_recommendations_from_features(profile: FeatureProfile):
+    """
+    Generate recommendations from per-skill totals instead of repositories.
+    
+    Same result as /recommend for the same repositories, but the backend
+    aggregates languages and topics during sync, so the request stays small
+    regardless of how many repositories the user has.
+    """
+    try:
+        return build_recommendations_from_features(profile)
+    except Exception as e:
+        print(f"Error generating recommendations: {e}")
+        import traceback
+        traceback.print_exc()
+        raise HTTPException(status_code=500, detail=str(e))
+
+
+@app.post("/recommend/batch", response_model=BatchResponse)
+async def get_recommendations_batch(batch: BatchRequest):
+    """
+    Generate recommendations for several users in one request.
+
+    Used for bulk precomputation. A failing profile does not fail the batch:
+    its result carries an error instead, so the caller can retry just that
+    user.
+    """
+    work = [(p, build_recommendations) for p in batch.profiles]
+    work += [(p, build_recommendations_from_features) for p in batch.feature_profiles]
+
+    results = []
+    for profile, build in work:
+        try:
+            results.append(BatchResult(
+                user_id=profile.user_id,
+                recommendations=build(profile)
+            ))
+        except Exception as e:
+            print(f"Error generating recommendations for {profile.user_id}: {e}")
+            results.append(BatchResult(user_id=profile.user_id, error=str(e)))
+    return BatchResponse(results=results)
+
+
 @app.post("/analyze/skills")
 async def analyze_skills(profile: UserProfile):
     """
@@ -22,6 +22,10 @@ import re
 class KnowledgeBase:
     """Static knowledge base containing career paths, technologies, and resources."""
     
+    # Bump whenever the data below changes; the backend's embedded engine
+    # reports which version its exported copy was taken from
+    VERSION = 1
+    
     # Comprehensive career paths with detailed skill requirements
     CAREER_PATHS = {
         "Full Stack Developer": {
@@ -382,6 +386,16 @@ class KnowledgeBase:
     }
 
 
+def _ordered(skills: List[str]) -> List[str]:
+    """Skills without duplicates, in knowledge base order.
+
+    Output lists follow this order rather than set iteration order, which
+    changes with the interpreter's hash seed; the backend's embedded engine
+    relies on it to produce identical results.
+    """
+    return list(dict.fromkeys(skills))
+
+
 class FeatureEngineering:
     """Feature engineering utilities for skill and project analysis."""
     
@@ -424,6 +438,10 @@ class FeatureEngineering:
                         'repos_count': 0,
                         'category': 'Language'
                     }
+                else:
+                    # A language wins over a topic of the same name seen in an
+                    # earlier repo, as it does in skills_from_features
+                    skills[normalized]['category'] = 'Language'
                 
                 # Weighted score: log(size) * star_boost * recency
                 star_boost = 1.0 + np.log1p(stars) * 0.15
@@ -461,6 +479,38 @@ class FeatureEngineering:
         
         return skills
     
+    def skills_from_features(self, features: Dict[str, Any]) -> Dict[str, Dict[str, Any]]:
+        """
+        Build the same skill dict as extract_skills_from_repos from the
+        per-language and per-topic totals the backend aggregates during sync.
+        
+        Scores are sums over repositories, so totals keyed by raw name can be
+        normalized and merged here without changing the result.
+        """
+        skills = {}
+        
+        for lang, totals in features.get('languages', {}).items():
+            entry = skills.setdefault(self.normalize_skill(lang), {
+                'score': 0.0,
+                'evidence': [],
+                'repos_count': 0,
+                'category': 'Language'
+            })
+            entry['score'] += totals.get('score', 0.0)
+            entry['repos_count'] += totals.get('repos_count', 0)
+        
+        for topic, totals in features.get('topics', {}).items():
+            entry = skills.setdefault(self.normalize_skill(topic), {
+                'score': 0.0,
+                'evidence': [],
+                'repos_count': 0,
+                'category': 'Technology/Framework'
+            })
+            entry['score'] += totals.get('score', 0.0)
+            entry['repos_count'] += totals.get('repos_count', 0)
+        
+        return skills
+    
     def calculate_complexity_score(self, repos: List[Dict]) -> Dict[str, float]:
         """Calculate repository complexity indicators."""
         if not repos:
@@ -483,6 +533,36 @@ class FeatureEngineering:
             'avg_languages_per_repo': sum(len(r.get('languages', {})) for r in repos) / len(repos)
         }
     
+    def complexity_from_features(self, features: Dict[str, Any]) -> Dict[str, float]:
+        """calculate_complexity_score from pre-aggregated features."""
+        total_repos = features.get('total_repos', 0)
+        if not total_repos:
+            return {'diversity': 0, 'depth': 0, 'activity': 0}
+        
+        languages = features.get('languages', {})
+        return {
+            'language_diversity': len(languages),
+            'topic_diversity': len(features.get('topics', {})),
+            'total_repos': total_repos,
+            'total_stars': features.get('total_stars', 0),
+            'avg_languages_per_repo': sum(t.get('repos_count', 0) for t in languages.values()) / total_repos
+        }
+    
+    def repo_hints(self, repos: List[Dict]) -> List[Dict[str, Any]]:
+        """The repository fields the improvement suggestions look at."""
+        hints = []
+        for repo in repos:
+            topics = repo.get('topics', [])
+            hints.append({
+                'name': repo.get('name', ''),
+                'description_length': len(repo.get('description', '') or ''),
+                'topic_count': len(topics),
+                'language_count': len(repo.get('languages', {})),
+                'testing_topic': 'testing' in [t.lower() for t in topics],
+                'stars': repo.get('stars', 0)
+            })
+        return hints
+    
     def extract_text_features(self, repos: List[Dict]) -> str:
         """Combine all text from repos for TF-IDF analysis."""
         texts = []
@@ -507,16 +587,27 @@ class RecommenderSystem:
     - Strength/weakness analysis
     """
     
+    # Keys of a full result, each of which can be requested on its own
+    SECTIONS = (
+        "career_paths", "skill_gaps", "project_ideas", "technologies",
+        "learning_resources", "skill_analysis", "repo_improvements", "profile_stats"
+    )
+    
     def __init__(self):
         self.knowledge = KnowledgeBase()
         self.feature_eng = FeatureEngineering()
     
-    def generate_recommendations(self, user_profile: Dict[str, Any]) -> Dict[str, Any]:
+    def generate_recommendations(
+        self,
+        user_profile: Dict[str, Any],
+        sections: Optional[List[str]] = None
+    ) -> Dict[str, Any]:
         """
         Generate comprehensive recommendations from user profile.
         
         Args:
             user_profile: Dict with 'user_id' and 'repos' list
+            sections: Keys to compute; None computes all of them
             
         Returns:
             Dict with career_paths, skill_gaps, project_ideas, 
@@ -525,31 +616,80 @@ class RecommenderSystem:
         repos = user_profile.get('repos', [])
         
         if not repos:
-            return self._get_empty_recommendations()
+            return self._select(self._get_empty_recommendations(), sections)
         
         # Extract features
         user_skills = self.feature_eng.extract_skills_from_repos(repos)
         complexity = self.feature_eng.calculate_complexity_score(repos)
+        hints = self.feature_eng.repo_hints(repos[:5])  # Analyze top 5 repos
         
-        # Generate recommendations
-        career_paths = self._score_career_paths(user_skills)
-        skill_gaps = self._analyze_skill_gaps(user_skills, career_paths)
-        skill_analysis = self._analyze_strengths_weaknesses(user_skills)
-        technologies = self._recommend_technologies(user_skills, career_paths)
-        projects = self._recommend_projects(user_skills, skill_gaps)
-        resources = self._recommend_resources(skill_gaps, career_paths)
-        repo_improvements = self._suggest_repo_improvements(repos, user_skills)
+        return self._recommend(user_skills, complexity, hints, sections)
+    
+    def generate_recommendations_from_features(
+        self,
+        features: Dict[str, Any],
+        sections: Optional[List[str]] = None
+    ) -> Dict[str, Any]:
+        """
+        Generate recommendations from features the backend aggregated during
+        sync, without the repositories themselves.
         
-        return {
-            "career_paths": career_paths,
-            "skill_gaps": skill_gaps,
-            "project_ideas": projects,
-            "technologies": technologies,
-            "learning_resources": resources,
-            "skill_analysis": skill_analysis,
-            "repo_improvements": repo_improvements,
-            "profile_stats": complexity
-        }
+        Args:
+            features: Dict with 'total_repos', 'total_stars', 'languages',
+                'topics' and 'repo_hints'
+            sections: Keys to compute; None computes all of them
+        """
+        if not features.get('total_repos'):
+            return self._select(self._get_empty_recommendations(), sections)
+        
+        user_skills = self.feature_eng.skills_from_features(features)
+        complexity = self.feature_eng.complexity_from_features(features)
+        hints = features.get('repo_hints', [])[:5]
+        
+        return self._recommend(user_skills, complexity, hints, sections)
+    
+    def _recommend(
+        self,
+        user_skills: Dict[str, Dict],
+        complexity: Dict[str, float],
+        hints: List[Dict],
+        sections: Optional[List[str]] = None
+    ) -> Dict[str, Any]:
+        """
+        Generate the requested recommendation sections from extracted
+        features, skipping the steps none of them depend on.
+        """
+        wanted = set(sections) if sections else set(self.SECTIONS)
+        need_gaps = bool(wanted & {"skill_gaps", "project_ideas", "learning_resources"})
+        need_careers = need_gaps or bool(wanted & {"career_paths", "technologies"})
+
+        career_paths = self._score_career_paths(user_skills) if need_careers else []
+        skill_gaps = self._analyze_skill_gaps(user_skills, career_paths) if need_gaps else []
+
+        result = {}
+        if "career_paths" in wanted:
+            result["career_paths"] = career_paths
+        if "skill_gaps" in wanted:
+            result["skill_gaps"] = skill_gaps
+        if "project_ideas" in wanted:
+            result["project_ideas"] = self._recommend_projects(user_skills, skill_gaps)
+        if "technologies" in wanted:
+            result["technologies"] = self._recommend_technologies(user_skills, career_paths)
+        if "learning_resources" in wanted:
+            result["learning_resources"] = self._recommend_resources(skill_gaps, career_paths)
+        if "skill_analysis" in wanted:
+            result["skill_analysis"] = self._analyze_strengths_weaknesses(user_skills)
+        if "repo_improvements" in wanted:
+            result["repo_improvements"] = self._suggest_repo_improvements(hints, user_skills)
+        if "profile_stats" in wanted:
+            result["profile_stats"] = complexity
+        return result
+
+    def _select(self, recommendations: Dict[str, Any], sections: Optional[List[str]]) -> Dict[str, Any]:
+        """Keep only the requested sections."""
+        if not sections:
+            return recommendations
+        return {k: v for k, v in recommendations.items() if k in sections}
     
     def _get_empty_recommendations(self) -> Dict[str, Any]:
         """Return empty recommendation structure."""
@@ -574,13 +714,12 @@ class RecommenderSystem:
         scored_paths = []
         
         for career, data in self.knowledge.CAREER_PATHS.items():
-            required = set(data["required_skills"])
-            preferred = set(data.get("preferred_skills", []))
-            all_skills = required.union(preferred)
+            required = _ordered(data["required_skills"])
+            preferred = _ordered(data.get("preferred_skills", []))
             
             # Calculate overlaps
-            required_overlap = user_skill_names.intersection(required)
-            preferred_overlap = user_skill_names.intersection(preferred)
+            required_overlap = [s for s in required if s in user_skill_names]
+            preferred_overlap = [s for s in preferred if s in user_skill_names]
             
             # Weighted scoring
             required_score = len(required_overlap) / len(required) if required else 0
@@ -598,7 +737,7 @@ class RecommenderSystem:
                 "score": round(match_score, 2),
                 "confidence": round(confidence, 2),
                 "description": data["description"],
-                "matched_skills": list(required_overlap.union(preferred_overlap)),
+                "matched_skills": _ordered(required_overlap + preferred_overlap),
                 "salary_range": data.get("salary_range", "N/A"),
                 "demand": data.get("demand", "N/A")
             })
@@ -625,11 +764,11 @@ class RecommenderSystem:
         
         for career in career_paths[:2]:  # Top 2 careers
             career_data = self.knowledge.CAREER_PATHS.get(career['title'], {})
-            required = set(career_data.get("required_skills", []))
-            preferred = set(career_data.get("preferred_skills", []))
+            required = _ordered(career_data.get("required_skills", []))
+            preferred = _ordered(career_data.get("preferred_skills", []))
             
-            missing_required = list(required - user_skill_names)
-            missing_preferred = list(preferred - user_skill_names)
+            missing_required = [s for s in required if s not in user_skill_names]
+            missing_preferred = [s for s in preferred if s not in user_skill_names]
             
             if missing_required or missing_preferred:
                 gaps.append({
@@ -652,11 +791,11 @@ class RecommenderSystem:
         if not user_skills:
             return {"strengths": [], "weaknesses": [], "skills": []}
         
-        # Sort skills by score
+        # Sort skills by score, ties by name so the order doesn't depend on
+        # which repo or feature mentioned a skill first
         sorted_skills = sorted(
             user_skills.items(),
-            key=lambda x: x[1]['score'],
-            reverse=True
+            key=lambda x: (-x[1]['score'], x[0])
         )
         
         # Top skills are strengths
@@ -718,8 +857,8 @@ class RecommenderSystem:
         # Find technologies that match gaps
         for tech, data in self.knowledge.TECHNOLOGY_PATHS.items():
             # Check if user knows prerequisites
-            prereqs = set(data.get("prerequisites", []))
-            has_prereqs = prereqs.issubset(user_skill_names) or not prereqs
+            prereqs = _ordered(data.get("prerequisites", []))
+            has_prereqs = all(p in user_skill_names for p in prereqs)
             
             # Check if tech is needed and not known
             if tech in target_skills and tech not in user_skill_names and has_prereqs:
@@ -729,7 +868,7 @@ class RecommenderSystem:
                     "difficulty": data["difficulty"],
                     "learning_time": data["learning_time"],
                     "job_relevance": data["job_relevance"],
-                    "prerequisites_met": list(prereqs.intersection(user_skill_names)),
+                    "prerequisites_met": [p for p in prereqs if p in user_skill_names],
                     "reason": f"Required for {career_paths[0]['title']}" if career_paths else ""
                 })
         
@@ -759,27 +898,27 @@ class RecommenderSystem:
             skills_to_learn.update(gap.get("missing_skills", []))
         
         for project in self.knowledge.PROJECT_TEMPLATES:
-            project_skills = set(project["skills"])
-            known = project_skills.intersection(user_skill_names)
-            unknown = project_skills - user_skill_names
+            project_skills = _ordered(project["skills"])
+            known = [s for s in project_skills if s in user_skill_names]
+            unknown = [s for s in project_skills if s not in user_skill_names]
             
             # Score: have some skills, will learn others
             if len(known) > 0 and len(unknown) <= 2:
                 match_ratio = len(known) / len(project_skills)
                 
                 # Prioritize if project teaches needed skills
-                teaches_needed = unknown.intersection(skills_to_learn)
+                teaches_needed = [s for s in unknown if s in skills_to_learn]
                 priority = len(teaches_needed)
                 
                 if match_ratio >= 0.3:  # At least 30% skill overlap
                     reason = "Practice existing skills" if match_ratio > 0.8 else "Learn new skills"
                     if teaches_needed:
-                        reason = f"Learn {', '.join(list(teaches_needed)[:2])}"
+                        reason = f"Learn {', '.join(teaches_needed[:2])}"
                     
                     recommendations.append({
                         **project,
-                        "skills_you_have": list(known),
-                        "skills_to_learn": list(unknown),
+                        "skills_you_have": known,
+                        "skills_to_learn": unknown,
                         "match_percentage": round(match_ratio * 100),
                         "reason": reason,
                         "priority": priority
@@ -805,13 +944,12 @@ class RecommenderSystem:
         
         recommendations = []
         for resource in self.knowledge.LEARNING_RESOURCES:
-            resource_skills = set(resource["skills"])
-            overlap = skills_to_learn.intersection(resource_skills)
+            overlap = [s for s in _ordered(resource["skills"]) if s in skills_to_learn]
             
             if overlap:
                 recommendations.append({
                     **resource,
-                    "relevant_skills": list(overlap),
+                    "relevant_skills": overlap,
                     "relevance_score": len(overlap)
                 })
         
@@ -821,25 +959,22 @@ class RecommenderSystem:
     
     def _suggest_repo_improvements(
         self, 
-        repos: List[Dict],
+        hints: List[Dict],
         user_skills: Dict[str, Dict]
     ) -> List[Dict]:
         """
-        Suggest improvements for existing repositories.
+        Suggest improvements for existing repositories, given their repo_hints.
         """
         suggestions = []
         
-        for repo in repos[:5]:  # Analyze top 5 repos
-            repo_name = repo.get('name', '')
-            description = repo.get('description', '')
-            topics = repo.get('topics', [])
-            languages = repo.get('languages', {})
-            stars = repo.get('stars', 0)
+        for hint in hints:
+            repo_name = hint.get('name', '')
+            stars = hint.get('stars', 0)
             
             improvements = []
             
             # Check for missing description
-            if not description or len(description) < 20:
+            if hint.get('description_length', 0) < 20:
                 improvements.append({
                     "type": "documentation",
                     "suggestion": "Add a detailed description",
@@ -847,7 +982,7 @@ class RecommenderSystem:
                 })
             
             # Check for missing topics
-            if len(topics) < 3:
+            if hint.get('topic_count', 0) < 3:
                 improvements.append({
                     "type": "topics",
                     "suggestion": "Add relevant topics/tags",
@@ -855,7 +990,7 @@ class RecommenderSystem:
                 })
             
             # Suggest testing for larger projects
-            if len(languages) > 2 and 'testing' not in [t.lower() for t in topics]:
+            if hint.get('language_count', 0) > 2 and not hint.get('testing_topic', False):
                 improvements.append({
                     "type": "quality",
                     "suggestion": "Add automated tests",